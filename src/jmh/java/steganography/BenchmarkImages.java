@@ -0,0 +1,62 @@
+package steganography;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Provides the images under {@code src/test/resources} and Cover Elements taken from them to the benchmarks.
+ */
+public final class BenchmarkImages {
+
+    public static final String IMAGE_PATH = String.join(
+            File.separator, "src", "test", "resources", "steganography", "image") + File.separator;
+
+    private BenchmarkImages() {
+    }
+
+    /**
+     * @param name file name of the image, e.g. {@code rosehip.png}
+     * @return the image file as it is stored
+     */
+    public static byte[] bytes(String name) throws IOException {
+        return Files.readAllBytes(new File(IMAGE_PATH + name).toPath());
+    }
+
+    /**
+     * @param name file name of the image, e.g. {@code rosehip.png}
+     * @return the decoded image
+     */
+    public static BufferedImage read(String name) throws IOException {
+        return ImageIO.read(new File(IMAGE_PATH + name));
+    }
+
+    /**
+     * @return a copy of {@code image}, that can be modified without changing {@code image}
+     */
+    public static BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null),
+                image.isAlphaPremultiplied(), null);
+    }
+
+    /**
+     * Reads square blocks of pixels at random, but reproducible, positions of {@code image}.
+     * @param image image to read the blocks from
+     * @param side side length of a block in pixels
+     * @param amount amount of blocks to read
+     * @return ARGB values of the blocks, each in row major order
+     */
+    public static int[][] blocks(BufferedImage image, int side, int amount) {
+        Random random = new Random(0);
+        int[][] blocks = new int[amount][];
+        for (int i = 0; i < amount; i++) {
+            int x = random.nextInt(image.getWidth() / side) * side;
+            int y = random.nextInt(image.getHeight() / side) * side;
+            blocks[i] = image.getRGB(x, y, side, side, null, 0, side);
+        }
+        return blocks;
+    }
+}
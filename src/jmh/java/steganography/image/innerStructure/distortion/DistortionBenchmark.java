@@ -0,0 +1,82 @@
+package steganography.image.innerStructure.distortion;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.transforms.FastDct8;
+import steganography.transforms.Wavelet;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the J-Uniward Distortion Functions on pairs of original and DMAS embedded 8x8 blocks of the bundled
+ * test images, as calculated for every Cover Element by the STC encoders. {@link JUniwardMap} additionally has to
+ * be built once per image, which {@link #jUniwardMapBuild()} measures.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DistortionBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DistortionBenchmark {
+
+    /**
+     * Amount of blocks cycled through, a power of two
+     */
+    private static final int BLOCKS = 64;
+
+    @Param({"rosehip.png"})
+    public String image;
+
+    private int[][] original;
+    private int[][] embedded;
+    private JUniward jUniward;
+    private JUniwardMap jUniwardMap;
+    private BufferedImage bufferedImage;
+    private BlockShuffleOverlay overlay;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException, EmbedderInputException {
+        BufferedImage bufferedImage = BenchmarkImages.read(this.image);
+        BlockShuffleOverlay overlay = new BlockShuffleOverlay(bufferedImage, 0, 8);
+        DmasEmbedder embedder = new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7);
+
+        // the first blocks of the overlay, so JUniwardMap can locate them by their position
+        this.original = new int[BLOCKS][];
+        this.embedded = new int[BLOCKS][];
+        for (int i = 0; i < BLOCKS; i++) {
+            this.original[i] = overlay.get(i);
+            this.embedded[i] = embedder.flip(overlay.get(i));
+        }
+
+        this.jUniward = new JUniward(Rgb2YCbCr::new, new Wavelet());
+        this.jUniwardMap = new JUniwardMap(bufferedImage, overlay, Rgb2YCbCr::new);
+        this.bufferedImage = bufferedImage;
+        this.overlay = overlay;
+    }
+
+    @Benchmark
+    public Double jUniward() {
+        int i = this.next++ & (BLOCKS - 1);
+        return this.jUniward.calculateDistortion(this.original[i], this.embedded[i]);
+    }
+
+    @Benchmark
+    public Double jUniwardMap() {
+        int i = this.next++ & (BLOCKS - 1);
+        return this.jUniwardMap.calculateDistortion(this.original[i], this.embedded[i], i);
+    }
+
+    @Benchmark
+    public JUniwardMap jUniwardMapBuild() {
+        return new JUniwardMap(this.bufferedImage, this.overlay, Rgb2YCbCr::new);
+    }
+}
@@ -0,0 +1,68 @@
+package steganography.image.innerStructure.embedders;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.embedders.dct.dcras.DcrasEmbedder;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.transforms.FastDct8;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the DCT based Embedders, configured like in the Presets {@code DETECTION_RESISTANCE} (DMAS) and
+ * {@code COMPRESSION_RESISTANCE} (DCRAS), on blocks of the bundled test images.</p>
+ * <p>Embedders write into the provided Cover Element, so every call works on a copy of its block.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="EmbedderBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EmbedderBenchmark {
+
+    /**
+     * Amount of blocks cycled through, a power of two
+     */
+    private static final int BLOCKS = 64;
+
+    @Param({"rosehip.png"})
+    public String image;
+
+    private int[][] blocks8;
+    private int[][] blocks16;
+    private DmasEmbedder dmas;
+    private DcrasEmbedder dcras;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        BufferedImage bufferedImage = BenchmarkImages.read(this.image);
+        this.blocks8 = BenchmarkImages.blocks(bufferedImage, 8, BLOCKS);
+        this.blocks16 = BenchmarkImages.blocks(bufferedImage, 16, BLOCKS);
+        this.dmas = new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7);
+        this.dcras = new DcrasEmbedder(Rgb2YCbCr::new, new FastDct8(), .65f, 3, 2);
+    }
+
+    @Benchmark
+    public int[] dmasEmbed() throws EmbedderInputException {
+        int i = this.next++;
+        return this.dmas.embed(this.blocks8[i & (BLOCKS - 1)].clone(), (i & BLOCKS) == 0);
+    }
+
+    @Benchmark
+    public int[] dmasFlip() throws EmbedderInputException {
+        return this.dmas.flip(this.blocks8[this.next++ & (BLOCKS - 1)].clone());
+    }
+
+    @Benchmark
+    public int[] dcrasEmbed() throws EmbedderInputException {
+        int i = this.next++;
+        return this.dcras.embed(this.blocks16[i & (BLOCKS - 1)].clone(), (i & BLOCKS) == 0);
+    }
+}
@@ -0,0 +1,192 @@
+package steganography.image.innerStructure.encoders;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.distortion.JUniward;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
+import steganography.image.innerStructure.encoders.wrappers.InterleavedReedSolomon;
+import steganography.image.innerStructure.encoders.wrappers.ReedSolomon;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.transforms.FastDct8;
+import steganography.transforms.Wavelet;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the {@link StcEncoder}, configured like in the Preset {@code RESISTANCE_HYBRID}, and the error
+ * correction of {@link ReedSolomon} and {@link InterleavedReedSolomon} on its own.</p>
+ * <p>The STC benchmarks include gathering the Cover Elements and their distortion. Each call uses a new Encoder
+ * on a new copy of the image, which is created outside the measurement. ReedSolomon wraps an Encoder that only
+ * stores the bytes it is given, and is decoded with a quarter of the correctable errors. InterleavedReedSolomon is
+ * measured the same way on {@link #INTERLEAVED_FACTOR} times the payload, which ReedSolomon can not encode in one
+ * codeword.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="EncoderBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EncoderBenchmark {
+
+    private static final long SEED = 0;
+
+    /**
+     * Factor of the payload length for the InterleavedReedSolomon benchmarks
+     */
+    private static final int INTERLEAVED_FACTOR = 16;
+
+    @Param({"rosehip.png"})
+    public String image;
+
+    /**
+     * Payload length in Byte. 8 is the length of the default header of ImageSteg.
+     */
+    @Param({"8", "64"})
+    public int payloadLength;
+
+    private byte[] payload;
+    private byte[] corrupted;
+    private byte[] longPayload;
+    private byte[] longCorrupted;
+
+    /**
+     * Provides a new Encoder per call, to the STC benchmarks only
+     */
+    @State(Scope.Thread)
+    public static class StcState {
+
+        private BufferedImage cover;
+        private BufferedImage stego;
+        private Encoder encoder;
+        private Encoder decoder;
+
+        @Setup(Level.Trial)
+        public void setupTrial(EncoderBenchmark benchmark)
+                throws IOException, ImageCapacityException, EncoderException {
+            this.cover = BenchmarkImages.read(benchmark.image);
+            this.stego = BenchmarkImages.copy(this.cover);
+            stcEncoder(this.stego).encode(benchmark.payload);
+        }
+
+        @Setup(Level.Invocation)
+        public void setupInvocation() {
+            this.encoder = stcEncoder(BenchmarkImages.copy(this.cover));
+            this.decoder = stcEncoder(this.stego);
+        }
+    }
+
+    @Setup
+    public void setup() throws ImageCapacityException, EncoderException {
+        Random random = new Random(0);
+        this.payload = new byte[this.payloadLength];
+        random.nextBytes(this.payload);
+
+        ByteStore store = new ByteStore();
+        new ReedSolomon(store).encode(this.payload);
+        this.corrupted = store.bytes;
+        // a quarter of the correctable errors, as the redundancy is twice the correctable amount
+        for (int i = 0; i < this.payloadLength / 4; i++)
+            this.corrupted[random.nextInt(this.corrupted.length)] ^= (byte) (1 + random.nextInt(255));
+
+        this.longPayload = new byte[this.payloadLength * INTERLEAVED_FACTOR];
+        random.nextBytes(this.longPayload);
+        new InterleavedReedSolomon(store).encode(this.longPayload);
+        this.longCorrupted = store.bytes;
+        for (int i = 0; i < this.longPayload.length / 4; i++)
+            this.longCorrupted[random.nextInt(this.longCorrupted.length)] ^= (byte) (1 + random.nextInt(255));
+    }
+
+    @Benchmark
+    public Encoder stcEncode(StcState state) throws ImageCapacityException, EncoderException {
+        state.encoder.encode(this.payload);
+        return state.encoder;
+    }
+
+    @Benchmark
+    public byte[] stcDecode(StcState state) throws ImageCapacityException, EncoderException, DamagedMessageException {
+        return state.decoder.decode(this.payloadLength);
+    }
+
+    @Benchmark
+    public byte[] reedSolomonEncode() throws ImageCapacityException, EncoderException {
+        ByteStore store = new ByteStore();
+        new ReedSolomon(store).encode(this.payload);
+        return store.bytes;
+    }
+
+    @Benchmark
+    public byte[] reedSolomonDecode() throws ImageCapacityException, EncoderException, DamagedMessageException {
+        ByteStore store = new ByteStore();
+        store.bytes = this.corrupted;
+        return new ReedSolomon(store).decode(this.payloadLength);
+    }
+
+    @Benchmark
+    public byte[] interleavedReedSolomonEncode() throws ImageCapacityException, EncoderException {
+        ByteStore store = new ByteStore();
+        new InterleavedReedSolomon(store).encode(this.longPayload);
+        return store.bytes;
+    }
+
+    @Benchmark
+    public byte[] interleavedReedSolomonDecode()
+            throws ImageCapacityException, EncoderException, DamagedMessageException {
+        ByteStore store = new ByteStore();
+        store.bytes = this.longCorrupted;
+        return new InterleavedReedSolomon(store).decode(this.longPayload.length);
+    }
+
+    private static Encoder stcEncoder(BufferedImage image) {
+        return new StcEncoder<>(
+                new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .85f-0.3f),
+                new BlockShuffleOverlay(image, SEED, 8),
+                new JUniward(Rgb2YCbCr::new, new Wavelet()),
+                false,
+                SEED
+        );
+    }
+
+    /**
+     * Encoder holding the last encoded bytes instead of embedding them
+     */
+    private static class ByteStore implements Encoder {
+
+        private byte[] bytes = new byte[0];
+
+        @Override
+        public void encode(byte[] payload) {
+            this.bytes = payload;
+        }
+
+        @Override
+        public void encode(byte[] payload, long seed) {
+            encode(payload);
+        }
+
+        @Override
+        public byte[] decode(int bLength) {
+            return Arrays.copyOf(this.bytes, bLength);
+        }
+
+        @Override
+        public byte[] decode(int bLength, long seed) {
+            return decode(bLength);
+        }
+
+        @Override
+        public int available() {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
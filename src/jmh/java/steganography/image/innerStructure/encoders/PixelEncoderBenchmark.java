@@ -0,0 +1,126 @@
+package steganography.image.innerStructure.encoders;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.IntDistortionFunction;
+import steganography.image.innerStructure.embedders.spatial.PixelBit;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.overlays.PixelShuffleOverlay;
+import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.outerStructure.ImageStegIOJava;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * <p>Measures the {@link LossLessStcEncoder}, configured like in the Preset {@code MINIMAL_IMPACT}, once using the
+ * primitive specializations for single pixels ({@code primitive}) and once boxing every pixel ({@code boxed}), by
+ * hiding them behind a {@link BuffImgOverlay}, {@link Predicate} and {@link DistortionFunction} that are no
+ * specializations.</p>
+ * <p>Each call creates a new Overlay, testing every pixel against its condition, and Encoder. The difference is
+ * best seen in the allocation rate ({@code gc.alloc.rate.norm}) of the gc profiler.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="PixelEncoderBenchmark -prof gc"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PixelEncoderBenchmark {
+
+    private static final long SEED = 0;
+
+    @Param({"baum.png", "rosehip.png"})
+    public String image;
+
+    @Param({"primitive", "boxed"})
+    public String path;
+
+    /**
+     * Payload length in Byte
+     */
+    @Param({"64"})
+    public int payloadLength;
+
+    private BufferedImage cover;
+    private BufferedImage stego;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException, ImageCapacityException, EncoderException {
+        this.payload = new byte[this.payloadLength];
+        new Random(0).nextBytes(this.payload);
+        this.cover = BenchmarkImages.read(this.image);
+        this.stego = BenchmarkImages.copy(this.cover);
+        encoder(this.stego).encode(this.payload);
+    }
+
+    /**
+     * Encodes into the same image on every call, which only changes it on the first one.
+     */
+    @Benchmark
+    public BufferedImage encode() throws ImageCapacityException, EncoderException {
+        encoder(this.cover).encode(this.payload);
+        return this.cover;
+    }
+
+    @Benchmark
+    public byte[] decode() throws ImageCapacityException, EncoderException, DamagedMessageException {
+        return encoder(this.stego).decode(this.payloadLength);
+    }
+
+    private Encoder encoder(BufferedImage image) {
+        if (this.path.equals("primitive"))
+            return new LossLessStcEncoder<>(
+                    new PixelBit(),
+                    new PixelShuffleOverlay(image, SEED, ImageStegIOJava.isPixelOpaque),
+                    (IntDistortionFunction) (x, y) -> 1d,
+                    false,
+                    SEED
+            );
+
+        Predicate<Integer> isPixelOpaque = pixel -> (pixel >> 24 & 0xff) > 0;
+        DistortionFunction<Integer> distortion = (x, y) -> 1d;
+        return new LossLessStcEncoder<>(
+                new PixelBit(),
+                new Boxed(new PixelShuffleOverlay(image, SEED, isPixelOpaque)),
+                distortion,
+                false,
+                SEED
+        );
+    }
+
+    /**
+     * Hides the primitive specialization of an Overlay from the Encoder
+     */
+    private static final class Boxed implements BuffImgOverlay<Integer> {
+        private final BuffImgOverlay<Integer> overlay;
+
+        private Boxed(BuffImgOverlay<Integer> overlay) {
+            this.overlay = overlay;
+        }
+
+        @Override
+        public Integer get(int position) {
+            return this.overlay.get(position);
+        }
+
+        @Override
+        public void set(Integer value, int position) {
+            this.overlay.set(value, position);
+        }
+
+        @Override
+        public int available() {
+            return this.overlay.available();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package steganography.image.innerStructure.encoders.stc;
+
+import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.JUniward;
+import steganography.image.innerStructure.embedders.Embedder;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.embedders.spatial.PixelBit;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.innerStructure.overlays.PixelShuffleOverlay;
+import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.image.operation.stc.StcEngine;
+import steganography.image.outerStructure.ImageStegIOJava;
+import steganography.transforms.FastDct8;
+import steganography.transforms.Wavelet;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * <p>Prints a table of encode time and total distortion per constraint height for the bundled test images, using
+ * the Encoders of the Presets {@code DETECTION_RESISTANCE} (J-UNIWARD distortion) and {@code MINIMAL_IMPACT}
+ * (constant distortion, so the total distortion is the amount of changed Cover Elements).</p>
+ * <p>The payload is a small message (header sized) and half of the images capacity respectively. Encode time is
+ * the best of several runs and includes the gathering of distortion values, which does not depend on the height.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec
+ * -Dbenchmark.main=steganography.image.innerStructure.encoders.stc.ConstraintHeightReport}</p>
+ */
+public class ConstraintHeightReport {
+
+    private static final int[] HEIGHTS = {6, 7, 8, 9, 10, 11, 12};
+    private static final String[] IMAGES = {"baum.png", "rosehip.png"};
+    private static final String IMAGE_PATH = String.join(
+            File.separator, "src", "test", "resources", "steganography", "image") + File.separator;
+    private static final int RUNS = 3;
+    private static final long SEED = 0;
+
+    /**
+     * LossLessStcEncoder summing up the distortion of all Cover Elements it flips
+     */
+    private static class MeasuringEncoder<T> extends LossLessStcEncoder<T> {
+
+        private final Recorder<T> recorder;
+        private double totalDistortion = 0;
+
+        MeasuringEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, Recorder<T> recorder, int height) {
+            super(embedder, overlay, recorder, false, SEED, height, StcEngine.Precision.DOUBLE);
+            this.recorder = recorder;
+        }
+
+        @Override
+        protected void embed(BitSet steg, BitSet cvrRep, int cvrLength) throws EmbedderInputException {
+            BitSet changes = (BitSet) steg.clone();
+            changes.xor(cvrRep);
+            for (int i = changes.nextSetBit(0); i >= 0 && i < cvrLength; i = changes.nextSetBit(i + 1))
+                this.totalDistortion += this.recorder.rho[i];
+            this.recorder.count = 0;
+
+            super.embed(steg, cvrRep, cvrLength);
+        }
+    }
+
+    /**
+     * DistortionFunction recording all calculated distortion values in order
+     */
+    private static class Recorder<T> implements DistortionFunction<T> {
+
+        private final DistortionFunction<T> distortion;
+        private double[] rho = new double[1024];
+        private int count = 0;
+
+        Recorder(DistortionFunction<T> distortion) {
+            this.distortion = distortion;
+        }
+
+        @Override
+        public Double calculateDistortion(T cover, T stego) {
+            double value = this.distortion.calculateDistortion(cover, stego);
+            if (this.count == this.rho.length) {
+                double[] grown = new double[this.rho.length * 2];
+                System.arraycopy(this.rho, 0, grown, 0, this.rho.length);
+                this.rho = grown;
+            }
+            this.rho[this.count++] = value;
+            return value;
+        }
+    }
+
+    private interface EncoderFactory {
+        MeasuringEncoder<?> create(BufferedImage image, int height);
+    }
+
+    public static void main(String[] args) throws Exception {
+        EncoderFactory detectionResistance = (image, height) -> new MeasuringEncoder<>(
+                new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7),
+                new BlockShuffleOverlay(image, SEED, 8, ImageStegIOJava.allPixelsOpaque),
+                new Recorder<>(new JUniward(Rgb2YCbCr::new, new Wavelet())),
+                height
+        );
+        EncoderFactory minimalImpact = (image, height) -> new MeasuringEncoder<>(
+                new PixelBit(),
+                new PixelShuffleOverlay(image, SEED, ImageStegIOJava.isPixelOpaque),
+                new Recorder<Integer>((x, y) -> 1d),
+                height
+        );
+
+        System.out.println("| Preset | Image | Payload (Byte) | h | Encode time (ms) | Total distortion |");
+        System.out.println("|---|---|---|---|---|---|");
+        for (String imageName : IMAGES) {
+            report("DETECTION_RESISTANCE", imageName, detectionResistance);
+            report("MINIMAL_IMPACT", imageName, minimalImpact);
+        }
+    }
+
+    private static void report(String preset, String imageName, EncoderFactory factory) throws Exception {
+        int capacity = factory.create(readImage(imageName), StcEncoder.DEFAULT_CONSTRAINT_HEIGHT).available() / 8;
+        Random random = new Random(SEED);
+
+        for (int payloadLength : new int[]{64, capacity / 2}) {
+            byte[] payload = new byte[payloadLength];
+            random.nextBytes(payload);
+
+            for (int height : HEIGHTS) {
+                long bestNanos = Long.MAX_VALUE;
+                double distortion = 0;
+                for (int run = 0; run < RUNS; run++) {
+                    MeasuringEncoder<?> encoder = factory.create(readImage(imageName), height);
+                    long start = System.nanoTime();
+                    ((Encoder) encoder).encode(payload);
+                    bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+                    distortion = encoder.totalDistortion;
+                }
+                System.out.printf("| %s | %s | %d | %d | %.1f | %.2f |%n",
+                        preset, imageName, payloadLength, height, bestNanos / 1e6, distortion);
+            }
+        }
+    }
+
+    private static BufferedImage readImage(String name) throws IOException {
+        return ImageIO.read(new File(IMAGE_PATH + name));
+    }
+}
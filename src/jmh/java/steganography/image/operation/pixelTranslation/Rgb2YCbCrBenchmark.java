@@ -0,0 +1,51 @@
+package steganography.image.operation.pixelTranslation;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the conversion of 8x8 blocks of the bundled test images from ARGB to YCbCr (construction of a
+ * {@link Rgb2YCbCr}) and back ({@link Rgb2YCbCr#asARGB()}).</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="Rgb2YCbCrBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Rgb2YCbCrBenchmark {
+
+    /**
+     * Amount of blocks cycled through, a power of two
+     */
+    private static final int BLOCKS = 64;
+
+    @Param({"rosehip.png"})
+    public String image;
+
+    private int[][] blocks;
+    private Rgb2YCbCr[] translators;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        this.blocks = BenchmarkImages.blocks(BenchmarkImages.read(this.image), 8, BLOCKS);
+        this.translators = new Rgb2YCbCr[BLOCKS];
+        for (int i = 0; i < BLOCKS; i++)
+            this.translators[i] = new Rgb2YCbCr(this.blocks[i].clone(), 8);
+    }
+
+    @Benchmark
+    public Rgb2YCbCr construct() {
+        return new Rgb2YCbCr(this.blocks[this.next++ & (BLOCKS - 1)], 8);
+    }
+
+    @Benchmark
+    public int[] asARGB() {
+        return this.translators[this.next++ & (BLOCKS - 1)].asARGB();
+    }
+}
@@ -0,0 +1,99 @@
+package steganography.image.operation.stc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Compares the {@link StcEngine} (scalar and as returned by {@link StcEngine#create}) against the former BitSet based implementation
+ * ({@link BitSetViterbi}, from the test sources) on the trellis dimensions of typical en- and decoding calls.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="StcEngineBenchmark -prof gc"} to include
+ * allocation rates.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StcEngineBenchmark {
+
+    private static final int HEIGHT = 10;
+
+    /**
+     * Message length in Bit. 64 is the length of the default header of ImageSteg.
+     */
+    @Param({"64", "1024"})
+    public int msgLen;
+
+    /**
+     * Width of H_hat, which is the amount of Cover Elements per message Bit
+     */
+    @Param({"2", "16", "255"})
+    public int k;
+
+    private BitSet cvr;
+    private BitSet message;
+    private double[] rho;
+    private int[] hHat;
+    private StcEngine engine;
+    private StcEngine createdEngine;
+    private StcEngine createdFloatEngine;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        int cvrLen = this.msgLen * this.k;
+
+        this.cvr = BitSet.valueOf(random.longs((cvrLen + 63) / 64).toArray());
+        this.message = BitSet.valueOf(random.longs((this.msgLen + 63) / 64).toArray());
+        this.rho = random.doubles(cvrLen, 0, 100).toArray();
+
+        int max = 1 << HEIGHT;
+        Set<Integer> used = new HashSet<>();
+        this.hHat = new int[this.k];
+        for (int i = 0; i < this.k; i++) {
+            int colVal = random.nextInt(max) | (1 << HEIGHT-1) | 1;
+            while (!used.add(colVal))
+                colVal = ((colVal + 2) % max) | (1 << HEIGHT-1);
+            this.hHat[i] = colVal;
+        }
+
+        this.engine = new StcEngine(HEIGHT);
+        this.createdEngine = StcEngine.create(HEIGHT);
+        this.createdFloatEngine = StcEngine.create(HEIGHT, StcEngine.Precision.FLOAT);
+    }
+
+    @Benchmark
+    public BitSet bitSetReference() {
+        return BitSetViterbi.viterbi(this.cvr, this.msgLen * this.k, this.message, this.msgLen, this.rho, this.hHat,
+                HEIGHT);
+    }
+
+    @Benchmark
+    public BitSet packedEngine() {
+        return this.engine.viterbi(this.cvr, this.msgLen * this.k, this.message, this.msgLen, this.rho, this.hHat);
+    }
+
+    /**
+     * Vectorized engine on Java 17+ with {@code jdk.incubator.vector}, otherwise the same as {@link #packedEngine}
+     */
+    @Benchmark
+    public BitSet createdEngine() {
+        return this.createdEngine.viterbi(this.cvr, this.msgLen * this.k, this.message, this.msgLen, this.rho,
+                this.hHat);
+    }
+
+    /**
+     * {@link #createdEngine} accumulating weights in {@link StcEngine.Precision#FLOAT}
+     */
+    @Benchmark
+    public BitSet createdFloatEngine() {
+        return this.createdFloatEngine.viterbi(this.cvr, this.msgLen * this.k, this.message, this.msgLen, this.rho,
+                this.hHat);
+    }
+}
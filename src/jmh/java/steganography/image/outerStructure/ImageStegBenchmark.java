@@ -0,0 +1,75 @@
+package steganography.image.outerStructure;
+
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.UnknownStegFormatException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.exceptions.ImageWritingException;
+import steganography.image.exceptions.NoImageException;
+import steganography.image.exceptions.UnsupportedImageTypeException;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures {@link ImageSteg} end to end per {@link ImageSteg.Preset}, including reading and writing the image,
+ * on the bundled test images with default header and without error correction. Presets writing JPEG images use the
+ * JPEG version of the image, all others the PNG version.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ImageStegBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageStegBenchmark {
+
+    @Param({"COMPRESSION_RESISTANCE", "DETECTION_RESISTANCE", "MINIMAL_IMPACT", "RESISTANCE_HYBRID"})
+    public ImageSteg.Preset preset;
+
+    /**
+     * Name of the image without file extension. DETECTION_RESISTANCE can not decode {@code baum}, as it uses its
+     * single colored blocks.
+     */
+    @Param({"rosehip"})
+    public String image;
+
+    /**
+     * Payload length in Byte
+     */
+    @Param({"64"})
+    public int payloadLength;
+
+    private ImageSteg imageSteg;
+    private byte[] carrier;
+    private byte[] payload;
+    private byte[] steganographicData;
+
+    @Setup
+    public void setup() throws IOException, UnsupportedImageTypeException, NoImageException,
+            ImageWritingException, ImageCapacityException, EncoderException {
+        boolean jpeg = this.preset == ImageSteg.Preset.COMPRESSION_RESISTANCE
+                || this.preset == ImageSteg.Preset.RESISTANCE_HYBRID;
+        this.imageSteg = new ImageSteg(true, false, this.preset);
+        this.carrier = BenchmarkImages.bytes(this.image + (jpeg ? ".jpg" : ".png"));
+        this.payload = new byte[this.payloadLength];
+        new Random(0).nextBytes(this.payload);
+        this.steganographicData = this.imageSteg.encode(this.carrier, this.payload);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException, UnsupportedImageTypeException, NoImageException,
+            ImageWritingException, ImageCapacityException, EncoderException {
+        return this.imageSteg.encode(this.carrier, this.payload);
+    }
+
+    @Benchmark
+    public byte[] decode() throws IOException, UnsupportedImageTypeException, NoImageException,
+            UnknownStegFormatException, DamagedMessageException, EncoderException {
+        return this.imageSteg.decode(this.steganographicData);
+    }
+}
@@ -0,0 +1,113 @@
+package steganography.transforms;
+
+import jwave.transforms.FastWaveletTransform;
+import jwave.transforms.wavelets.daubechies.Daubechies8;
+import org.openjdk.jmh.annotations.*;
+import steganography.BenchmarkImages;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the {@link Transform Transforms} used by the Embedders and Distortion Functions on 8x8 blocks of
+ * luminance values taken from the bundled test images. The {@code Flat} variants transform a reused flat array in
+ * place (see {@link FlatTransform}), which is best compared by the allocation rate of the gc profiler.</p>
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TransformBenchmark -prof gc"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformBenchmark {
+
+    /**
+     * Amount of blocks cycled through, a power of two
+     */
+    private static final int BLOCKS = 64;
+
+    @Param({"rosehip.png"})
+    public String image;
+
+    private double[][][] spatial;
+    private double[][][] dct;
+    private double[][] flatSpatial;
+    private double[][] flatDct;
+    private final double[] scratch = new double[64];
+    private FastDct8 fastDct8;
+    private Wavelet wavelet;
+    private Wavelet jWave;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        int[][] blocks = BenchmarkImages.blocks(BenchmarkImages.read(this.image), 8, BLOCKS);
+        this.fastDct8 = new FastDct8();
+        this.wavelet = new Wavelet();
+        this.jWave = new Wavelet(new jwave.Transform(new FastWaveletTransform(new Daubechies8())));
+        this.spatial = new double[BLOCKS][][];
+        this.dct = new double[BLOCKS][][];
+        this.flatSpatial = new double[BLOCKS][64];
+        this.flatDct = new double[BLOCKS][64];
+        for (int i = 0; i < BLOCKS; i++) {
+            this.spatial[i] = new Rgb2YCbCr(blocks[i], 8).getValues();
+            this.dct[i] = this.fastDct8.forward(this.spatial[i]);
+            for (int row = 0; row < 8; row++) {
+                System.arraycopy(this.spatial[i][row], 0, this.flatSpatial[i], row * 8, 8);
+                System.arraycopy(this.dct[i][row], 0, this.flatDct[i], row * 8, 8);
+            }
+        }
+    }
+
+    @Benchmark
+    public double[][] fastDct8Forward() {
+        return this.fastDct8.forward(this.spatial[this.next++ & (BLOCKS - 1)]);
+    }
+
+    @Benchmark
+    public double[][] fastDct8Reverse() {
+        return this.fastDct8.reverse(this.dct[this.next++ & (BLOCKS - 1)]);
+    }
+
+    /**
+     * Copies the block into a reused array, as the transform is in place
+     */
+    @Benchmark
+    public double[] fastDct8ForwardFlat() {
+        System.arraycopy(this.flatSpatial[this.next++ & (BLOCKS - 1)], 0, this.scratch, 0, 64);
+        this.fastDct8.forward(this.scratch);
+        return this.scratch;
+    }
+
+    @Benchmark
+    public double[] fastDct8ReverseFlat() {
+        System.arraycopy(this.flatDct[this.next++ & (BLOCKS - 1)], 0, this.scratch, 0, 64);
+        this.fastDct8.reverse(this.scratch);
+        return this.scratch;
+    }
+
+    /**
+     * One level decomposition with the default {@link Wavelet}, as used by J-Uniward
+     */
+    @Benchmark
+    public double[][] waveletForward() {
+        return this.wavelet.forward(this.spatial[this.next++ & (BLOCKS - 1)]);
+    }
+
+    @Benchmark
+    public double[] waveletForwardFlat() {
+        System.arraycopy(this.flatSpatial[this.next++ & (BLOCKS - 1)], 0, this.scratch, 0, 64);
+        this.wavelet.forward(this.scratch);
+        return this.scratch;
+    }
+
+    /**
+     * The same decomposition as {@link #waveletForward()}, using the generic JWave implementation
+     */
+    @Benchmark
+    public double[][] waveletForwardJWave() {
+        return this.jWave.forward(this.spatial[this.next++ & (BLOCKS - 1)]);
+    }
+}
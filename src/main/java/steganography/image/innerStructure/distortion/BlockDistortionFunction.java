@@ -0,0 +1,24 @@
+package steganography.image.innerStructure.distortion;
+
+import steganography.image.operation.pixelTranslation.PixelTranslator;
+
+/**
+ * <p>{@link PositionalDistortionFunction} of square blocks of pixels, calculating the distortion from their translated values
+ * (see {@link PixelTranslator#getValues()}).</p>
+ * <p>Embedders translating the blocks anyway (like
+ * {@link steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder DmasEmbedder}) can pass their translated
+ * values to {@link #calculateDistortion(double[][], double[][], int)}, instead of having them translated again by
+ * {@link #calculateDistortion(Object, Object, int)}. The result must be the same as long as the Embedder uses the
+ * same kind of {@link PixelTranslator} as this function.</p>
+ */
+public interface BlockDistortionFunction extends PositionalDistortionFunction<int[]> {
+
+    /**
+     * Version of {@link #calculateDistortion(Object, Object, int)} using the translated values of the blocks.
+     * @param original translated values of a block before an arbitrary manipulation, which are not modified
+     * @param embedded translated values of the block after an arbitrary manipulation, which are not modified
+     * @param position position of the block in the order of the Overlay
+     * @return a value indicating the magnitude of distortion (or difference) between the provided blocks.
+     */
+    double calculateDistortion(double[][] original, double[][] embedded, int position);
+}
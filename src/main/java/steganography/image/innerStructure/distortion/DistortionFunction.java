@@ -5,9 +5,14 @@ import steganography.image.innerStructure.embedders.Embedder;
 /**
  * <p>Functional interface to implement by classes calculating Distortions. The intended use is the calculation
  * of an embedding impact into spatial covers of an image.</p>
+ * <p>The distortion does not depend on where the Cover Elements are located, so the position passed by the
+ * Encoders (see {@link PositionalDistortionFunction}) is ignored.</p>
+ * <p>Encoders may call {@link #calculateDistortion} concurrently from multiple threads (see
+ * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}). Implementations to be used
+ * this way must be stateless or otherwise thread-safe, like {@link JUniward}.</p>
  * @param <T> any class that can represent (part of) a spatial image.
  */
-public interface DistortionFunction<T> {
+public interface DistortionFunction<T> extends PositionalDistortionFunction<T> {
 
     /**
      * <p>Calculates and returns a value indicating the magnitude of distortion between the provided parameters.</p>
@@ -20,4 +25,16 @@ public interface DistortionFunction<T> {
      * @return a value indicating the magnitude of distortion (or difference) between the provided elements.
      */
     Double calculateDistortion(T original, T embedded);
+
+    /**
+     * Ignores the position and calculates the distortion by {@link #calculateDistortion(Object, Object)}.
+     * @param original typically a spatial cover element before an arbitrary manipulation
+     * @param embedded typically a spatial cover element after an arbitrary manipulation
+     * @param position position of {@code original} in the order of the Overlay, which is ignored
+     * @return a value indicating the magnitude of distortion (or difference) between the provided elements.
+     */
+    @Override
+    default Double calculateDistortion(T original, T embedded, int position) {
+        return calculateDistortion(original, embedded);
+    }
 }
@@ -0,0 +1,42 @@
+package steganography.image.innerStructure.distortion;
+
+/**
+ * <p>Primitive specialization of a {@link DistortionFunction DistortionFunction&lt;Integer&gt;} for single pixels
+ * (ARGB values), calculating distortions without boxing the pixels or the result.</p>
+ * <p>Encoders use these methods instead of the ones of {@link DistortionFunction}, if the Embedder and Overlay are
+ * primitive specializations as well (see
+ * {@link steganography.image.innerStructure.overlays.abstracts.IntOverlay IntOverlay}).</p>
+ */
+@FunctionalInterface
+public interface IntDistortionFunction extends DistortionFunction<Integer> {
+
+    /**
+     * Primitive version of {@link #calculateDistortion(Integer, Integer)}
+     * @param original pixel before an arbitrary manipulation, for example by an Embedder
+     * @param embedded pixel after an arbitrary manipulation, for example by an Embedder
+     * @return a value indicating the magnitude of distortion (or difference) between the provided pixels.
+     */
+    double calculateDistortion(int original, int embedded);
+
+    /**
+     * Primitive version of {@link #calculateDistortion(Integer, Integer, int)}. By default, the position is ignored
+     * and {@link #calculateDistortion(int, int)} is used.
+     * @param original pixel before an arbitrary manipulation, for example by an Embedder
+     * @param embedded pixel after an arbitrary manipulation, for example by an Embedder
+     * @param position position of {@code original} in the order of the Overlay
+     * @return a value indicating the magnitude of distortion (or difference) between the provided pixels.
+     */
+    default double calculateDistortion(int original, int embedded, int position) {
+        return calculateDistortion(original, embedded);
+    }
+
+    @Override
+    default Double calculateDistortion(Integer original, Integer embedded) {
+        return calculateDistortion(original.intValue(), embedded.intValue());
+    }
+
+    @Override
+    default Double calculateDistortion(Integer original, Integer embedded, int position) {
+        return calculateDistortion(original.intValue(), embedded.intValue(), position);
+    }
+}
@@ -2,6 +2,7 @@ package steganography.image.innerStructure.distortion;
 
 import steganography.image.operation.pixelTranslation.PixelTranslator;
 import steganography.image.operation.pixelTranslation.TranslatorSupplier;
+import steganography.transforms.FlatTransform;
 import steganography.transforms.Transform;
 
 /**
@@ -9,13 +10,19 @@ import steganography.transforms.Transform;
  * <em>Universal distortion function for steganography in an arbitrary domain</em>
  * (DOI: 10.1186/1687-417X-2014-1)
  */
-public class JUniward implements DistortionFunction<int[]> {
+public class JUniward implements DistortionFunction<int[]>, BlockDistortionFunction {
     private final Transform<double[][]> wvt;
+
+    /**
+     * {@link #wvt} if it transforms in place, which avoids allocating its intermediate arrays, or null
+     */
+    private final FlatTransform flatWvt;
     protected final TranslatorSupplier<PixelTranslator> translatorSupplier;
 
     public JUniward(TranslatorSupplier<PixelTranslator> translatorSupplier, Transform<double[][]> waveletTransform) {
         this.translatorSupplier = translatorSupplier;
         this.wvt = waveletTransform;
+        this.flatWvt = waveletTransform instanceof FlatTransform ? (FlatTransform) waveletTransform : null;
     }
 
     @Override
@@ -26,9 +33,17 @@ public class JUniward implements DistortionFunction<int[]> {
         );
     }
 
+    @Override
+    public double calculateDistortion(double[][] original, double[][] embedded, int position) {
+        return jUniward(original, embedded);
+    }
+
     // Universal distortion function for steganography in an arbitrary domain
     // p. 3 - 3.2 Distortion function (non-side-informed embedding)
     protected double jUniward(double[][] or_spatial, double[][] ch_spatial) {
+        if (this.flatWvt != null)
+            return flatJUniward(or_spatial, ch_spatial);
+
         double[][] or_wavelet = this.wvt.forward(or_spatial);
         double[][] ch_wavelet = this.wvt.forward(ch_spatial);
 
@@ -47,4 +62,32 @@ public class JUniward implements DistortionFunction<int[]> {
         }
         return sum;
     }
+
+    /**
+     * {@link #jUniward} using {@link #flatWvt}, with the blocks in row major order
+     */
+    private double flatJUniward(double[][] or_spatial, double[][] ch_spatial) {
+        final int n = or_spatial.length;
+        double[] or_wavelet = new double[n * n];
+        double[] ch_wavelet = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(or_spatial[i], 0, or_wavelet, i * n, n);
+            System.arraycopy(ch_spatial[i], 0, ch_wavelet, i * n, n);
+        }
+        this.flatWvt.forward(or_wavelet);
+        this.flatWvt.forward(ch_wavelet);
+
+        double delta = 0.015625; // 2^{-6} see P. 8-9
+
+        double sum = 0;
+
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                if (u < n / 2 && v < n / 2) continue;
+                int i = u * n + v;
+                sum += Math.abs(or_wavelet[i] - ch_wavelet[i]) / (delta + Math.abs(or_wavelet[i]));
+            }
+        }
+        return sum;
+    }
 }
@@ -0,0 +1,341 @@
+package steganography.image.innerStructure.distortion;
+
+import jwave.transforms.wavelets.Wavelet;
+import jwave.transforms.wavelets.daubechies.Daubechies8;
+import steganography.image.innerStructure.overlays.abstracts.SequenceOverlay;
+import steganography.image.operation.pixelTranslation.PixelTranslator;
+import steganography.image.operation.pixelTranslation.TranslatorSupplier;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * <p>Implementation of J-Uniward using the directional residuals of the whole image, like the original
+ * (see paper: <em>Universal distortion function for steganography in an arbitrary domain</em>
+ * (DOI: 10.1186/1687-417X-2014-1)), instead of analyzing each Cover Element in isolation like {@link JUniward}.</p>
+ * <p>The three directional residuals (LH, HL and HH) of the undecimated one level wavelet decomposition of the
+ * image are computed once on construction. The distortion of a changed Cover Element is then the relative change
+ * of all residuals within reach of the wavelet filters, including those of the neighbouring Cover Elements:</p>
+ * <p>{@code sum_k sum_(u,v) |W_k(embedded - original)[u][v]| / (sigma + |W_k(image)[u][v]|)}</p>
+ * <p>This is a more accurate distortion than the one of {@link JUniward}, not a faster one: filtering the change
+ * over the neighbourhood of a Cover Element takes more operations than transforming the Cover Element alone.</p>
+ * <p>Cover Elements are located by their position in the provided {@link SequenceOverlay}, so this function is a
+ * {@link PositionalDistortionFunction} only. The residuals reflect the image at construction, so a new instance
+ * should be used once the image was changed.</p>
+ * <p>This class is thread-safe. Each thread reuses its own buffers between queries.</p>
+ */
+public class JUniwardMap implements BlockDistortionFunction {
+
+    /**
+     * Stabilizing constant sigma = 2^-6, see P. 8-9
+     */
+    private static final double SIGMA = 0.015625;
+
+    private final SequenceOverlay<int[]> overlay;
+    private final TranslatorSupplier<PixelTranslator> translatorSupplier;
+
+    /**
+     * Low pass (scaling) decomposition filter of the wavelet
+     */
+    private final double[] lowPass;
+
+    /**
+     * High pass (wavelet) decomposition filter of the wavelet
+     */
+    private final double[] highPass;
+
+    /**
+     * {@link #lowPass} and {@link #highPass} in reverse order, so the columns reached by a pixel increase with the
+     * tap
+     */
+    private final double[] lowReversed;
+    private final double[] highReversed;
+
+    /**
+     * Offset of the filters origin, so the residuals are centered on their pixels
+     */
+    private final int center;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * {@code 1 / (sigma + |residual|)} of the directions LH, HL and HH in this order, each in row major order
+     */
+    private final double[][] weights;
+
+    /**
+     * Buffers of the queries, per thread
+     */
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * <p>Creates a J-Uniward distortion function using the residuals of the whole {@code image}, decomposed with
+     * the {@link Daubechies8} wavelet.</p>
+     * @param image image represented by {@code overlay}, to compute the residuals of
+     * @param overlay overlay the Cover Elements are read from, to locate them in {@code image}
+     * @param translatorSupplier supplies a {@link PixelTranslator} that translates pixels to the channel to compute
+     *                           the residuals of, like the Embedder in use
+     */
+    public JUniwardMap(BufferedImage image, SequenceOverlay<int[]> overlay,
+                       TranslatorSupplier<PixelTranslator> translatorSupplier) {
+        this(image, overlay, translatorSupplier, new Daubechies8());
+    }
+
+    /**
+     * <p>Creates a J-Uniward distortion function using the residuals of the whole {@code image}, decomposed with
+     * the provided {@code wavelet}.</p>
+     * @param image image represented by {@code overlay}, to compute the residuals of
+     * @param overlay overlay the Cover Elements are read from, to locate them in {@code image}
+     * @param translatorSupplier supplies a {@link PixelTranslator} that translates pixels to the channel to compute
+     *                           the residuals of, like the Embedder in use
+     * @param wavelet wavelet providing the decomposition filters
+     */
+    public JUniwardMap(BufferedImage image, SequenceOverlay<int[]> overlay,
+                       TranslatorSupplier<PixelTranslator> translatorSupplier, Wavelet wavelet) {
+        this.overlay = overlay;
+        this.translatorSupplier = translatorSupplier;
+        this.lowPass = wavelet.getScalingDeComposition();
+        this.highPass = wavelet.getWaveletDeComposition();
+        this.lowReversed = reverse(this.lowPass);
+        this.highReversed = reverse(this.highPass);
+        this.center = this.lowPass.length / 2;
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.weights = calculateWeights(image);
+    }
+
+    @Override
+    public Double calculateDistortion(int[] original, int[] embedded, int position) {
+        int side = (int) Math.sqrt(original.length);
+        return calculateDistortion(
+                this.translatorSupplier.get(original, side).getValues(),
+                this.translatorSupplier.get(embedded, side).getValues(),
+                position
+        );
+    }
+
+    @Override
+    public double calculateDistortion(double[][] orValues, double[][] chValues, int position) {
+        int side = orValues.length;
+        int x0 = this.overlay.calcX(position);
+        int y0 = this.overlay.calcY(position);
+        int reach = this.lowPass.length - 1;
+        Scratch scratch = this.scratch.get().ensure(side, reach);
+
+        double[] diff = scratch.diff;
+        boolean changed = false;
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                diff[y * side + x] = chValues[y][x] - orValues[y][x];
+                changed |= diff[y * side + x] != 0;
+            }
+        }
+        if (!changed)
+            return 0;
+
+        // residuals affected by the change, as the filters reach beyond the Cover Element
+        int uMin = Math.max(0, y0 + this.center - reach);
+        int uMax = Math.min(this.height - 1, y0 + side - 1 + this.center);
+        int vMin = Math.max(0, x0 + this.center - reach);
+        int vMax = Math.min(this.width - 1, x0 + side - 1 + this.center);
+
+        int uAmount = uMax - uMin + 1;
+        int vAmount = vMax - vMin + 1;
+
+        // pixels read by the filters, mirrored at the borders like in calculateWeights, relative to the Cover Element
+        int[] columns = scratch.sources(scratch.columns, vMin - this.center, vAmount + reach, this.width, x0);
+        int[] rows = scratch.sources(scratch.rows, uMin - this.center, uAmount + reach, this.height, y0);
+
+        // horizontal pass of the difference, which is zero outside of the Cover Element
+        // reversed filter tap k of the padded column j reaches column v = j - reach + k
+        double[] rowsLow = scratch.clear(scratch.rowsLow, side * vAmount);
+        double[] rowsHigh = scratch.clear(scratch.rowsHigh, side * vAmount);
+        for (int j = 0; j < vAmount + reach; j++) {
+            int x = columns[j];
+            if (x < 0 || x >= side)
+                continue;
+            int start = j - reach;
+            int kFrom = Math.max(0, -start);
+            int kTo = Math.min(reach, vAmount - 1 - start);
+            for (int y = 0; y < side; y++) {
+                double value = diff[y * side + x];
+                if (value == 0)
+                    continue;
+                int row = y * vAmount + start;
+                for (int k = kFrom; k <= kTo; k++) {
+                    rowsLow[row + k] += this.lowReversed[k] * value;
+                    rowsHigh[row + k] += this.highReversed[k] * value;
+                }
+            }
+        }
+
+        // vertical pass, adding whole rows of the horizontal pass to the rows of the residuals they reach
+        double[] lh = scratch.clear(scratch.lh, uAmount * vAmount);
+        double[] hl = scratch.clear(scratch.hl, uAmount * vAmount);
+        double[] hh = scratch.clear(scratch.hh, uAmount * vAmount);
+        for (int j = 0; j < uAmount + reach; j++) {
+            int y = rows[j];
+            if (y < 0 || y >= side)
+                continue;
+            int start = j - reach;
+            int kFrom = Math.max(0, -start);
+            int kTo = Math.min(reach, uAmount - 1 - start);
+            int row = y * vAmount;
+            for (int k = kFrom; k <= kTo; k++) {
+                double low = this.lowReversed[k];
+                double high = this.highReversed[k];
+                int residualRow = (start + k) * vAmount;
+                for (int v = 0; v < vAmount; v++) {
+                    lh[residualRow + v] += low * rowsHigh[row + v];
+                    hl[residualRow + v] += high * rowsLow[row + v];
+                    hh[residualRow + v] += high * rowsHigh[row + v];
+                }
+            }
+        }
+
+        // weight the changed residuals
+        double[] lhWeights = this.weights[0];
+        double[] hlWeights = this.weights[1];
+        double[] hhWeights = this.weights[2];
+        double sum = 0;
+        for (int u = 0; u < uAmount; u++) {
+            int row = u * vAmount;
+            int i = (u + uMin) * this.width + vMin;
+            for (int v = 0; v < vAmount; v++) {
+                sum += Math.abs(lh[row + v]) * lhWeights[i + v]
+                        + Math.abs(hl[row + v]) * hlWeights[i + v]
+                        + Math.abs(hh[row + v]) * hhWeights[i + v];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the directional residuals of the whole image, mirroring it at its borders, and returns their weights.
+     * @param image image to compute the residuals of
+     * @return {@code 1 / (sigma + |residual|)} of the directions LH, HL and HH
+     */
+    private double[][] calculateWeights(BufferedImage image) {
+        int[] argb = image.getRGB(0, 0, this.width, this.height, null, 0, this.width);
+        PixelTranslator translator = this.translatorSupplier.get(argb, this.width);
+        int length = this.lowPass.length;
+
+        // horizontal pass over each row, padded by mirroring
+        double[][] rowsLow = new double[this.height][this.width];
+        double[][] rowsHigh = new double[this.height][this.width];
+        double[] padded = new double[this.width + length - 1];
+        for (int y = 0; y < this.height; y++) {
+            for (int i = 0; i < padded.length; i++)
+                padded[i] = translator.get(mirror(i - this.center, this.width), y);
+            for (int x = 0; x < this.width; x++) {
+                double low = 0;
+                double high = 0;
+                for (int b = 0; b < length; b++) {
+                    low += this.lowPass[b] * padded[x + b];
+                    high += this.highPass[b] * padded[x + b];
+                }
+                rowsLow[y][x] = low;
+                rowsHigh[y][x] = high;
+            }
+        }
+
+        // vertical pass, accumulating whole rows of the mirrored rows
+        double[][] weights = new double[3][this.width * this.height];
+        double[] lh = new double[this.width];
+        double[] hl = new double[this.width];
+        double[] hh = new double[this.width];
+        for (int y = 0; y < this.height; y++) {
+            Arrays.fill(lh, 0);
+            Arrays.fill(hl, 0);
+            Arrays.fill(hh, 0);
+            for (int a = 0; a < length; a++) {
+                int row = mirror(y + a - this.center, this.height);
+                double[] rowLow = rowsLow[row];
+                double[] rowHigh = rowsHigh[row];
+                double low = this.lowPass[a];
+                double high = this.highPass[a];
+                for (int x = 0; x < this.width; x++) {
+                    lh[x] += low * rowHigh[x];
+                    hl[x] += high * rowLow[x];
+                    hh[x] += high * rowHigh[x];
+                }
+            }
+            for (int x = 0; x < this.width; x++) {
+                weights[0][y * this.width + x] = 1 / (SIGMA + Math.abs(lh[x]));
+                weights[1][y * this.width + x] = 1 / (SIGMA + Math.abs(hl[x]));
+                weights[2][y * this.width + x] = 1 / (SIGMA + Math.abs(hh[x]));
+            }
+        }
+        return weights;
+    }
+
+    private static double[] reverse(double[] filter) {
+        double[] reversed = new double[filter.length];
+        for (int i = 0; i < filter.length; i++)
+            reversed[i] = filter[filter.length - 1 - i];
+        return reversed;
+    }
+
+    /**
+     * @return {@code index} mirrored into {@code [0, length)}, repeating the border values (symmetric padding)
+     */
+    private static int mirror(int index, int length) {
+        while (index < 0 || index >= length)
+            index = index < 0 ? -index - 1 : 2 * length - index - 1;
+        return index;
+    }
+
+    /**
+     * Buffers of one thread, grown to the largest Cover Element queried
+     */
+    private static final class Scratch {
+        private int side = -1;
+        private double[] diff;
+        private double[] rowsLow;
+        private double[] rowsHigh;
+        private double[] lh;
+        private double[] hl;
+        private double[] hh;
+        private int[] columns;
+        private int[] rows;
+
+        /**
+         * @return this, with buffers for Cover Elements of {@code side * side} pixels and filters of
+         * {@code reach + 1} taps
+         */
+        private Scratch ensure(int side, int reach) {
+            if (side > this.side) {
+                int reached = side + reach;
+                this.side = side;
+                this.diff = new double[side * side];
+                this.rowsLow = new double[side * reached];
+                this.rowsHigh = new double[side * reached];
+                this.lh = new double[reached * reached];
+                this.hl = new double[reached * reached];
+                this.hh = new double[reached * reached];
+                this.columns = new int[reached + reach];
+                this.rows = new int[reached + reach];
+            }
+            return this;
+        }
+
+        /**
+         * @return {@code buffer}, with the indices {@code [from, from + amount)} mirrored into {@code [0, length)}
+         * and relative to {@code origin}
+         */
+        private int[] sources(int[] buffer, int from, int amount, int length, int origin) {
+            for (int j = 0; j < amount; j++)
+                buffer[j] = mirror(from + j, length) - origin;
+            return buffer;
+        }
+
+        /**
+         * @return {@code buffer}, with its first {@code length} values set to 0
+         */
+        private double[] clear(double[] buffer, int length) {
+            Arrays.fill(buffer, 0, length, 0);
+            return buffer;
+        }
+    }
+}
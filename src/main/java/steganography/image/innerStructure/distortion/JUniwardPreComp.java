@@ -12,6 +12,7 @@ import steganography.util.Quantizer;
 public class JUniwardPreComp extends JUniward {
 
     private final float qf;
+    private final FastDct8 dct = new FastDct8();
 
     public JUniwardPreComp(TranslatorSupplier<PixelTranslator> translatorSupplier,
                            Transform<double[][]> waveletTransform, float qf) {
@@ -22,11 +23,19 @@ public class JUniwardPreComp extends JUniward {
 
     @Override
     public Double calculateDistortion(int[] original, int[] embedded) {
-        double[][] dOriginal = this.translatorSupplier.get(original, 8).getValues();
-        double[][] dEmbedded = this.translatorSupplier.get(embedded, 8).getValues();
+        return calculateDistortion(
+                this.translatorSupplier.get(original, 8).getValues(),
+                this.translatorSupplier.get(embedded, 8).getValues(),
+                0
+        );
+    }
 
-        double[][] dctOriginal = new FastDct8().forward(dOriginal);
-        double[][] dctEmbedded = new FastDct8().forward(dEmbedded);
+    @Override
+    public double calculateDistortion(double[][] dOriginal, double[][] dEmbedded, int position) {
+        double[] dctOriginal = flatten(dOriginal);
+        double[] dctEmbedded = flatten(dEmbedded);
+        this.dct.forward(dctOriginal);
+        this.dct.forward(dctEmbedded);
 
         double diff = diff(Quantizer.prequantize(dctOriginal, qf), Quantizer.prequantize(dctEmbedded, qf));
 
@@ -34,12 +43,17 @@ public class JUniwardPreComp extends JUniward {
         return diff == 0 ? 1000 : jUniward(dOriginal, dEmbedded);
     }
 
-    private double diff(double[][] arr, double[][] brr) {
+    private double[] flatten(double[][] values) {
+        double[] flat = new double[64];
+        for (int i = 0; i < 8; i++)
+            System.arraycopy(values[i], 0, flat, i * 8, 8);
+        return flat;
+    }
+
+    private double diff(double[] arr, double[] brr) {
         double diff = 0;
         for (int i = 0; i < arr.length; i++) {
-            for (int j = 0; j < arr[0].length; j++) {
-                diff += Math.abs(arr[i][j] - brr[i][j]);
-            }
+            diff += Math.abs(arr[i] - brr[i]);
         }
         return diff;
     }
@@ -0,0 +1,31 @@
+package steganography.image.innerStructure.distortion;
+
+import steganography.image.innerStructure.embedders.Embedder;
+
+/**
+ * <p>Functional interface to implement by classes calculating Distortions of Cover Elements, which are located by
+ * their position in the {@link steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay Overlay} they
+ * were read from.</p>
+ * <p>Encoders calculate all distortions through this interface. Implementations that need to know where a Cover
+ * Element is located in the image (like {@link JUniwardMap}) implement it directly, while the ones independent of
+ * the location implement {@link DistortionFunction}.</p>
+ * <p>Encoders may call {@link #calculateDistortion} concurrently from multiple threads (see
+ * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}). Implementations to be used
+ * this way must be stateless or otherwise thread-safe.</p>
+ * @param <T> any class that can represent (part of) a spatial image.
+ */
+@FunctionalInterface
+public interface PositionalDistortionFunction<T> {
+
+    /**
+     * <p>Calculates and returns a value indicating the magnitude of distortion between the provided parameters,
+     * which are located at {@code position} of the Overlay they were read from.</p>
+     * @param original typically a spatial cover element before an arbitrary manipulation,
+     *                 for example by an {@link Embedder Embedder}
+     * @param embedded typically a spatial cover element after an arbitrary manipulation,
+     *                 for example by an {@link Embedder Embedder}
+     * @param position position of {@code original} in the order of the Overlay
+     * @return a value indicating the magnitude of distortion (or difference) between the provided elements.
+     */
+    Double calculateDistortion(T original, T embedded, int position);
+}
@@ -0,0 +1,97 @@
+package steganography.image.innerStructure.embedders;
+
+import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.distortion.PositionalDistortionFunction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * <p>Extension of an {@link Embedder} processing many Cover Elements per call, letting implementations reuse scratch
+ * buffers and values that only depend on the Embedder (like quantization values) for all Cover Elements of a
+ * batch.</p>
+ * <p>Encoders use these methods instead of the ones of {@link Embedder}, if their Embedder implements this interface.
+ * Both have to return the same results. The default implementations call the methods of {@link Embedder} for every
+ * Cover Element, in the same order as Encoders processing one Cover Element at a time.</p>
+ * <p>Encoders may still call the batch methods in another order than their single Cover Element methods (like
+ * {@link steganography.image.innerStructure.encoders.plain.PlainFlipEncoder PlainFlipEncoder}, reading the Bits of
+ * a whole batch before flipping), so Embedders whose output depends on the order of calls (like
+ * {@link steganography.image.innerStructure.embedders.dct.dcras.RandomDcras RandomDcras}) can give other results in
+ * batch mode.</p>
+ * <p>Like the methods of {@link Embedder}, these methods may be called concurrently with distinct batches. Scratch
+ * buffers must therefore not be shared between calls.</p>
+ * @param <T> form of the pixel values, returned by an
+ * {@link steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay Overlay}
+ */
+public interface BatchEmbedder<T> extends Embedder<T> {
+
+    /**
+     * <p>Batch version of {@link #representsOne(Object)}, storing the Bit represented by {@code cvrElems.get(i)}
+     * in {@code ones[offset + i]}.</p>
+     * @param cvrElems Cover Elements to read the Bits from
+     * @param ones array to store the Bits in (true == 1; false == 0)
+     * @param offset index of {@code ones} to store the Bit of the first Cover Element in
+     * @throws EmbedderInputException if a provided Cover Element is unsuitable for this Embedder
+     */
+    default void representsOne(List<T> cvrElems, boolean[] ones, int offset) throws EmbedderInputException {
+        for (int i = 0; i < cvrElems.size(); i++)
+            ones[offset + i] = representsOne(cvrElems.get(i));
+    }
+
+    /**
+     * <p>Batch version of {@link #flip(Object)}, returning the flipped Cover Elements in the same order.</p>
+     * @param cvrElems Cover Elements to flip the Bits of, which are not modified
+     * @return Manipulated Cover Elements (with flipped Bits)
+     * @throws EmbedderInputException if a provided Cover Element is unsuitable for this Embedder
+     */
+    default List<T> flipAll(List<T> cvrElems) throws EmbedderInputException {
+        List<T> stegElems = new ArrayList<>(cvrElems.size());
+        for (T cvrElem : cvrElems)
+            stegElems.add(flip(cvrElem));
+        return stegElems;
+    }
+
+    /**
+     * <p>Batch version of {@link #embed(Object, boolean)}, embedding {@code bits.get(offset + i)} into
+     * {@code cvrElems.get(i)} and returning the results in the same order.</p>
+     * @param cvrElems Cover Elements to embed the Bits into
+     * @param bits Bits to embed (true == 1; false == 0)
+     * @param offset index of the Bit to embed into the first Cover Element
+     * @return Manipulated Cover Elements (with embedded Bits)
+     * @throws EmbedderInputException if a provided Cover Element is unsuitable for this Embedder
+     */
+    default List<T> embedAll(List<T> cvrElems, BitSet bits, int offset) throws EmbedderInputException {
+        List<T> stegElems = new ArrayList<>(cvrElems.size());
+        for (int i = 0; i < cvrElems.size(); i++)
+            stegElems.add(embed(cvrElems.get(i), bits.get(offset + i)));
+        return stegElems;
+    }
+
+    /**
+     * <p>Combines the batch version of {@link #representsOne(Object)} with the distortion of flipping each Cover
+     * Element, storing the Bit represented by {@code cvrElems.get(i)} in {@code ones[offset + i]} and
+     * {@code distortion.calculateDistortion(cvrElems.get(i), flip(cvrElems.get(i)), position + i)} in
+     * {@code rho[offset + i]}.</p>
+     * <p>The default implementation reads the Bit of a Cover Element and flips it (see
+     * {@link #flip(Object, int)}) before moving on to the next one.</p>
+     * <p>Implementations knowing {@code distortion} can share the intermediate representations of a Cover Element
+     * between reading its Bit, flipping it and calculating the distortion.</p>
+     * @param cvrElems Cover Elements to read the Bits from
+     * @param ones array to store the Bits in (true == 1; false == 0)
+     * @param rho array to store the distortion values in
+     * @param offset index of {@code ones} and {@code rho} to store the values of the first Cover Element in
+     * @param distortion function to calculate the distortion of flipping a Cover Element with
+     * @param position position of the first Cover Element in the order of the Overlay
+     * @throws EmbedderInputException if a provided Cover Element is unsuitable for this Embedder
+     */
+    default void flipCosts(List<T> cvrElems, boolean[] ones, double[] rho, int offset,
+                           PositionalDistortionFunction<T> distortion, int position) throws EmbedderInputException {
+        for (int i = 0; i < cvrElems.size(); i++) {
+            T cvrElem = cvrElems.get(i);
+            ones[offset + i] = representsOne(cvrElem);
+            T stegElem = flip(cvrElem, position + i);
+            rho[offset + i] = distortion.calculateDistortion(cvrElem, stegElem, position + i);
+        }
+    }
+}
@@ -3,8 +3,15 @@ package steganography.image.innerStructure.embedders;
 import steganography.exceptions.encoder.EmbedderInputException;
 
 /**
- * Interface to be implemented by all Embedders that are used to manipulate
- * pixel values of any gorm to embed a message
+ * <p>Interface to be implemented by all Embedders that are used to manipulate
+ * pixel values of any gorm to embed a message</p>
+ * <p>Encoders may call {@link #flip} and {@link #representsOne} concurrently from multiple threads (see
+ * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}). Implementations to be used
+ * this way must be stateless or otherwise thread-safe and must not modify the provided Cover Element.
+ * To get the same results as sequential calls, their output must not depend on the order of calls. Encoders
+ * therefore call the versions of {@link #embed(Object, boolean, int) embed} and {@link #flip(Object, int) flip}
+ * knowing the position of the Cover Element, so Embedders changing Cover Elements at random can derive the
+ * change from the position.</p>
  * @param <T> form of the pixel values, returned by an
  * {@link steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay Overlay}
  */
@@ -23,6 +30,19 @@ public interface Embedder<T> {
      */
     T embed(T cvrElem, boolean one) throws EmbedderInputException;
 
+    /**
+     * <p>Version of {@link #embed(Object, boolean)} knowing the position of {@code cvrElem} in the order of the
+     * Overlay. The default implementation ignores the position.</p>
+     * @param cvrElem Cover Element to embed a Bit into
+     * @param one boolean indicating if Bit to embed should be a one (true) or a zero (false)
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @return Manipulated Cover Element (with embedded Bit)
+     * @throws EmbedderInputException if the provided Cover Element is unsuitable for this Embedder
+     */
+    default T embed(T cvrElem, boolean one, int position) throws EmbedderInputException {
+        return embed(cvrElem, one);
+    }
+
     /**
      * <p>Manipulates the provided Cover Element ({@code cvrElem}) to flip the Bit it represents
      * (according to this Embedder, see {@link #representsOne}) and returns the result.</p>
@@ -34,6 +54,18 @@ public interface Embedder<T> {
      */
     T flip(T cvrElem) throws EmbedderInputException;
 
+    /**
+     * <p>Version of {@link #flip(Object)} knowing the position of {@code cvrElem} in the order of the Overlay.
+     * The default implementation ignores the position.</p>
+     * @param cvrElem Cover Element to flip the Bit of
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @return Manipulated Cover Element (with flipped Bit)
+     * @throws EmbedderInputException if the provided Cover Element is unsuitable for this Embedder
+     */
+    default T flip(T cvrElem, int position) throws EmbedderInputException {
+        return flip(cvrElem);
+    }
+
     /**
      * <p>Analyzes the provided Cover Element ({@code cvrElem}) and returns the Bit it represents
      * according to this Embedder as a boolean.</p>
@@ -0,0 +1,62 @@
+package steganography.image.innerStructure.embedders;
+
+import steganography.exceptions.encoder.EmbedderInputException;
+
+/**
+ * <p>Primitive specialization of an {@link Embedder Embedder&lt;Integer&gt;}, embedding into single pixels
+ * (ARGB values) without boxing them.</p>
+ * <p>Encoders use these methods instead of the ones of {@link Embedder}, if the Overlay is an
+ * {@link steganography.image.innerStructure.overlays.abstracts.IntOverlay IntOverlay} as well. Both have to
+ * return the same results.</p>
+ */
+public interface IntEmbedder {
+
+    /**
+     * Primitive version of {@link Embedder#embed}
+     * @param cvrElem pixel to embed a Bit into
+     * @param one boolean indicating if Bit to embed should be a one (true) or a zero (false)
+     * @return Manipulated pixel (with embedded Bit)
+     * @throws EmbedderInputException if the provided pixel is unsuitable for this Embedder
+     */
+    int embed(int cvrElem, boolean one) throws EmbedderInputException;
+
+    /**
+     * Primitive version of {@link Embedder#embed(Object, boolean, int)}. The default implementation ignores the
+     * position.
+     * @param cvrElem pixel to embed a Bit into
+     * @param one boolean indicating if Bit to embed should be a one (true) or a zero (false)
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @return Manipulated pixel (with embedded Bit)
+     * @throws EmbedderInputException if the provided pixel is unsuitable for this Embedder
+     */
+    default int embed(int cvrElem, boolean one, int position) throws EmbedderInputException {
+        return embed(cvrElem, one);
+    }
+
+    /**
+     * Primitive version of {@link Embedder#flip}
+     * @param cvrElem pixel to flip the Bit of
+     * @return Manipulated pixel (with flipped Bit)
+     * @throws EmbedderInputException if the provided pixel is unsuitable for this Embedder
+     */
+    int flip(int cvrElem) throws EmbedderInputException;
+
+    /**
+     * Primitive version of {@link Embedder#flip(Object, int)}. The default implementation ignores the position.
+     * @param cvrElem pixel to flip the Bit of
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @return Manipulated pixel (with flipped Bit)
+     * @throws EmbedderInputException if the provided pixel is unsuitable for this Embedder
+     */
+    default int flip(int cvrElem, int position) throws EmbedderInputException {
+        return flip(cvrElem);
+    }
+
+    /**
+     * Primitive version of {@link Embedder#representsOne}
+     * @param cvrElem pixel to read the Bit from
+     * @return true if the provided {@code cvrElem} represents a one, false if it represents a zero.
+     * @throws EmbedderInputException if the provided pixel is unsuitable for this Embedder
+     */
+    boolean representsOne(int cvrElem) throws EmbedderInputException;
+}
@@ -1,10 +1,39 @@
 package steganography.image.innerStructure.embedders;
 
+import steganography.exceptions.encoder.EmbedderInputException;
+
 /**
- * Super class to Embedders using pixels, like
+ * <p>Super class to Embedders using pixels, like
  * {@link steganography.image.innerStructure.embedders.spatial.PixelBit PixelBit}
  * or
- * {@link steganography.image.innerStructure.embedders.spatial.LsbReplacer LsbReplacer}
+ * {@link steganography.image.innerStructure.embedders.spatial.LsbReplacer LsbReplacer}</p>
+ * <p>Inheriting classes implement the primitive methods of {@link IntEmbedder}, which are used by the boxed
+ * methods of {@link Embedder}.</p>
  */
-public abstract class PixelEmbedder implements Embedder<Integer> {
+public abstract class PixelEmbedder implements Embedder<Integer>, IntEmbedder {
+
+    @Override
+    public Integer embed(Integer cvrElem, boolean one) throws EmbedderInputException {
+        return embed(cvrElem.intValue(), one);
+    }
+
+    @Override
+    public Integer embed(Integer cvrElem, boolean one, int position) throws EmbedderInputException {
+        return embed(cvrElem.intValue(), one, position);
+    }
+
+    @Override
+    public Integer flip(Integer cvrElem) throws EmbedderInputException {
+        return flip(cvrElem.intValue());
+    }
+
+    @Override
+    public Integer flip(Integer cvrElem, int position) throws EmbedderInputException {
+        return flip(cvrElem.intValue(), position);
+    }
+
+    @Override
+    public boolean representsOne(Integer cvrElem) throws EmbedderInputException {
+        return representsOne(cvrElem.intValue());
+    }
 }
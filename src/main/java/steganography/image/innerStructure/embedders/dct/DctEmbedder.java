@@ -3,6 +3,7 @@ package steganography.image.innerStructure.embedders.dct;
 import steganography.image.innerStructure.embedders.BlockEmbedder;
 import steganography.image.operation.pixelTranslation.PixelTranslator;
 import steganography.image.operation.pixelTranslation.TranslatorSupplier;
+import steganography.transforms.FlatTransform;
 import steganography.transforms.Transform;
 
 /**
@@ -23,6 +24,12 @@ public abstract class DctEmbedder extends BlockEmbedder {
     protected final Transform<double[][]> dctTransform;
     protected final Float qf;
 
+    /**
+     * {@link #dctTransform} as {@link FlatTransform}, if it is one, else null. Used by {@link #forward} and
+     * {@link #reverse} to transform blocks without allocating.
+     */
+    private final FlatTransform flatDct;
+
     /**
      * <p>Creates the abstract parent class for embedders that use the DCT transformed values of Cover Elements to
      * embed.</p>
@@ -36,6 +43,7 @@ public abstract class DctEmbedder extends BlockEmbedder {
                           Float qf) {
         this.translatorSupplier = translatorSupplier;
         this.dctTransform = dctTransform;
+        this.flatDct = dctTransform instanceof FlatTransform ? (FlatTransform) dctTransform : null;
         this.qf = qf;
         this.refY = 0;
         this.refX = 4;
@@ -56,6 +64,7 @@ public abstract class DctEmbedder extends BlockEmbedder {
                           Float qf, int refX, int refY) {
         this.translatorSupplier = translatorSupplier;
         this.dctTransform = dctTransform;
+        this.flatDct = dctTransform instanceof FlatTransform ? (FlatTransform) dctTransform : null;
         this.qf = qf;
 
         if (Math.min(refX, refY) < 0 || Math.max(refX, refY) > 7)
@@ -64,4 +73,32 @@ public abstract class DctEmbedder extends BlockEmbedder {
         this.refX = refX;
         this.refY = refY;
     }
+
+    /**
+     * Transforms the values of {@code block} into the DCT domain, replacing them.
+     * @param block 8x8 block to transform
+     * @param scratch buffer of at least length 64, whose content is overwritten
+     */
+    protected void forward(PixelTranslator block, double[] scratch) {
+        if (this.flatDct != null) {
+            this.flatDct.forward(block.getValues(scratch));
+            block.setValues(scratch);
+        } else {
+            block.setValues(this.dctTransform.forward(block.getValues()));
+        }
+    }
+
+    /**
+     * Transforms the values of {@code block} back from the DCT domain, replacing them.
+     * @param block 8x8 block to transform
+     * @param scratch buffer of at least length 64, whose content is overwritten
+     */
+    protected void reverse(PixelTranslator block, double[] scratch) {
+        if (this.flatDct != null) {
+            this.flatDct.reverse(block.getValues(scratch));
+            block.setValues(scratch);
+        } else {
+            block.setValues(this.dctTransform.reverse(block.getValues()));
+        }
+    }
 }
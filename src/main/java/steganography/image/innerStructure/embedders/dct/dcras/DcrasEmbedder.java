@@ -1,6 +1,7 @@
 package steganography.image.innerStructure.embedders.dct.dcras;
 
 import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.embedders.BatchEmbedder;
 import steganography.image.innerStructure.embedders.dct.DctEmbedder;
 import steganography.image.operation.pixelTranslation.PixelTranslator;
 import steganography.image.operation.pixelTranslation.TranslatorSupplier;
@@ -8,14 +9,23 @@ import steganography.transforms.Transform;
 import steganography.util.ArrayUtils;
 import steganography.util.Quantizer;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * <p>This Class is an Embedder that uses an adapted version of "DCT coefficient relationship based adaptive
  * steganography" (DCRAS) to embed Bits into provided Cover Elements.</p>
  * <p>DCRAS is explained in this <a href="http://ieeexplore.ieee.org/document/7299952/">paper</a>. References to the
  * paper in the following code or in the inheriting classes are made as follows:
  * <em>(see {@link DcrasEmbedder} p. [x])</em></p>
+ * <p>The quantization value is only calculated once on construction. As {@link BatchEmbedder}, the buffers splitting
+ * the Cover Elements into blocks are reused for all Cover Elements of a batch. Each batch method processes the
+ * Cover Elements in order, but Encoders may order the calls of the batch methods differently than the calls of
+ * the single Cover Element methods (see {@link BatchEmbedder}). Inheriting classes picking the embedding block
+ * at random (like {@link RandomDcras}) therefore give other results in batch mode.</p>
  */
-public class DcrasEmbedder extends DctEmbedder {
+public class DcrasEmbedder extends DctEmbedder implements BatchEmbedder<int[]> {
 
     /**
      * <p>The amount of blocks to be used, while one being a reference block.</p>
@@ -28,6 +38,11 @@ public class DcrasEmbedder extends DctEmbedder {
      */
     private static final float REL_DIST = .8f;
 
+    /**
+     * Quantization value of the reference coefficient according to {@link #qf}
+     */
+    private final double qValue;
+
     /**
      * <p>Creates an Embedder that uses an adapted version of "DCT coefficient relationship based adaptive steganography"
      * (DCRAS - <em>see {@link DcrasEmbedder})</em>) to embed Bits into cover elements.</p>
@@ -44,6 +59,7 @@ public class DcrasEmbedder extends DctEmbedder {
     public DcrasEmbedder(TranslatorSupplier<PixelTranslator> translatorSupplier, Transform<double[][]> dctTransform,
                          Float qf) {
         super(translatorSupplier, dctTransform, qf);
+        this.qValue = Quantizer.quantizationValue(refX, refY, qf);
     }
 
     /**
@@ -64,6 +80,7 @@ public class DcrasEmbedder extends DctEmbedder {
     public DcrasEmbedder(TranslatorSupplier<PixelTranslator> translatorSupplier, Transform<double[][]> dctTransform,
                          Float qf, int refX, int refY) {
         super(translatorSupplier, dctTransform, qf, refX, refY);
+        this.qValue = Quantizer.quantizationValue(refX, refY, qf);
     }
 
     /**
@@ -98,6 +115,33 @@ public class DcrasEmbedder extends DctEmbedder {
         return setChunks(ed.getChunks());
     }
 
+    @Override
+    public List<int[]> embedAll(List<int[]> cvrElems, BitSet bits, int offset) throws EmbedderInputException {
+        int[][] cValues = new int[BLOCK_AMOUNT][64];
+        List<int[]> stegElems = new ArrayList<>(cvrElems.size());
+        for (int i = 0; i < cvrElems.size(); i++) {
+            acceptLength(cvrElems.get(i), 256);
+            EmbeddingData ed = next(cvrElems.get(i), cValues);
+            setCoefficient(ed, calcEmbedValue(ed.reference, ed.values, bits.get(offset + i)));
+            stegElems.add(setChunks(ed.getChunks()));
+        }
+        return stegElems;
+    }
+
+    @Override
+    public List<int[]> flipAll(List<int[]> cvrElems) throws EmbedderInputException {
+        int[][] cValues = new int[BLOCK_AMOUNT][64];
+        List<int[]> stegElems = new ArrayList<>(cvrElems.size());
+        for (int[] cvrElem : cvrElems) {
+            acceptLength(cvrElem, 256);
+            EmbeddingData ed = next(cvrElem, cValues);
+            boolean one = ed.reference > mean(ed.values);
+            setCoefficient(ed, calcEmbedValue(ed.reference, ed.values, !one));
+            stegElems.add(setChunks(ed.getChunks()));
+        }
+        return stegElems;
+    }
+
     protected void setCoefficient(EmbeddingData ed, double value) {
         ed.getEmbChunk().set(refX, refY, value);
     }
@@ -113,6 +157,16 @@ public class DcrasEmbedder extends DctEmbedder {
         return ed.reference > mean(ed.values);
     }
 
+    @Override
+    public void representsOne(List<int[]> cvrElems, boolean[] ones, int offset) throws EmbedderInputException {
+        int[][] cValues = new int[BLOCK_AMOUNT][64];
+        for (int i = 0; i < cvrElems.size(); i++) {
+            acceptLength(cvrElems.get(i), 256);
+            EmbeddingData ed = next(cvrElems.get(i), cValues);
+            ones[offset + i] = ed.reference > mean(ed.values);
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////
     //                                PREPARE BLOCKS
     ////////////////////////////////////////////////////////////////////////////////////////
@@ -125,8 +179,18 @@ public class DcrasEmbedder extends DctEmbedder {
      * @throws EmbedderInputException if the provided Cover Element is unsuitable for this Embedder
      */
     protected EmbeddingData next(int[] cvrElem) throws EmbedderInputException {
-        PixelTranslator[] dctChunks = getChunks(cvrElem);
+        return toEmbeddingData(getChunks(cvrElem));
+    }
+
+    /**
+     * Version of {@link #next(int[])} splitting {@code cvrElem} into the provided {@code cValues}, which are used by
+     * the returned blocks until they are converted back to ARGB values by {@link #setChunks}.
+     */
+    private EmbeddingData next(int[] cvrElem, int[][] cValues) {
+        return toEmbeddingData(getChunks(splitToChunkValues(cvrElem, cValues)));
+    }
 
+    private EmbeddingData toEmbeddingData(PixelTranslator[] dctChunks) {
         double[] values = new double[BLOCK_AMOUNT-1];
         int indEmbChunk = pickEmbeddingChunk(dctChunks);
         double reference = 0;
@@ -152,15 +216,17 @@ public class DcrasEmbedder extends DctEmbedder {
      */
     protected PixelTranslator[] getChunks(int[] cvrElem) throws EmbedderInputException {
         acceptLength(cvrElem, 256);
+        return getChunks(splitToChunkValues(cvrElem, new int[BLOCK_AMOUNT][64]));
+    }
 
-        int[][] cValues = splitToChunkValues(cvrElem);
-
+    private PixelTranslator[] getChunks(int[][] cValues) {
+        double[] scratch = new double[64];
         PixelTranslator[] blocks = new PixelTranslator[cValues.length];
         for (int i = 0; i < cValues.length; i++) {
             // convert argb to usable color space [0, 255]
             blocks[i] = this.translatorSupplier.get(cValues[i], 8);
             // transform each block in the dct frequency domain
-            blocks[i].setValues(dctTransform.forward(blocks[i].getValues()));
+            forward(blocks[i], scratch);
         }
         return blocks;
     }
@@ -169,8 +235,7 @@ public class DcrasEmbedder extends DctEmbedder {
      * <p>Splits one big block (256 values - input of this Embedder) into 4 smaller blocks (64 values each).</p>
      * <p>It works in exactly the opposite way as {@link #combineToQuadChunk}.</p>
      */
-    private int[][] splitToChunkValues(int[] quadChunk) {
-        int[][] cValues = new int[4][64];
+    private int[][] splitToChunkValues(int[] quadChunk, int[][] cValues) {
         for (int i = 0; i < quadChunk.length; i += 16) {
             int j = i < 128 ? 0 : 2;
             System.arraycopy(quadChunk, i, cValues[j], i / 2 % 64, 8);
@@ -187,10 +252,11 @@ public class DcrasEmbedder extends DctEmbedder {
      */
     protected int[] setChunks(PixelTranslator[] blocks) {
         int[][] cValues = new int[4][64];
+        double[] scratch = new double[64];
 
         for (int i = 0; i < cValues.length; i++) {
             // transform each block back to spatial domain
-            blocks[i].setValues(dctTransform.reverse(blocks[i].getValues()));
+            reverse(blocks[i], scratch);
             // convert rgb to y for each block
             cValues[i] = blocks[i].asARGB();
         }
@@ -239,17 +305,14 @@ public class DcrasEmbedder extends DctEmbedder {
      * @return a value to replace {@code reference} with, resulting in embedding
      */
     private double calcEmbedValue(double reference, double[] values, boolean isOne) {
-        double qValue = Quantizer.quantizationValue(refX, refY, qf);
-
-        // calculate prequantized Values
-        double[] preqValues = new double[values.length];
-        for (int i = 0; i < preqValues.length; i++) {
-            preqValues[i] = Math.round(values[i] / qValue) * qValue;
-        }
+        // mean of the prequantized values
+        double sum = 0;
+        for (double value : values)
+            sum += Math.round(value / this.qValue) * this.qValue;
+        double mean = sum / (double) values.length;
 
         // return the minimum distance to the mean, relative to the quantization value
-        double mean = mean(preqValues);
-        double minD = Math.max(REL_DIST * qValue, 5);
+        double minD = Math.max(REL_DIST * this.qValue, 5);
         return isOne ? Math.max(reference, mean + minD) : Math.min(reference, mean - minD);
     }
 
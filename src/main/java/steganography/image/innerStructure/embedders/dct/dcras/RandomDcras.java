@@ -7,7 +7,9 @@ import steganography.transforms.Transform;
 import java.util.Random;
 
 /**
- * Not a usable class, but maybe the idea is helpful to someone
+ * <p>Not a usable class, but maybe the idea is helpful to someone</p>
+ * <p>This Embedder is not thread-safe, as it keeps the picked coefficient between calls and its output depends on
+ * the order of calls.</p>
  */
 public class RandomDcras extends DcrasEmbedder {
     private final Random random;
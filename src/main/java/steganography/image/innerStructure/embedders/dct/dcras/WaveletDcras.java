@@ -28,11 +28,12 @@ public class WaveletDcras extends DcrasEmbedder {
         double[] energies = new double[chunks.length];
         double max = -Double.MAX_VALUE;
         int maxInd = -1;
+        double[] sChunk = new double[64];
 
         // transform chunks and save the defining values of each block, while noting the maximum
         for (int i = 0; i < chunks.length; i++) {
             // reduce quality to get relatable data
-            double[][] sChunk = Quantizer.prequantize(chunks[i].getValues(), this.qf);
+            Quantizer.prequantize(chunks[i].getValues(sChunk), this.qf);
             // not inverting brings higher stability for whatever reason
             // sChunk = FastDct8.inverseTransform2D(sChunk);
 
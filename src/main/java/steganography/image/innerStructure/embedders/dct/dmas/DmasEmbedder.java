@@ -1,20 +1,36 @@
 package steganography.image.innerStructure.embedders.dct.dmas;
 
 import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.distortion.BlockDistortionFunction;
+import steganography.image.innerStructure.distortion.PositionalDistortionFunction;
+import steganography.image.innerStructure.embedders.BatchEmbedder;
 import steganography.image.innerStructure.embedders.dct.DctEmbedder;
 import steganography.image.operation.pixelTranslation.PixelTranslator;
 import steganography.image.operation.pixelTranslation.TranslatorSupplier;
 import steganography.transforms.Transform;
 import steganography.util.Quantizer;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * <p>This Class is an Embedder that uses an adapted version of "Dither modulation based adaptive steganography" (DMAS)
  * to embed Bits into provided Cover Elements.</p>
  * <p>DMAS is explained in this <a href="https://doi.org/10.1007/s11042-017-4506-3">paper</a>. References to the
  * paper in the following code or in the inheriting classes are made as follows:
  * <em>(see {@link DmasEmbedder} p. [x])</em></p>
+ * <p>The quantization step is only calculated once on construction. Combined with a
+ * {@link BlockDistortionFunction}, {@link #flipCosts} translates each Cover Element and transforms it into the DCT
+ * domain only once, for both its Bit and its flipped version.</p>
  */
-public class DmasEmbedder extends DctEmbedder {
+public class DmasEmbedder extends DctEmbedder implements BatchEmbedder<int[]> {
+
+    /**
+     * Quantization step (delta) of the reference coefficient according to {@link #qf}, but at least 5
+     */
+    private final double delta;
+
     /**
      * <p>Creates an Embedder that uses an adapted version of "Dither modulation based adaptive steganography"
      * (DMAS - <em>see {@link DmasEmbedder})</em>) to embed Bits into cover elements.</p>
@@ -28,6 +44,7 @@ public class DmasEmbedder extends DctEmbedder {
     public DmasEmbedder(TranslatorSupplier<PixelTranslator> translatorSupplier, Transform<double[][]> dctTransform,
                            Float qf) {
         super(translatorSupplier, dctTransform, qf);
+        this.delta = Math.max(Quantizer.quantizationValue(refX, refY, qf), 5);
     }
 
     /**
@@ -45,6 +62,7 @@ public class DmasEmbedder extends DctEmbedder {
     public DmasEmbedder(TranslatorSupplier<PixelTranslator> translatorSupplier, Transform<double[][]> dctTransform,
                            Float qf, int refX, int refY) {
         super(translatorSupplier, dctTransform, qf, refX, refY);
+        this.delta = Math.max(Quantizer.quantizationValue(refX, refY, qf), 5);
     }
 
     @Override
@@ -61,17 +79,90 @@ public class DmasEmbedder extends DctEmbedder {
         return flipChunk(chunk).asARGB();
     }
 
-    protected PixelTranslator encodeChunk(PixelTranslator chunk, boolean isOne) {
-        double[][] dct = this.dctTransform.forward(chunk.getValues());
-        dct = toNearest(isOne, dct);
-        chunk.setValues(this.dctTransform.reverse(dct));
+    @Override
+    public List<int[]> embedAll(List<int[]> cvrElems, BitSet bits, int offset) throws EmbedderInputException {
+        double[] scratch = new double[64];
+        List<int[]> stegElems = new ArrayList<>(cvrElems.size());
+        for (int i = 0; i < cvrElems.size(); i++) {
+            acceptLength(cvrElems.get(i), 64);
+            PixelTranslator chunk = this.translatorSupplier.get(cvrElems.get(i), 8);
+            stegElems.add(encodeChunk(chunk, bits.get(offset + i), scratch).asARGB());
+        }
+        return stegElems;
+    }
+
+    @Override
+    public List<int[]> flipAll(List<int[]> cvrElems) throws EmbedderInputException {
+        double[] scratch = new double[64];
+        List<int[]> stegElems = new ArrayList<>(cvrElems.size());
+        for (int[] cvrElem : cvrElems) {
+            acceptLength(cvrElem, 64);
+            PixelTranslator chunk = this.translatorSupplier.get(cvrElem, 8);
+            stegElems.add(flipChunk(chunk, scratch).asARGB());
+        }
+        return stegElems;
+    }
+
+    /**
+     * <p>If {@code distortion} is a {@link BlockDistortionFunction}, it is given the translated values of each
+     * Cover Element and its flipped version, so both are translated and transformed once only. The flipped version
+     * is still converted to ARGB and translated back, as the distortion has to reflect the rounded pixels that would
+     * be set.</p>
+     */
+    @Override
+    public void flipCosts(List<int[]> cvrElems, boolean[] ones, double[] rho, int offset,
+                          PositionalDistortionFunction<int[]> distortion, int position) throws EmbedderInputException {
+        if (!(distortion instanceof BlockDistortionFunction)) {
+            BatchEmbedder.super.flipCosts(cvrElems, ones, rho, offset, distortion, position);
+            return;
+        }
+
+        BlockDistortionFunction blockDistortion = (BlockDistortionFunction) distortion;
+        double[] scratch = new double[64];
+        for (int i = 0; i < cvrElems.size(); i++) {
+            acceptLength(cvrElems.get(i), 64);
+            PixelTranslator chunk = this.translatorSupplier.get(cvrElems.get(i), 8);
+            double[][] original = chunk.getValues();
+
+            forward(chunk, scratch);
+            boolean one = isOne(chunk.get(refX, refY));
+            chunk.set(refX, refY, toNearest(!one, chunk.get(refX, refY)));
+            reverse(chunk, scratch);
+            double[][] embedded = this.translatorSupplier.get(chunk.asARGB(), 8).getValues();
+
+            ones[offset + i] = one;
+            rho[offset + i] = blockDistortion.calculateDistortion(original, embedded, position + i);
+        }
+    }
+
+    /**
+     * Embeds a Bit into the translated Cover Element {@code chunk}. Final, as the batch methods and
+     * {@link #flipCosts} embed without calling it.
+     */
+    protected final PixelTranslator encodeChunk(PixelTranslator chunk, boolean isOne) {
+        return encodeChunk(chunk, isOne, new double[64]);
+    }
+
+    private PixelTranslator encodeChunk(PixelTranslator chunk, boolean isOne, double[] scratch) {
+        forward(chunk, scratch);
+        chunk.set(refX, refY, toNearest(isOne, chunk.get(refX, refY)));
+        reverse(chunk, scratch);
         return chunk;
     }
 
-    protected PixelTranslator flipChunk(PixelTranslator chunk) {
-        double[][] dct = this.dctTransform.forward(chunk.getValues());
-        dct = toNearest(!isOne(dct), dct);
-        chunk.setValues(this.dctTransform.reverse(dct));
+    /**
+     * Flips the Bit of the translated Cover Element {@code chunk}. Final, as the batch methods and
+     * {@link #flipCosts} flip without calling it.
+     */
+    protected final PixelTranslator flipChunk(PixelTranslator chunk) {
+        return flipChunk(chunk, new double[64]);
+    }
+
+    private PixelTranslator flipChunk(PixelTranslator chunk, double[] scratch) {
+        forward(chunk, scratch);
+        double value = chunk.get(refX, refY);
+        chunk.set(refX, refY, toNearest(!isOne(value), value));
+        reverse(chunk, scratch);
         return chunk;
     }
 
@@ -79,11 +170,19 @@ public class DmasEmbedder extends DctEmbedder {
     public boolean representsOne(int[] cvrElem) throws EmbedderInputException {
         acceptLength(cvrElem, 64);
         PixelTranslator chunk = this.translatorSupplier.get(cvrElem, 8);
-        return isOne(this.dctTransform.forward(chunk.getValues()));
+        forward(chunk, new double[64]);
+        return isOne(chunk.get(refX, refY));
     }
 
-    private double getDelta() {
-        return Math.max(Quantizer.quantizationValue(refX, refY, this.qf), 5);
+    @Override
+    public void representsOne(List<int[]> cvrElems, boolean[] ones, int offset) throws EmbedderInputException {
+        double[] scratch = new double[64];
+        for (int i = 0; i < cvrElems.size(); i++) {
+            acceptLength(cvrElems.get(i), 64);
+            PixelTranslator chunk = this.translatorSupplier.get(cvrElems.get(i), 8);
+            forward(chunk, scratch);
+            ones[offset + i] = isOne(chunk.get(refX, refY));
+        }
     }
 
     protected boolean isOne(double[][] values) {
@@ -96,8 +195,7 @@ public class DmasEmbedder extends DctEmbedder {
      * @return true, if the value represents a 1
      */
     private boolean isOne(double value) {
-        double delta = getDelta();
-        return (int) ((Math.abs(value) + (delta / 2)) / delta) % 2 == 0;
+        return (int) ((Math.abs(value) + (this.delta / 2)) / this.delta) % 2 == 0;
     }
 
     /**
@@ -117,10 +215,9 @@ public class DmasEmbedder extends DctEmbedder {
      * @return nearest middle of intervalSet representing {@code embedOne}.
      */
     private double toNearest(boolean embedOne, double value) {
-        double delta = getDelta();
-        double nearest = Math.round(value / delta) * delta;
+        double nearest = Math.round(value / this.delta) * this.delta;
         if (embedOne != isOne(nearest))
-            nearest += value > nearest ? delta : -delta;
+            nearest += value > nearest ? this.delta : -this.delta;
         return nearest;
     }
 }
@@ -9,17 +9,17 @@ import steganography.image.innerStructure.embedders.PixelEmbedder;
 public class LsbReplacer extends PixelEmbedder {
 
     @Override
-    public Integer embed(Integer cvrElem, boolean one) throws EmbedderInputException {
+    public int embed(int cvrElem, boolean one) throws EmbedderInputException {
         return one ? cvrElem | 1 : cvrElem & ~0 << 1;
     }
 
     @Override
-    public Integer flip(Integer cvrElem) throws EmbedderInputException {
+    public int flip(int cvrElem) throws EmbedderInputException {
         return representsOne(cvrElem) ? embed(cvrElem, false) : embed(cvrElem, true);
     }
 
     @Override
-    public boolean representsOne(Integer cvrElem) throws EmbedderInputException {
+    public boolean representsOne(int cvrElem) throws EmbedderInputException {
         return (cvrElem & 1) > 0;
     }
 }
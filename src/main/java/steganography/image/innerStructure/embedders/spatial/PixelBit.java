@@ -21,20 +21,83 @@ package steganography.image.innerStructure.embedders.spatial;
 import steganography.exceptions.encoder.EmbedderInputException;
 import steganography.image.innerStructure.embedders.PixelEmbedder;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
- * Implementation of RandomLSB, an algorithm to encode hidden messages into images
+ * <p>Implementation of RandomLSB, an algorithm to encode hidden messages into images</p>
+ * <p>The channel and direction of a {@link #flip(int, int) flip} at a position of the Overlay are drawn from a
+ * hash of the seed and the position. Seeded by the Encoders seed, flips are therefore reproducible, no matter which
+ * thread flips a pixel or in which order the pixels are flipped, and pixels of the same color are changed
+ * independently of each other.</p>
+ * <p>Flips without position are drawn from a {@link SplittableRandom}. Every thread flipping pixels of the same
+ * PixelBit uses its own {@link SplittableRandom#split() split} of it, in the order the threads first flip a
+ * pixel, so these are only reproducible if made by one thread.</p>
  * @author Henk-Joas Lubig
  */
 public class PixelBit extends PixelEmbedder {
 
+    /**
+     * Odd constant spreading consecutive positions over all seeds, like the gamma of {@link SplittableRandom}
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Random to split the Randoms of the flipping threads off
+     */
+    private final SplittableRandom random;
+    private final ThreadLocal<SplittableRandom> threadRandom = ThreadLocal.withInitial(this::split);
+
+    /**
+     * Seed of the flips at a position
+     */
+    private final long seed;
+
+    /**
+     * Creates a PixelBit flipping pixels at random, differently for each instance.
+     */
+    public PixelBit() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a PixelBit flipping pixels at random, reproducibly for the same {@code seed}
+     * (see {@link PixelBit}).
+     * @param seed seed of the randomization, like the seed of the Encoder
+     */
+    public PixelBit(long seed) {
+        this(new SplittableRandom(seed), seed);
+    }
+
+    /**
+     * Creates a PixelBit flipping pixels at random, as determined by {@code random}
+     * (see {@link PixelBit}). {@code random} must not be used by anything else.
+     * @param random Random to draw the seed of flips at a position from and to split the Randoms of the flipping
+     *               threads off
+     */
+    public PixelBit(SplittableRandom random) {
+        this(random, random.nextLong());
+    }
+
+    private PixelBit(SplittableRandom random, long seed) {
+        this.random = random;
+        this.seed = seed;
+    }
+
+    private synchronized SplittableRandom split() {
+        return this.random.split();
+    }
+
     @Override
-    public Integer embed(Integer cvrElem, boolean one) throws EmbedderInputException {
+    public int embed(int cvrElem, boolean one) throws EmbedderInputException {
         // if payload bit != pixelBit -> flip pixelBit
         return (one != representsOne(cvrElem)) ? flip(cvrElem) : cvrElem;
     }
 
+    @Override
+    public int embed(int cvrElem, boolean one, int position) throws EmbedderInputException {
+        return (one != representsOne(cvrElem)) ? flip(cvrElem, position) : cvrElem;
+    }
+
     /**
      * <p>Returns true, if the parity of the individual bytes of {@code cvrElem} is an uneven number
      * ((A+R+G+B) mod 2 == 1).</p>
@@ -44,7 +107,7 @@ public class PixelBit extends PixelEmbedder {
      * @return true if the given pixel represents a 1 bit.
      */
     @Override
-    public boolean representsOne(Integer cvrElem) {
+    public boolean representsOne(int cvrElem) {
         return (
                 (cvrElem & 1) ^
                         (cvrElem >> 8 & 1) ^
@@ -62,11 +125,28 @@ public class PixelBit extends PixelEmbedder {
      * @return the changed pixelValue
      */
     @Override
-    public Integer flip(Integer cvrElem) throws EmbedderInputException {
-        Random rng = new Random();
+    public int flip(int cvrElem) throws EmbedderInputException {
+        return flipChannel(cvrElem, this.threadRandom.get().nextLong());
+    }
 
+    /**
+     * <p>Changes the value of a color channel (ARGB) of the given pixel by +1 or -1 (avoiding overflow), both
+     * drawn from the seed and {@code position}.</p>
+     * @param cvrElem the pixelValue to change
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @return the changed pixelValue
+     */
+    @Override
+    public int flip(int cvrElem, int position) throws EmbedderInputException {
+        return flipChannel(cvrElem, mix64(this.seed + GOLDEN_GAMMA * ((long) position + 1)));
+    }
+
+    /**
+     * @param random random bits, picking the channel and the direction of the change
+     */
+    private static int flipChannel(int cvrElem, long random) {
         // pick random channel
-        int channelPick = rng.nextInt(3) * 8;
+        int channelPick = (int) ((random >>> 1) % 3) * 8;
         // extract the byte of picked channel
         int channel = ((cvrElem >> channelPick) & 0xff);
 
@@ -81,7 +161,7 @@ public class PixelBit extends PixelEmbedder {
             addition = 1;
         } else {
             // if there is no overflow add or subtract 1 at random
-            addition = (rng.nextBoolean() ? 1 : -1);
+            addition = ((random & 1) == 0 ? 1 : -1);
         }
         channel += addition;
 
@@ -91,4 +171,14 @@ public class PixelBit extends PixelEmbedder {
         // invert channel, position it in another int and invert again -> 11..channel..11
         // bitwise AND replaces old byte with channel and keeps the rest of pxInt
     }
+
+    /**
+     * @return {@code z} with its bits mixed, like the outputs of {@link SplittableRandom}
+     * (David Stafford's variant 13 of the MurmurHash3 finalizer)
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
 }
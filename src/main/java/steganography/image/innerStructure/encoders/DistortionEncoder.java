@@ -1,25 +1,37 @@
 package steganography.image.innerStructure.encoders;
 
-import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.IntDistortionFunction;
+import steganography.image.innerStructure.distortion.PositionalDistortionFunction;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
 
 /**
- * Super class to Encoders using a DistortionFunction
+ * Super class to Encoders using a DistortionFunction, which may locate the Cover Elements by their position
+ * (see {@link PositionalDistortionFunction})
  * @param <T> Representation of pixel values dictated by return value of
  *           the used {@link BuffImgOverlay}
  */
 public abstract class DistortionEncoder<T> extends GeneralEncoder<T> {
-    protected final DistortionFunction<T> distortion;
+    protected final PositionalDistortionFunction<T> distortion;
 
-    protected DistortionEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion) {
+    /**
+     * {@link #distortion} as primitive specialization, if it is one and {@link #intOverlay} is not null, else null
+     */
+    protected final IntDistortionFunction intDistortion;
+
+    protected DistortionEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay,
+                                PositionalDistortionFunction<T> distortion) {
         super(embedder, overlay);
         this.distortion = distortion;
+        this.intDistortion = this.intOverlay != null && distortion instanceof IntDistortionFunction
+                ? (IntDistortionFunction) distortion : null;
     }
 
-    protected DistortionEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
-                                boolean sequential) {
+    protected DistortionEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay,
+                                PositionalDistortionFunction<T> distortion, boolean sequential) {
         super(embedder, overlay, sequential);
         this.distortion = distortion;
+        this.intDistortion = this.intOverlay != null && distortion instanceof IntDistortionFunction
+                ? (IntDistortionFunction) distortion : null;
     }
 }
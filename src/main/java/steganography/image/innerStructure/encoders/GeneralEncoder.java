@@ -3,9 +3,15 @@ package steganography.image.innerStructure.encoders;
 import steganography.exceptions.DamagedMessageException;
 import steganography.exceptions.encoder.EmbedderInputException;
 import steganography.exceptions.encoder.UnsupportedOverlayException;
+import steganography.image.innerStructure.embedders.BatchEmbedder;
 import steganography.image.innerStructure.embedders.Embedder;
+import steganography.image.innerStructure.embedders.IntEmbedder;
 import steganography.image.exceptions.ImageCapacityException;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.innerStructure.overlays.abstracts.IntOverlay;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Abstract Class to inherit the general approach to EnDecoders from.</p>
@@ -17,9 +23,27 @@ import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
  */
 public abstract class GeneralEncoder<T> implements Encoder {
 
+    /**
+     * Amount of Cover Elements given to a {@link BatchEmbedder} per call
+     */
+    protected static final int BATCH_SIZE = 64;
+
     protected final Embedder<T> embedder;
     protected final BuffImgOverlay<T> overlay;
 
+    /**
+     * {@link #embedder} and {@link #overlay} as primitive specializations, if both of them are, else both null.
+     * Inheriting classes use them to process single pixels without boxing them.
+     */
+    protected final IntEmbedder intEmbedder;
+    protected final IntOverlay intOverlay;
+
+    /**
+     * {@link #embedder} as {@link BatchEmbedder}, if it is one and {@link #intOverlay} is null, else null.
+     * Inheriting classes use it to process {@link #BATCH_SIZE} Cover Elements at once.
+     */
+    protected final BatchEmbedder<T> batchEmbedder;
+
     /**
      * Stores the current position in the sequence, if sequential mode is used.
      */
@@ -41,6 +65,11 @@ public abstract class GeneralEncoder<T> implements Encoder {
         this.embedder = embedder;
         this.overlay = overlay;
         this.sequentialMode = false;
+
+        boolean primitive = embedder instanceof IntEmbedder && overlay instanceof IntOverlay;
+        this.intEmbedder = primitive ? (IntEmbedder) embedder : null;
+        this.intOverlay = primitive ? (IntOverlay) overlay : null;
+        this.batchEmbedder = !primitive && embedder instanceof BatchEmbedder ? (BatchEmbedder<T>) embedder : null;
     }
 
     /**
@@ -57,6 +86,11 @@ public abstract class GeneralEncoder<T> implements Encoder {
         this.embedder = embedder;
         this.overlay = overlay;
         this.sequentialMode = sequential;
+
+        boolean primitive = embedder instanceof IntEmbedder && overlay instanceof IntOverlay;
+        this.intEmbedder = primitive ? (IntEmbedder) embedder : null;
+        this.intOverlay = primitive ? (IntOverlay) overlay : null;
+        this.batchEmbedder = !primitive && embedder instanceof BatchEmbedder ? (BatchEmbedder<T>) embedder : null;
     }
 
     /**
@@ -95,13 +129,11 @@ public abstract class GeneralEncoder<T> implements Encoder {
      * @throws UnsupportedOverlayException if the overlays return value is unsuitable for the embedder
      */
     public void encode(byte[] payload, long seed) throws ImageCapacityException, UnsupportedOverlayException {
-        int maxUnits = this.available();
-
         int bitLen = payload.length * 8;
-        if (bitLen > maxUnits)
+        if (!fits(bitLen))
             throw new ImageCapacityException(
                     String.format("Payload (%d Bit) is longer than the%s capacity (%d Bit)",
-                            bitLen, (this.sequentialMode ? " remaining" : ""), maxUnits));
+                            bitLen, (this.sequentialMode ? " remaining" : ""), this.available()));
 
         try {
             encodeAlgorithm(payload);
@@ -156,13 +188,11 @@ public abstract class GeneralEncoder<T> implements Encoder {
      */
     public byte[] decode(int bLength, long seed) throws DamagedMessageException, UnsupportedOverlayException,
             ImageCapacityException {
-        int maxUnits = this.available();
-
         int bitLen = bLength * 8;
-        if (bitLen > maxUnits)
+        if (!fits(bitLen))
             throw new ImageCapacityException(
                     String.format("Payload (%d Bit) is supposedly longer than the%s capacity (%d Bit)",
-                            bitLen, (this.sequentialMode ? " remaining" : ""), maxUnits));
+                            bitLen, (this.sequentialMode ? " remaining" : ""), this.available()));
 
         try {
             return toMinLength(decodeAlgorithm(bLength), bLength);
@@ -182,6 +212,40 @@ public abstract class GeneralEncoder<T> implements Encoder {
      */
     protected abstract byte[] decodeAlgorithm(int bLength) throws EmbedderInputException;
 
+    /**
+     * <p>Returns true if a payload of {@code bitLen} Bits fits into the (remaining) capacity, which is
+     * {@code bitLen <= available()} by default.</p>
+     * <p>Inheriting classes embedding into the first Cover Elements only may check just as many of them (see
+     * {@link BuffImgOverlay#hasAvailable(int)}), instead of counting all of them.</p>
+     * @param bitLen length of the payload in Bits
+     * @return true if the payload fits
+     */
+    protected boolean fits(int bitLen) {
+        return bitLen <= this.available();
+    }
+
+    /**
+     * @param from first position (inclusive) in the order of the overlay
+     * @param to last position (exclusive) in the order of the overlay
+     * @return the Cover Elements at the positions {@code [from, to)} of the overlay, in order
+     */
+    protected List<T> getAll(int from, int to) {
+        List<T> cvrElems = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++)
+            cvrElems.add(this.overlay.get(i));
+        return cvrElems;
+    }
+
+    /**
+     * Sets the provided Cover Elements at consecutive positions of the overlay, starting at {@code from}.
+     * @param values Cover Elements to set
+     * @param from position in the order of the overlay to set the first Cover Element at
+     */
+    protected void setAll(List<T> values, int from) {
+        for (int i = 0; i < values.size(); i++)
+            this.overlay.set(values.get(i), from + i);
+    }
+
     private byte[] toMinLength(byte[] output, int minLength) {
         // if last bytes are zero bytes (not returned by BitSet)
         if (output.length < minLength) {
@@ -6,6 +6,7 @@ import steganography.image.innerStructure.encoders.GeneralEncoder;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
 
 import java.util.BitSet;
+import java.util.List;
 
 /**
  * An Encoder that just encodes the payload, bit by bit, into the cover image.
@@ -58,11 +59,27 @@ public class PlainEncoder<T> extends GeneralEncoder<T> {
         int bitLen = payload.length * 8;
         BitSet payloadBits = BitSet.valueOf(payload);
 
-        for (int i = 0; i < bitLen; i++) {
-            T cvrElem = this.overlay.get(i + this.sequencePosition);
-            this.overlay.set(
-                    this.embed(payloadBits.get(i), cvrElem),
-                    i + this.sequencePosition);
+        if (this.intOverlay != null) {
+            // primitive specialization, not boxing the pixels
+            for (int i = 0; i < bitLen; i++) {
+                int cvrElem = this.intOverlay.getInt(i + this.sequencePosition);
+                this.intOverlay.setInt(
+                        this.embed(payloadBits.get(i), cvrElem, i + this.sequencePosition),
+                        i + this.sequencePosition);
+            }
+        } else if (this.batchEmbedder != null) {
+            for (int i = 0; i < bitLen; i += BATCH_SIZE) {
+                int end = Math.min(bitLen, i + BATCH_SIZE);
+                List<T> cvrElems = getAll(i + this.sequencePosition, end + this.sequencePosition);
+                setAll(this.embedAll(cvrElems, payloadBits, i), i + this.sequencePosition);
+            }
+        } else {
+            for (int i = 0; i < bitLen; i++) {
+                T cvrElem = this.overlay.get(i + this.sequencePosition);
+                this.overlay.set(
+                        this.embed(payloadBits.get(i), cvrElem, i + this.sequencePosition),
+                        i + this.sequencePosition);
+            }
         }
 
         updateSequencePosition(this.sequencePosition + bitLen);
@@ -76,11 +93,40 @@ public class PlainEncoder<T> extends GeneralEncoder<T> {
      * representation of Cover elements to prevent Bit flips enabling higher compression resistance.</p>
      * @param embedOne Bit to be embedded into the Cover Elements (true == 1; false == 0)
      * @param cvrObj Cover Element to embed the Bit into
+     * @param position position of {@code cvrObj} in the order of the Overlay
      * @throws EmbedderInputException if {@code cvrObj} doesn't match the input the Embedder requires.
      * @return the embedded cover element of class T
      */
-    protected T embed(boolean embedOne, T cvrObj) throws EmbedderInputException {
-        return this.embedder.embed(cvrObj, embedOne);
+    protected T embed(boolean embedOne, T cvrObj, int position) throws EmbedderInputException {
+        return this.embedder.embed(cvrObj, embedOne, position);
+    }
+
+    /**
+     * Primitive version of {@link #embed(boolean, Object, int)}, used instead of it if the Embedder and Overlay are
+     * primitive specializations (see {@link GeneralEncoder#intOverlay}). Inheriting classes overriding one of them
+     * have to override both.
+     * @param embedOne Bit to be embedded into the Cover Elements (true == 1; false == 0)
+     * @param cvrElem pixel to embed the Bit into
+     * @param position position of {@code cvrElem} in the order of the Overlay
+     * @throws EmbedderInputException if {@code cvrElem} doesn't match the input the Embedder requires.
+     * @return the embedded pixel
+     */
+    protected int embed(boolean embedOne, int cvrElem, int position) throws EmbedderInputException {
+        return this.intEmbedder.embed(cvrElem, embedOne, position);
+    }
+
+    /**
+     * Batch version of {@link #embed(boolean, Object, int)}, used instead of it if the Embedder is a
+     * {@link steganography.image.innerStructure.embedders.BatchEmbedder BatchEmbedder}. Inheriting classes
+     * overriding one of them have to override both.
+     * @param cvrElems Cover Elements to embed the Bits into
+     * @param bits Bits to embed (true == 1; false == 0)
+     * @param offset index of the Bit to embed into the first Cover Element
+     * @throws EmbedderInputException if a Cover Element doesn't match the input the Embedder requires.
+     * @return the embedded Cover Elements
+     */
+    protected List<T> embedAll(List<T> cvrElems, BitSet bits, int offset) throws EmbedderInputException {
+        return this.batchEmbedder.embedAll(cvrElems, bits, offset);
     }
 
     /**
@@ -91,14 +137,36 @@ public class PlainEncoder<T> extends GeneralEncoder<T> {
     protected byte[] decodeAlgorithm(int bLength) throws EmbedderInputException {
         BitSet payload = new BitSet();
         int bitLen = bLength * 8;
-        for (int i = 0; i < bitLen; i++) {
-            T cvrObj = this.overlay.get(i + this.sequencePosition);
-            payload.set(i, this.embedder.representsOne(cvrObj));
+        if (this.intOverlay != null) {
+            for (int i = 0; i < bitLen; i++)
+                payload.set(i, this.intEmbedder.representsOne(this.intOverlay.getInt(i + this.sequencePosition)));
+        } else if (this.batchEmbedder != null) {
+            boolean[] ones = new boolean[bitLen];
+            for (int i = 0; i < bitLen; i += BATCH_SIZE) {
+                int end = Math.min(bitLen, i + BATCH_SIZE);
+                this.batchEmbedder.representsOne(
+                        getAll(i + this.sequencePosition, end + this.sequencePosition), ones, i);
+            }
+            for (int i = 0; i < bitLen; i++)
+                payload.set(i, ones[i]);
+        } else {
+            for (int i = 0; i < bitLen; i++) {
+                T cvrObj = this.overlay.get(i + this.sequencePosition);
+                payload.set(i, this.embedder.representsOne(cvrObj));
+            }
         }
         updateSequencePosition(this.sequencePosition + bitLen);
         return payload.toByteArray();
     }
 
+    /**
+     * One Cover Element per Bit, so only the next {@code bitLen} Cover Elements are checked.
+     */
+    @Override
+    protected boolean fits(int bitLen) {
+        return this.overlay.hasAvailable(this.sequencePosition + bitLen);
+    }
+
     @Override
     public int available() {
         return super.available() - this.sequencePosition;
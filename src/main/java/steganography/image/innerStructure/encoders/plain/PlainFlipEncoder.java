@@ -4,6 +4,11 @@ import steganography.exceptions.encoder.EmbedderInputException;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
 public class PlainFlipEncoder<T> extends PlainEncoder<T> {
 
     /**
@@ -46,12 +51,39 @@ public class PlainFlipEncoder<T> extends PlainEncoder<T> {
      * representations. This approach is only suitable for lossless compression of the cover.</p>
      * @param embedOne Bit to be embedded into the Cover Elements (true == 1; false == 0)
      * @param cvrObj Cover Element to embed the Bit into
+     * @param position position of {@code cvrObj} in the order of the Overlay
      * @throws EmbedderInputException if {@code cvrObj} doesn't match the input the Embedder requires.
      */
     @Override
-    protected T embed(boolean embedOne, T cvrObj) throws EmbedderInputException {
+    protected T embed(boolean embedOne, T cvrObj, int position) throws EmbedderInputException {
         if (this.embedder.representsOne(cvrObj) != embedOne)
-            return this.embedder.flip(cvrObj);
+            return this.embedder.flip(cvrObj, position);
         return cvrObj;
     }
+
+    @Override
+    protected int embed(boolean embedOne, int cvrElem, int position) throws EmbedderInputException {
+        if (this.intEmbedder.representsOne(cvrElem) != embedOne)
+            return this.intEmbedder.flip(cvrElem, position);
+        return cvrElem;
+    }
+
+    @Override
+    protected List<T> embedAll(List<T> cvrElems, BitSet bits, int offset) throws EmbedderInputException {
+        boolean[] ones = new boolean[cvrElems.size()];
+        this.batchEmbedder.representsOne(cvrElems, ones, 0);
+
+        // flip only the Cover Elements not representing their Bit
+        List<T> flipping = new ArrayList<>();
+        for (int i = 0; i < ones.length; i++) {
+            if (ones[i] != bits.get(offset + i))
+                flipping.add(cvrElems.get(i));
+        }
+        Iterator<T> flipped = this.batchEmbedder.flipAll(flipping).iterator();
+
+        List<T> stegElems = new ArrayList<>(cvrElems.size());
+        for (int i = 0; i < ones.length; i++)
+            stegElems.add(ones[i] != bits.get(offset + i) ? flipped.next() : cvrElems.get(i));
+        return stegElems;
+    }
 }
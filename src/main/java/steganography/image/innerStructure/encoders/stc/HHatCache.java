@@ -0,0 +1,148 @@
+package steganography.image.innerStructure.encoders.stc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Bounded, thread-safe cache of the H_hat submatrices built by {@link StcEncoder StcEncoders}, evicting the least
+ * recently used one if full.</p>
+ * <p>An H_hat is determined by the seed of the encoder, the amount of columns drawn from its randomization before,
+ * its width k and the constraint height. One {@link #shared() shared} instance is used by all StcEncoders, so
+ * decoding many images with the same seed only builds each H_hat once.</p>
+ * <p>Cached arrays are shared between all users and must not be modified.</p>
+ */
+public final class HHatCache {
+
+    /**
+     * Default amount of H_hats held by the cache. One H_hat holds up to {@code 2^(h-2)-1} columns.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final HHatCache SHARED = new HHatCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<Key, int[]> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates an empty cache holding up to {@code capacity} H_hats.
+     * @param capacity maximum amount of cached H_hats, at least 1
+     * @throws IllegalArgumentException if {@code capacity} is smaller than 1
+     */
+    public HHatCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1");
+
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, int[]>(16, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > HHatCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all {@link StcEncoder StcEncoders}
+     */
+    public static HHatCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached H_hat, counting a hit, or null, counting a miss.
+     * @param seed seed of the encoders randomization
+     * @param offset amount of columns drawn from the randomization before this H_hat
+     * @param k width of the H_hat
+     * @param height constraint height of the H_hat
+     * @return the cached H_hat, or null if it is not cached
+     */
+    public int[] get(long seed, long offset, int k, int height) {
+        int[] hHat;
+        synchronized (this.entries) {
+            hHat = this.entries.get(new Key(seed, offset, k, height));
+        }
+        (hHat == null ? this.misses : this.hits).incrementAndGet();
+        return hHat;
+    }
+
+    /**
+     * Caches the provided H_hat, possibly evicting the least recently used one.
+     * @param seed seed of the encoders randomization
+     * @param offset amount of columns drawn from the randomization before this H_hat
+     * @param k width of the H_hat
+     * @param height constraint height of the H_hat
+     * @param hHat H_hat to cache, which must not be modified afterwards
+     */
+    public void put(long seed, long offset, int k, int height, int[] hHat) {
+        synchronized (this.entries) {
+            this.entries.put(new Key(seed, offset, k, height), hHat);
+        }
+    }
+
+    /**
+     * @return the amount of {@link #get lookups} that found a cached H_hat
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the amount of {@link #get lookups} that did not find a cached H_hat
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the amount of currently cached H_hats
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached H_hats and resets the counters.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+        this.hits.set(0);
+        this.misses.set(0);
+    }
+
+    private static final class Key {
+        private final long seed;
+        private final long offset;
+        private final int k;
+        private final int height;
+
+        private Key(long seed, long offset, int k, int height) {
+            this.seed = seed;
+            this.offset = offset;
+            this.k = k;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return seed == key.seed && offset == key.offset && k == key.k && height == key.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seed, offset, k, height);
+        }
+    }
+}
@@ -2,10 +2,14 @@ package steganography.image.innerStructure.encoders.stc;
 
 import steganography.exceptions.encoder.EmbedderInputException;
 import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.PositionalDistortionFunction;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.operation.stc.StcEngine;
 
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 
 public class LossLessStcEncoder<T> extends StcEncoder<T> {
 
@@ -97,6 +101,183 @@ public class LossLessStcEncoder<T> extends StcEncoder<T> {
         super(embedder, overlay, distortion, sequential, seed);
     }
 
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs like
+     * {@link #LossLessStcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}, calculating the
+     * distortion with a function locating the Cover Elements by their position (like
+     * {@link steganography.image.innerStructure.distortion.JUniwardMap JUniwardMap}).</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion function to calculate the distortion impact of embedding, given the position of the Cover
+     *                   Elements
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay,
+                              PositionalDistortionFunction<T> distortion, boolean sequential, long seed) {
+        super(embedder, overlay, distortion, sequential, seed);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference})</em>
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder embeds only the necessary changes by flipping the differences between {@code cover}
+     * (Bits that are represented by the {@code Cover Elements}) and {@code stego} (result of viterbi), causing the
+     * minimum possible distortion.</p>
+     * <p>This approach, while fairly robust against detection, is highly susceptible to compression and is only
+     * suitable for lossless formats.</p>
+     * <p>This Encoder offers a sequential mode, allowing subsequent calls to {@link #encode} or {@link #decode}
+     * without overwriting / rereading Cover Elements from the beginning. Sequential mode is used if the parameter
+     * {@code sequential} is set to true.</p>
+     * <p>The trellis of the {@link #viterbi_stc viterbi}-algorithm accumulates distortion in the provided
+     * {@code precision}. {@link StcEngine.Precision#FLOAT FLOAT} is faster, but might choose a slightly
+     * more distorting path than {@link StcEngine.Precision#DOUBLE DOUBLE} (the default).</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param precision precision of the trellis weights
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                              boolean sequential, long seed, StcEngine.Precision precision) {
+        super(embedder, overlay, distortion, sequential, seed, precision);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference})</em>
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder embeds only the necessary changes by flipping the differences between {@code cover}
+     * (Bits that are represented by the {@code Cover Elements}) and {@code stego} (result of viterbi), causing the
+     * minimum possible distortion.</p>
+     * <p>This approach, while fairly robust against detection, is highly susceptible to compression and is only
+     * suitable for lossless formats.</p>
+     * <p>This Encoder offers a sequential mode, allowing subsequent calls to {@link #encode} or {@link #decode}
+     * without overwriting / rereading Cover Elements from the beginning. Sequential mode is used if the parameter
+     * {@code sequential} is set to true.</p>
+     * <p>The {@code constraintHeight} trades speed for embedding efficiency and must be the same for en- and decoding
+     * (see {@link StcEncoder#StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long, int,
+     * StcEngine.Precision) StcEncoder}).</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @throws IllegalArgumentException if {@code constraintHeight} is out of bounds or {@code precision} is null
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                              boolean sequential, long seed, int constraintHeight,
+                              StcEngine.Precision precision) {
+        super(embedder, overlay, distortion, sequential, seed, constraintHeight, precision);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference})</em>
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder embeds only the necessary changes by flipping the differences between {@code cover}
+     * (Bits that are represented by the {@code Cover Elements}) and {@code stego} (result of viterbi), causing the
+     * minimum possible distortion.</p>
+     * <p>This approach, while fairly robust against detection, is highly susceptible to compression and is only
+     * suitable for lossless formats.</p>
+     * <p>This Encoder offers a sequential mode, allowing subsequent calls to {@link #encode} or {@link #decode}
+     * without overwriting / rereading Cover Elements from the beginning. Sequential mode is used if the parameter
+     * {@code sequential} is set to true.</p>
+     * <p>If {@code segments} is greater than 1, the STCs are split into independent segments which are en- and
+     * decoded in parallel. This is a distinct format (see {@link StcEncoder#StcEncoder(Embedder, BuffImgOverlay,
+     * DistortionFunction, boolean, long, int, StcEngine.Precision, int) StcEncoder}).</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight} or {@code segments} is out of bounds or
+     *                                  {@code precision} is null
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                              boolean sequential, long seed, int constraintHeight,
+                              StcEngine.Precision precision, int segments) {
+        super(embedder, overlay, distortion, sequential, seed, constraintHeight, precision, segments);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs like
+     * {@link #LossLessStcEncoder(Embedder, BuffImgOverlay, PositionalDistortionFunction, boolean, long, int,
+     * StcEngine.Precision, int, int)}, calculating the distortion independent of the position of the Cover
+     * Elements.</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @param parallelism amount of ranges to gather Cover Elements in parallel, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight}, {@code segments} or {@code parallelism} is out of
+     *                                  bounds or {@code precision} is null
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                              boolean sequential, long seed, int constraintHeight,
+                              StcEngine.Precision precision, int segments, int parallelism) {
+        this(embedder, overlay, (PositionalDistortionFunction<T>) distortion, sequential, seed, constraintHeight,
+                precision, segments, parallelism);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference})</em>
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder embeds only the necessary changes by flipping the differences between {@code cover}
+     * (Bits that are represented by the {@code Cover Elements}) and {@code stego} (result of viterbi), causing the
+     * minimum possible distortion.</p>
+     * <p>This approach, while fairly robust against detection, is highly susceptible to compression and is only
+     * suitable for lossless formats.</p>
+     * <p>This Encoder offers a sequential mode, allowing subsequent calls to {@link #encode} or {@link #decode}
+     * without overwriting / rereading Cover Elements from the beginning. Sequential mode is used if the parameter
+     * {@code sequential} is set to true.</p>
+     * <p>If {@code parallelism} is greater than 1, the Bits and distortion values of the Cover Elements are
+     * gathered in parallel, requiring thread-safe components (see {@link StcEncoder#StcEncoder(Embedder,
+     * BuffImgOverlay, PositionalDistortionFunction, boolean, long, int, StcEngine.Precision, int, int)
+     * StcEncoder}).</p>
+     * <p>This Encoder is compatible with: {@link StcEncoder}</p>
+     *
+     * @param embedder   Embedder to flip or embed Bits in Cover Elements
+     * @param overlay    Overlay returning Pixels as if part of a sequence
+     * @param distortion function to calculate the distortion impact of embedding, which may locate the Cover
+     *                   Elements by their position
+     * @param sequential true, if this Encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @param parallelism amount of ranges to gather Cover Elements in parallel, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight}, {@code segments} or {@code parallelism} is out of
+     *                                  bounds or {@code precision} is null
+     */
+    public LossLessStcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay,
+                              PositionalDistortionFunction<T> distortion, boolean sequential, long seed,
+                              int constraintHeight, StcEngine.Precision precision, int segments, int parallelism) {
+        super(embedder, overlay, distortion, sequential, seed, constraintHeight, precision, segments, parallelism);
+    }
+
     /**
      * <p>Embeds differences between {@code steg} and {@code cvrRep} only by flipping the respective Cover Elements.</p>
      * <p>This procedure affects the minimum amount of Cover Elements as determined by the
@@ -110,9 +291,45 @@ public class LossLessStcEncoder<T> extends StcEncoder<T> {
         // XOR leaves ones at indices with differences
         steg.xor(cvrRep);
         // flip at differences
+        if (this.batchEmbedder != null) {
+            flipBatched(steg);
+            return;
+        }
+        if (this.intOverlay != null) {
+            // primitive specialization, not boxing the pixels
+            for (int i = steg.nextSetBit(0); i >= 0; i = steg.nextSetBit(i+1)) {
+                int cvrElem = this.intOverlay.getInt(i + this.sequencePosition);
+                this.intOverlay.setInt(
+                        this.intEmbedder.flip(cvrElem, i + this.sequencePosition), i + this.sequencePosition);
+            }
+            return;
+        }
         for (int i = steg.nextSetBit(0); i >= 0; i = steg.nextSetBit(i+1)) {
             T cvrElem = this.overlay.get(i + this.sequencePosition);
-            this.overlay.set(this.embedder.flip(cvrElem), i + this.sequencePosition);
+            this.overlay.set(this.embedder.flip(cvrElem, i + this.sequencePosition), i + this.sequencePosition);
+        }
+    }
+
+    /**
+     * Flips the Cover Elements at the set Bits of {@code differences}, {@link #BATCH_SIZE} at a time.
+     */
+    private void flipBatched(BitSet differences) throws EmbedderInputException {
+        int[] positions = new int[BATCH_SIZE];
+        int amount = 0;
+        for (int i = differences.nextSetBit(0); i >= 0 || amount > 0; i = differences.nextSetBit(i+1)) {
+            if (i >= 0)
+                positions[amount++] = i + this.sequencePosition;
+            if (amount == BATCH_SIZE || (i < 0 && amount > 0)) {
+                List<T> cvrElems = new ArrayList<>(amount);
+                for (int j = 0; j < amount; j++)
+                    cvrElems.add(this.overlay.get(positions[j]));
+                List<T> stegElems = this.batchEmbedder.flipAll(cvrElems);
+                for (int j = 0; j < amount; j++)
+                    this.overlay.set(stegElems.get(j), positions[j]);
+                amount = 0;
+            }
+            if (i < 0)
+                break;
         }
     }
 }
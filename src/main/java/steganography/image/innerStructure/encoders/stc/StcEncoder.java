@@ -2,12 +2,15 @@ package steganography.image.innerStructure.encoders.stc;
 
 import steganography.exceptions.encoder.EmbedderInputException;
 import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.PositionalDistortionFunction;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.encoders.DistortionEncoder;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
-import steganography.util.ArrayUtils;
+import steganography.image.operation.stc.StcEngine;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * <p>Implementation of an Encoder and Decoder using STCs as explained in the paper
@@ -27,12 +30,32 @@ import java.util.*;
 public class StcEncoder<T> extends DistortionEncoder<T> {
 
     /**
-     * Height of the H_hat matrix <em>(constraint height)</em>. Design parameter that affects the
+     * Default height of the H_hat matrix <em>(constraint height)</em>. Design parameter that affects the
      * algorithms (STCs) speed and efficiency, "typically, 6 <= h <= 15" (see <em>{@link StcEncoder reference p.6}</em>)
      */
-    private static final int HAT_HEIGHT = 10;
+    public static final int DEFAULT_CONSTRAINT_HEIGHT = 10;
 
-    private static final int MAX_INT_NOTATION = (int) Math.pow(2, HAT_HEIGHT);
+    /**
+     * Minimum constraint height, as H_hat needs at least one column with most and least significant bit set
+     */
+    public static final int MIN_CONSTRAINT_HEIGHT = 3;
+
+    /**
+     * Maximum constraint height. The trellis stores {@code 2^h} back-pointers per Cover Element, which exceeds
+     * reasonable memory consumption beyond this height.
+     */
+    public static final int MAX_CONSTRAINT_HEIGHT = 16;
+
+    /**
+     * Height of the H_hat matrix <em>(constraint height)</em>. Must be the same for en- and decoding.
+     * @see #DEFAULT_CONSTRAINT_HEIGHT
+     */
+    private final int hatHeight;
+
+    /**
+     * {@code 2^hatHeight}, exclusive upper bound of the columns of H_hat in integer representation
+     */
+    private final int maxIntNotation;
 
     /**
      * {@link Random} which is used to randomize certain parts of the algorithm
@@ -40,6 +63,46 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      */
     private final Random random;
 
+    /**
+     * Seed of {@link #random}, identifying its H_hats in the {@link HHatCache}
+     */
+    private final long seed;
+
+    /**
+     * Amount of H_hat columns drawn from {@link #random} so far, each consuming exactly one value
+     */
+    private long drawnColumns = 0;
+
+    /**
+     * Cache to look up and store H_hats in, the {@link HHatCache#shared() shared} one unless replaced by
+     * {@link #setHHatCache}
+     */
+    private HHatCache hHatCache = HHatCache.shared();
+
+    /**
+     * {@link StcEngine} running the trellis of the {@link #viterbi_stc viterbi}-algorithm, reusing its buffers
+     * between calls
+     */
+    private final StcEngine engine;
+
+    /**
+     * Amount of independent STC segments the Cover Elements and message are split into. 1 is the legacy format.
+     * @see #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long, int, StcEngine.Precision, int)
+     */
+    private final int segments;
+
+    /**
+     * One trellis engine per segment, created on first use, as engines are not thread-safe
+     */
+    private final StcEngine[] segmentEngines;
+
+    /**
+     * Amount of ranges the Cover Elements are split into to gather their Bits and distortion values in parallel.
+     * 1 gathers them on the calling thread.
+     * @see #gather
+     */
+    private final int parallelism;
+
     /**
      * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference}</em>)
      * to minimize embedding distortion.</p>
@@ -55,8 +118,7 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @param distortion DistortionFunction to calculate the distortion impact of embedding
      */
     public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion) {
-        super(embedder, overlay, distortion);
-        this.random = new Random(DEFAULT_SEED);
+        this(embedder, overlay, distortion, false, DEFAULT_SEED);
     }
 
     /**
@@ -75,8 +137,7 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @param seed long to be set as initial seed to randomize encoding
      */
     public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion, long seed) {
-        super(embedder, overlay, distortion);
-        this.random = new Random(seed);
+        this(embedder, overlay, distortion, false, seed);
     }
 
     /**
@@ -97,8 +158,7 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @param sequential true, if this Encoder should use sequential mode
      */
     public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion, boolean sequential) {
-        super(embedder, overlay, distortion, sequential);
-        this.random = new Random(DEFAULT_SEED);
+        this(embedder, overlay, distortion, sequential, DEFAULT_SEED);
     }
 
     /**
@@ -121,8 +181,223 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      */
     public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
                       boolean sequential, long seed) {
+        this(embedder, overlay, distortion, sequential, seed, StcEngine.Precision.DOUBLE);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs like
+     * {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}, calculating the distortion
+     * with a function locating the Cover Elements by their position (like
+     * {@link steganography.image.innerStructure.distortion.JUniwardMap JUniwardMap}).</p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion function to calculate the distortion impact of embedding, given the position of the Cover
+     *                   Elements
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, PositionalDistortionFunction<T> distortion,
+                      boolean sequential, long seed) {
+        this(embedder, overlay, distortion, sequential, seed, DEFAULT_CONSTRAINT_HEIGHT, StcEngine.Precision.DOUBLE,
+                1, 1);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference}</em>)
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder {@link #embed(BitSet, BitSet, int) embeds} the complete stego vector (result of
+     * {@link #viterbi_stc viterbi}), affecting every {@code Cover Element} (depending on {@link Embedder}
+     * implementation), resulting in higher compression resistance. This approach could be part of a hybrid embedding
+     * process, trying to balance detection and compression robustness.</p>
+     * <p>This Encoder offers a sequential mode
+     * (see {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}.</p>
+     * <p>The trellis of the {@link #viterbi_stc viterbi}-algorithm accumulates distortion in the provided
+     * {@code precision}. {@link StcEngine.Precision#FLOAT FLOAT} is faster, but might choose a slightly
+     * more distorting path than {@link StcEngine.Precision#DOUBLE DOUBLE} (the default). Decoding is not affected,
+     * so both are compatible.</p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param precision precision of the trellis weights
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                      boolean sequential, long seed, StcEngine.Precision precision) {
+        this(embedder, overlay, distortion, sequential, seed, DEFAULT_CONSTRAINT_HEIGHT, precision);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference}</em>)
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder {@link #embed(BitSet, BitSet, int) embeds} the complete stego vector (result of
+     * {@link #viterbi_stc viterbi}), affecting every {@code Cover Element} (depending on {@link Embedder}
+     * implementation), resulting in higher compression resistance. This approach could be part of a hybrid embedding
+     * process, trying to balance detection and compression robustness.</p>
+     * <p>This Encoder offers a sequential mode
+     * (see {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}.</p>
+     * <p>The {@code constraintHeight} h trades speed for embedding efficiency: every message Bit walks
+     * {@code 2^h} trellis states, while lower heights result in higher distortion. It also limits the
+     * amount of Cover Elements per message Bit to {@code 2^(h-2)-1}. The constraint height is not embedded
+     * in the image, so decoding requires the same constraint height as encoding.</p>
+     * <p>The trellis accumulates distortion in the provided {@code precision}
+     * (see {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long, StcEngine.Precision)}).</p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @throws IllegalArgumentException if {@code constraintHeight} is out of bounds or {@code precision} is null
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                      boolean sequential, long seed, int constraintHeight, StcEngine.Precision precision) {
+        this(embedder, overlay, distortion, sequential, seed, constraintHeight, precision, 1);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference}</em>)
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder {@link #embed(BitSet, BitSet, int) embeds} the complete stego vector (result of
+     * {@link #viterbi_stc viterbi}), affecting every {@code Cover Element} (depending on {@link Embedder}
+     * implementation), resulting in higher compression resistance. This approach could be part of a hybrid embedding
+     * process, trying to balance detection and compression robustness.</p>
+     * <p>This Encoder offers a sequential mode
+     * (see {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}.</p>
+     * <p>If {@code segments} is greater than 1, the message and the used Cover Elements are split into as many
+     * contiguous, independent STCs, each with its own H_hat drawn from the seeded randomization in order.
+     * The segments are en- and decoded in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+     * This is a distinct format: images encoded with segments can only be decoded with the same amount of segments
+     * (1 being the format of all other constructors). Splitting the trellis slightly increases the distortion at
+     * the borders of the segments.</p>
+     * <p>For {@code constraintHeight} see
+     * {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long, int, StcEngine.Precision)}.</p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight} or {@code segments} is out of bounds or
+     *                                  {@code precision} is null
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                      boolean sequential, long seed, int constraintHeight, StcEngine.Precision precision,
+                      int segments) {
+        this(embedder, overlay, distortion, sequential, seed, constraintHeight, precision, segments, 1);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs like
+     * {@link #StcEncoder(Embedder, BuffImgOverlay, PositionalDistortionFunction, boolean, long, int,
+     * StcEngine.Precision, int, int)}, calculating the distortion independent of the position of the Cover
+     * Elements.</p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion DistortionFunction to calculate the distortion impact of embedding
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @param parallelism amount of ranges to gather Cover Elements in parallel, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight}, {@code segments} or {@code parallelism} is out of
+     *                                  bounds or {@code precision} is null
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, DistortionFunction<T> distortion,
+                      boolean sequential, long seed, int constraintHeight, StcEngine.Precision precision,
+                      int segments, int parallelism) {
+        this(embedder, overlay, (PositionalDistortionFunction<T>) distortion, sequential, seed, constraintHeight,
+                precision, segments, parallelism);
+    }
+
+    /**
+     * <p>Creates an Encoder and Decoder that coordinates embedding using STCs (see <em>{@link StcEncoder reference}</em>)
+     * to minimize embedding distortion.</p>
+     * <p>This StcEncoder {@link #embed(BitSet, BitSet, int) embeds} the complete stego vector (result of
+     * {@link #viterbi_stc viterbi}), affecting every {@code Cover Element} (depending on {@link Embedder}
+     * implementation), resulting in higher compression resistance. This approach could be part of a hybrid embedding
+     * process, trying to balance detection and compression robustness.</p>
+     * <p>This Encoder offers a sequential mode
+     * (see {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long)}.</p>
+     * <p>If {@code parallelism} is greater than 1, the Cover Elements are split into as many contiguous ranges, whose
+     * Bits and distortion values are gathered in parallel on the {@link ForkJoinPool#commonPool() common pool}
+     * before running the trellis. This requires the {@code overlay}, {@code embedder} and {@code distortion} to be
+     * safe for concurrent reads (see {@link BuffImgOverlay}, {@link Embedder} and {@link PositionalDistortionFunction}).
+     * The result is the same as with a {@code parallelism} of 1, as long as they are deterministic.</p>
+     * <p>For {@code constraintHeight} and {@code segments} see
+     * {@link #StcEncoder(Embedder, BuffImgOverlay, DistortionFunction, boolean, long, int, StcEngine.Precision, int)}.
+     * </p>
+     * <p>This Encoder is compatible with: {@link LossLessStcEncoder}</p>
+     * @param embedder Embedder to flip or embed Bits in Cover Elements
+     * @param overlay Overlay returning Pixels as if part of a sequence
+     * @param distortion function to calculate the distortion impact of embedding, which may locate the Cover
+     *                   Elements by their position
+     * @param sequential true if this encoder should use sequential mode
+     * @param seed long to be set as initial seed to randomize encoding
+     * @param constraintHeight height of the H_hat matrix, between {@link #MIN_CONSTRAINT_HEIGHT} and
+     *                         {@link #MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @param precision precision of the trellis weights
+     * @param segments amount of independent STC segments, at least 1
+     * @param parallelism amount of ranges to gather Cover Elements in parallel, at least 1
+     * @throws IllegalArgumentException if {@code constraintHeight}, {@code segments} or {@code parallelism} is out of
+     *                                  bounds or {@code precision} is null
+     */
+    public StcEncoder(Embedder<T> embedder, BuffImgOverlay<T> overlay, PositionalDistortionFunction<T> distortion,
+                      boolean sequential, long seed, int constraintHeight, StcEngine.Precision precision,
+                      int segments, int parallelism) {
         super(embedder, overlay, distortion, sequential);
+
+        if (constraintHeight < MIN_CONSTRAINT_HEIGHT || constraintHeight > MAX_CONSTRAINT_HEIGHT)
+            throw new IllegalArgumentException(String.format(
+                    "Constraint height must be between %d and %d (both inclusive)",
+                    MIN_CONSTRAINT_HEIGHT, MAX_CONSTRAINT_HEIGHT
+            ));
+        if (segments < 1)
+            throw new IllegalArgumentException("Amount of segments must be at least 1");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        this.hatHeight = constraintHeight;
+        this.maxIntNotation = 1 << constraintHeight;
         this.random = new Random(seed);
+        this.seed = seed;
+        this.engine = StcEngine.create(constraintHeight, precision);
+        this.segments = segments;
+        this.segmentEngines = new StcEngine[segments];
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the height of the H_hat matrix <em>(constraint height)</em> used by this Encoder
+     */
+    public int getConstraintHeight() {
+        return this.hatHeight;
+    }
+
+    /**
+     * @return the amount of independent STC segments used by this Encoder, 1 being the legacy format
+     */
+    public int getSegments() {
+        return this.segments;
+    }
+
+    /**
+     * @return the amount of ranges this Encoder gathers Cover Elements of in parallel, 1 being sequential
+     */
+    public int getParallelism() {
+        return this.parallelism;
     }
 
     /**
@@ -136,22 +411,20 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
         int bitLen = payload.length * 8;
         int maxUnits = this.sequentialMode ? bitLen * 2 : maxCvrLen(bitLen, this.available());
 
-        // Bits currently represented by all Cover Elements
-        BitSet cvrRep = new BitSet(maxUnits);
         // Distortion values for each Cover Element
         double[] rho = new double[maxUnits];
 
-        // Gather cvrRep and distortion values
-        for (int i = 0; i < maxUnits; i++) {
-            T cvrObj = this.overlay.get(i + this.sequencePosition);
-            cvrRep.set(i, this.embedder.representsOne(cvrObj));
-            T stegObj = this.embedder.flip(cvrObj);
-            rho[i] = this.distortion.calculateDistortion(cvrObj, stegObj);
-        }
+        // Gather Bits currently represented by all Cover Elements and distortion values
+        BitSet cvrRep = gather(maxUnits, rho);
 
         // Build H_hat and use viterbi algorithm to minimize embedding impact
-        int[] hHat = build_H_hat(calculateK(maxUnits, bitLen), this.random);
-        BitSet steg = viterbi_stc(cvrRep, maxUnits, BitSet.valueOf(payload), bitLen, rho, hHat);
+        BitSet steg;
+        if (this.segments == 1) {
+            int[] hHat = nextHHat(calculateK(maxUnits, bitLen));
+            steg = viterbi_stc(cvrRep, maxUnits, BitSet.valueOf(payload), bitLen, rho, hHat);
+        } else {
+            steg = viterbiSegmented(cvrRep, BitSet.valueOf(payload), bitLen, rho, calculateK(maxUnits, bitLen));
+        }
 
         if (!sequentialMode) {
             BitSet cvrEnd = (BitSet) cvrRep.clone();
@@ -178,9 +451,29 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @throws EmbedderInputException if the output of the Overlay doesn't match the Input the Embedder requires.
      */
     protected void embed(BitSet steg, BitSet cvrRep, int cvrLength) throws EmbedderInputException {
+        if (this.intOverlay != null) {
+            // primitive specialization, not boxing the pixels
+            for (int i = 0; i < cvrLength; i++) {
+                int cvrElem = this.intOverlay.getInt(i + this.sequencePosition);
+                this.intOverlay.setInt(
+                        this.intEmbedder.embed(cvrElem, steg.get(i), i + this.sequencePosition),
+                        i + this.sequencePosition);
+            }
+            return;
+        }
+        if (this.batchEmbedder != null) {
+            for (int i = 0; i < cvrLength; i += BATCH_SIZE) {
+                int end = Math.min(cvrLength, i + BATCH_SIZE);
+                List<T> cvrElems = getAll(i + this.sequencePosition, end + this.sequencePosition);
+                setAll(this.batchEmbedder.embedAll(cvrElems, steg, i), i + this.sequencePosition);
+            }
+            return;
+        }
         for (int i = 0; i < cvrLength; i++) {
             T cvrElem = this.overlay.get(i + this.sequencePosition);
-            this.overlay.set(this.embedder.embed(cvrElem, steg.get(i)), i + this.sequencePosition);
+            this.overlay.set(
+                    this.embedder.embed(cvrElem, steg.get(i), i + this.sequencePosition),
+                    i + this.sequencePosition);
         }
     }
 
@@ -192,20 +485,19 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
         int bitLen = bLength * 8;
         int maxUnits = this.sequentialMode ? bitLen * 2 : maxCvrLen(bitLen, this.available());
 
-        // Bits represented by cover
-        BitSet cvrRep = new BitSet(maxUnits);
-
         // Get the Bits represented by all Cover Elements
-        for (int i = 0; i < maxUnits; i++) {
-            T cvrObj = this.overlay.get(i + this.sequencePosition);
-            cvrRep.set(i, embedder.representsOne(cvrObj));
-        }
+        BitSet cvrRep = gather(maxUnits, null);
 
-        // build H_hat and parity matrix
-        int[] hHat = build_H_hat(calculateK(maxUnits, bitLen), this.random);
+        byte[] message;
+        if (this.segments == 1) {
+            // build H_hat
+            int[] hHat = nextHHat(calculateK(maxUnits, bitLen));
 
-        // Do matrix multiplication (improved by BitSet) to get message
-        byte[] message = multiply(binRep(hHat), cvrRep, bitLen).toByteArray();
+            // Do matrix multiplication (packed and word-parallel) to get message
+            message = StcEngine.syndrome(cvrRep, bitLen, hHat, this.hatHeight).toByteArray();
+        } else {
+            message = multiplySegmented(cvrRep, bitLen, calculateK(maxUnits, bitLen)).toByteArray();
+        }
 
         // if last bytes are zero bytes (not returned by BitSet)
         if (message.length < bLength) {
@@ -220,7 +512,117 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
     }
 
     /**
-     * Provides the maximum utilizable cover length with respect to payload length in Bit, {@link #HAT_HEIGHT}
+     * <p>Returns the Bits represented by the next {@code cvrLength} Cover Elements and, if {@code rho} is not null,
+     * fills it with the distortion of flipping each of them.</p>
+     * <p>If {@link #parallelism} is greater than 1, the Cover Elements are split into as many contiguous ranges,
+     * which are gathered in parallel on the {@link ForkJoinPool#commonPool() common pool}.</p>
+     * @param cvrLength amount of Cover Elements to gather
+     * @param rho array to store the distortion values in, or null if they are not needed
+     * @return Bits represented by the Cover Elements
+     * @throws EmbedderInputException if the output of the Overlay doesn't match the Input the Embedder requires.
+     */
+    private BitSet gather(int cvrLength, double[] rho) throws EmbedderInputException {
+        boolean[] ones = new boolean[cvrLength];
+        int ranges = Math.min(this.parallelism, cvrLength);
+
+        if (ranges <= 1) {
+            gatherRange(0, cvrLength, ones, rho);
+        } else {
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>(ranges);
+            for (int r = 0; r < ranges; r++) {
+                int from = segmentBound(cvrLength, r, ranges);
+                int to = segmentBound(cvrLength, r + 1, ranges);
+                tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                    gatherRange(from, to, ones, rho);
+                    return null;
+                }));
+            }
+            for (ForkJoinTask<Void> task : tasks)
+                join(task);
+        }
+
+        BitSet cvrRep = new BitSet(cvrLength);
+        for (int i = 0; i < cvrLength; i++) {
+            if (ones[i])
+                cvrRep.set(i);
+        }
+        return cvrRep;
+    }
+
+    /**
+     * Gathers the Cover Elements {@code [from, to)} (relative to {@link #sequencePosition}) for {@link #gather}.
+     * Ranges gathered in parallel write to distinct indices of {@code ones} and {@code rho} only.
+     */
+    private void gatherRange(int from, int to, boolean[] ones, double[] rho) throws EmbedderInputException {
+        if (this.intOverlay != null && (rho == null || this.intDistortion != null)) {
+            gatherIntRange(from, to, ones, rho);
+            return;
+        }
+        if (this.batchEmbedder != null) {
+            gatherBatchRange(from, to, ones, rho);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            T cvrObj = this.overlay.get(i + this.sequencePosition);
+            ones[i] = this.embedder.representsOne(cvrObj);
+            if (rho != null) {
+                T stegObj = this.embedder.flip(cvrObj, i + this.sequencePosition);
+                rho[i] = this.distortion.calculateDistortion(cvrObj, stegObj, i + this.sequencePosition);
+            }
+        }
+    }
+
+    /**
+     * Primitive version of {@link #gatherRange}, used if the Embedder, Overlay and (to gather distortion values)
+     * DistortionFunction are primitive specializations.
+     */
+    private void gatherIntRange(int from, int to, boolean[] ones, double[] rho) throws EmbedderInputException {
+        for (int i = from; i < to; i++) {
+            int cvrElem = this.intOverlay.getInt(i + this.sequencePosition);
+            ones[i] = this.intEmbedder.representsOne(cvrElem);
+            if (rho != null) {
+                int stegElem = this.intEmbedder.flip(cvrElem, i + this.sequencePosition);
+                rho[i] = this.intDistortion.calculateDistortion(cvrElem, stegElem, i + this.sequencePosition);
+            }
+        }
+    }
+
+    /**
+     * Batch version of {@link #gatherRange}, used if the Embedder is a
+     * {@link steganography.image.innerStructure.embedders.BatchEmbedder BatchEmbedder}.
+     */
+    private void gatherBatchRange(int from, int to, boolean[] ones, double[] rho) throws EmbedderInputException {
+        for (int start = from; start < to; start += BATCH_SIZE) {
+            int end = Math.min(to, start + BATCH_SIZE);
+            List<T> cvrElems = getAll(start + this.sequencePosition, end + this.sequencePosition);
+            if (rho == null)
+                this.batchEmbedder.representsOne(cvrElems, ones, start);
+            else
+                this.batchEmbedder.flipCosts(
+                        cvrElems, ones, rho, start, this.distortion, start + this.sequencePosition);
+        }
+    }
+
+    /**
+     * Waits for {@code task} to complete, rethrowing an {@link EmbedderInputException} that caused it to fail.
+     * @param task task to join
+     * @throws EmbedderInputException if the output of the Overlay doesn't match the Input the Embedder requires.
+     */
+    private static void join(ForkJoinTask<?> task) throws EmbedderInputException {
+        try {
+            task.join();
+        } catch (RuntimeException e) {
+            // checked exceptions of submitted Callables are wrapped, possibly more than once
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof EmbedderInputException)
+                    throw (EmbedderInputException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Provides the maximum utilizable cover length with respect to payload length in Bit, {@link #hatHeight}
      * and the pseudorandom build of H_HAT.
      * @param bitLen length of the payload
      * @param available available cover elements
@@ -228,8 +630,8 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      */
     private int maxCvrLen(int bitLen, int available) {
         // H_HATs columns must be different from another, odd, and start with a 1 bit, limiting the possibilities.
-        // So the maximum utilizable cover length is k < ((2 ^ HAT_HEIGHT) / 4)
-        int maxCvrLenPerBit = (int) (Math.pow(2, HAT_HEIGHT - 2) - 1);
+        // So the maximum utilizable cover length is k < ((2 ^ hatHeight) / 4)
+        int maxCvrLenPerBit = (int) (Math.pow(2, this.hatHeight - 2) - 1);
         return Math.min(available*2, bitLen * maxCvrLenPerBit);
     }
 
@@ -243,6 +645,7 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * to use BitSets to minimize resource consumption.</p>
      * <p>Necessary changes have been made, as the Pseudocode algorithm did not necessarily pick the minimum
      * impact path.</p>
+     * <p>The trellis itself is run by this Encoders {@link StcEngine}.</p>
      * @param cvr Bits represented by the Cover Elements before changes
      * @param cvrLen Amount of Cover Elements, as BitSets length calculation ignores trailing zeroes
      * @param message Message bits
@@ -252,69 +655,97 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @return The Steganographic Elements to replace the Cover Elements with.
      */
     protected final BitSet viterbi_stc(BitSet cvr, int cvrLen, BitSet message, int msgLen, double[] rho, int[] h_hat) {
-        if (msgLen > cvrLen)
-            throw new IllegalArgumentException(
-                    String.format("Message (%d) is longer than Cover (%d)", msgLen, cvrLen));
-
-        int w = h_hat.length;
-
-        int stateAmount = (int) Math.pow(2, HAT_HEIGHT);
-        int halfStateAmount = stateAmount / 2;
-
-        BitSet[] path = new BitSet[msgLen * w];
-        for (int i = 0; i < path.length; i++) path[i] = new BitSet();
-
-        // -------------------------------------
-        // forward part of the Viterbi algorithm
-        // -------------------------------------
-        double[] wght = new double[stateAmount];
-        Arrays.fill(wght, Double.POSITIVE_INFINITY);
-        wght[0] = 0;
-
-        int indx = 0;
-        int indm;
-        for (indm = 0; indm < msgLen; indm++) {
-            for (int hh_col : h_hat) {
-                double[] newwght = new double[wght.length];
-                for (int k = 0; k < stateAmount; k++) {
-                    double w0 = wght[k] + (cvr.get(indx) ? rho[indx] : 0);
-                    double w1 = wght[k ^ hh_col] + (cvr.get(indx) ? 0 : rho[indx]);
-                    path[indx].set(k, w1 < w0);
-                    newwght[k] = Math.min(w0, w1);
-                }
-                indx++;
-                wght = newwght;
-            }
+        return this.engine.viterbi(cvr, cvrLen, message, msgLen, rho, h_hat);
+    }
 
-            // prune states
-            for (int j = 0; j < halfStateAmount; j++) {
-                wght[j] = wght[2 * j + (message.get(indm) ? 1 : 0)];
-            }
+    /**
+     * <p>Runs the {@link #viterbi_stc viterbi}-algorithm on independent segments of the message in parallel.</p>
+     * <p>Segment {@code s} covers the message Bits {@code [msgLen*s/n, msgLen*(s+1)/n)} and the corresponding
+     * Cover Elements (k per message Bit), each segment using its own H_hat built from {@link #random}.</p>
+     * @param cvr Bits represented by the Cover Elements before changes
+     * @param message Message bits
+     * @param msgLen Amount of Message Bits
+     * @param rho Distortion values sorted chronologically to the Cover Elements
+     * @param k width of H_hat, Cover Elements per message Bit
+     * @return The Steganographic Elements of all segments, concatenated
+     */
+    private BitSet viterbiSegmented(BitSet cvr, BitSet message, int msgLen, double[] rho, int k) {
+        int segmentAmount = Math.min(this.segments, msgLen);
+        BitSet steg = new BitSet(msgLen * k);
+        if (segmentAmount == 0)
+            return steg;
+
+        List<ForkJoinTask<BitSet>> tasks = new ArrayList<>(segmentAmount);
+        for (int s = 0; s < segmentAmount; s++) {
+            int from = segmentBound(msgLen, s, segmentAmount);
+            int to = segmentBound(msgLen, s + 1, segmentAmount);
+            // H_hats are built in order on this thread, so the segments do not depend on scheduling
+            int[] hHat = nextHHat(k);
+            StcEngine engine = segmentEngine(s);
+
+            tasks.add(ForkJoinPool.commonPool().submit(() -> engine.viterbi(
+                    cvr.get(from * k, to * k), (to - from) * k,
+                    message.get(from, to), to - from,
+                    Arrays.copyOfRange(rho, from * k, to * k), hHat
+            )));
+        }
 
-            for (int j = halfStateAmount; j < stateAmount; j++) {
-                wght[j] = Double.POSITIVE_INFINITY;
-            }
+        for (int s = 0; s < segmentAmount; s++) {
+            int offset = segmentBound(msgLen, s, segmentAmount) * k;
+            BitSet segment = tasks.get(s).join();
+            for (int i = segment.nextSetBit(0); i >= 0; i = segment.nextSetBit(i + 1))
+                steg.set(offset + i);
         }
+        return steg;
+    }
 
-        BitSet y = new BitSet(cvrLen); // stc-encoded message to encode in stego-object
-        int minInd = ArrayUtils.minInd(wght);
-
-        // --------------------------------------
-        // backward part of the Viterbi algorithm
-        // --------------------------------------
-        int state = minInd; // this part was wrong in pseudocode: // int state = 0
-        indx--;
-        for (--indm; indm >= 0; indm--) {
-            state = 2 * state + (message.get(indm) ? 1 : 0); // This part was wrong in pseudocode: executed after for-loop
-            for (int j = w-1; j >= 0; j--) {
-                if (path[indx].get(state)) {
-                    y.set(indx);
-                    state ^= h_hat[j];
-                }
-                indx--;
-            }
+    /**
+     * Decodes the message of independent segments in parallel, symmetrically to {@link #viterbiSegmented}.
+     * @param cvr Bits represented by the Cover Elements
+     * @param msgLen Amount of Message Bits
+     * @param k width of H_hat, Cover Elements per message Bit
+     * @return the message Bits of all segments, concatenated
+     */
+    private BitSet multiplySegmented(BitSet cvr, int msgLen, int k) {
+        int segmentAmount = Math.min(this.segments, msgLen);
+        BitSet message = new BitSet(msgLen);
+        if (segmentAmount == 0)
+            return message;
+
+        List<ForkJoinTask<BitSet>> tasks = new ArrayList<>(segmentAmount);
+        for (int s = 0; s < segmentAmount; s++) {
+            int from = segmentBound(msgLen, s, segmentAmount);
+            int to = segmentBound(msgLen, s + 1, segmentAmount);
+            int[] hHat = nextHHat(k);
+
+            tasks.add(ForkJoinPool.commonPool().submit(
+                    () -> StcEngine.syndrome(cvr.get(from * k, to * k), to - from, hHat, this.hatHeight)));
         }
-        return y;
+
+        for (int s = 0; s < segmentAmount; s++) {
+            int offset = segmentBound(msgLen, s, segmentAmount);
+            BitSet segment = tasks.get(s).join();
+            for (int i = segment.nextSetBit(0); i >= 0; i = segment.nextSetBit(i + 1))
+                message.set(offset + i);
+        }
+        return message;
+    }
+
+    /**
+     * @return the first index of segment {@code s}, when splitting {@code length} indices into {@code segmentAmount}
+     *         contiguous segments (message Bits or Cover Elements)
+     */
+    private static int segmentBound(int length, int s, int segmentAmount) {
+        return (int) ((long) length * s / segmentAmount);
+    }
+
+    /**
+     * @return the trellis engine of segment {@code s}, creating it if necessary
+     */
+    private StcEngine segmentEngine(int s) {
+        if (this.segmentEngines[s] == null)
+            this.segmentEngines[s] = StcEngine.create(this.hatHeight, this.engine.getPrecision());
+        return this.segmentEngines[s];
     }
 
     /**
@@ -329,10 +760,11 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
     }
 
     /**
-     * <p>Returns the integer representation of a matrix in binary representation (see {@link #binRep})</p>
+     * <p>Returns the integer representation of a matrix in binary representation.</p>
      * <p>The integers are returned as an array, each integer representing the binary values of each column.</p>
      * <p>The first row of {@code binRep} is treated as the respective least significant bits.</p>
-     * @param binRep a binary matrix as described by {@link #binRep}.
+     * @param binRep a binary matrix of 0s and 1s, holding one number per column with its least significant bit in
+     *               the first row
      * @return an integer array representing the columns of binary values in {@code binRep}.
      */
     private int[] intRep(int[][] binRep) {
@@ -347,42 +779,10 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
         return intRep;
     }
 
-    /**
-     * <p>Returns the binary representation of a matrix in integer representation (see {@link #intRep})</p>
-     * <p>The numbers are represented in columns, the first row representing the least significant Bit respectively.</p>
-     * <p>The width of the resulting matrix is equal to {@code intRep.length}, the height is determined
-     * by the maximum integer (as if by {@code h = floor(log2(max(intRep))) + 1})</p>
-     * <p>The maximum integer can therefore not be smaller than 1. Integers are treated as absolute.</p>
-     * @param intRep the integer representation of a binary matrix {@link #intRep} or any {@code int[]}
-     *               #where {@code max >= 1}
-     * @return a binary matrix representing the integers in its columns, the first row being the LSB
-     */
-    private int[][] binRep(int[] intRep) {
-        int max = ArrayUtils.max(intRep);
-
-        if (Math.abs(max) < 1)
-            throw new IllegalArgumentException("Maximum integer value is smaller than 1");
-
-        int maxBinLength = Double.valueOf(Math.log(max) / Math.log(2)).intValue() + 1;
-
-        int[] intCp = new int[intRep.length];
-        System.arraycopy(intRep, 0, intCp, 0, intRep.length);
-
-        int[][] binRep = new int[maxBinLength][intCp.length];
-
-        for (int i = 0; i < maxBinLength; i++) {
-            for (int j = 0; j < intCp.length; j++) {
-                binRep[i][j] = intCp[j] % 2;
-                intCp[j] /= 2;
-            }
-        }
-        return binRep;
-    }
-
     /**
      * <p>WARNING: Legacy code! Using method {@link #buildParityMatrix} to build parameter {@code matrix}
      * can cause {@link OutOfMemoryError} with long messages. Kept as educational code.
-     * Use {@link #multiply(int[][], BitSet, int)} instead.</p>
+     * Use {@link StcEngine#syndrome} instead.</p>
      * <p>Calculates a matrix x vector (Hy = m) multiplication using BitSets and returns the result (m).</p>
      * <p>Although this multplication saves resources, a dimension comparison
      * ({@code matrix[0].length == vector.length}) is not possible due to BitSets ignoring trailing
@@ -402,34 +802,35 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
     }
 
     /**
-     * <p>Calculates a Hhat x vector (Hy = m) multiplication using BitSets and returns the result (m).</p>
-     * <p>Although this multplication saves resources, a dimension comparison
-     * ({@code Hhat[0].length == vector.length}) is not possible due to BitSets ignoring trailing
-     * zeros in their length calculation.</p>
-     * <p>Callers should be mindful of that fact and ensure correct dimensions beforehand.</p>
-     * @param Hhat Matrix to be multiplied by {@code vector}
-     * @param vector vector to multiply the {@code Hhat} with
-     * @return the resulting vector of length {@code Hhat.length}
-     */
-    private BitSet multiply(int[][] Hhat, BitSet vector, int msgLength) {
-        int h = Hhat.length;
-        int w = Hhat[0].length;
-        BitSet bits = new BitSet(vector.length());
-
-        BitSet res = new BitSet(h);
-        for (int i = 0; i < msgLength; i++) {
-            bits.clear();
-
-            for (int j = 0; j < h && (i-j) >= 0; j++) {
-                for (int k = 0; k < w; k++) {
-                    bits.set((i-j) * w + k, Hhat[j][k] > 0);
-                }
-            }
+     * Replaces the {@link HHatCache#shared() shared HHatCache} of this encoder, so tests can observe a cache no
+     * other encoder uses.
+     * @param cache cache to look up and store H_hats in
+     */
+    void setHHatCache(HHatCache cache) {
+        this.hHatCache = Objects.requireNonNull(cache);
+    }
 
-            bits.and(vector);
-            res.set(i, bits.cardinality() % 2 == 1);
+    /**
+     * <p>Returns the next H_hat of width {@code k}, as {@link #build_H_hat built} from {@link #random}.</p>
+     * <p>As every column consumes exactly one value of {@link #random}, the H_hat is determined by the seed, the
+     * amount of columns drawn before, k and the constraint height. It is looked up in {@link #hHatCache} and only
+     * built on a miss. On a hit, {@link #random} skips the
+     * columns instead, to stay in sync for subsequent calls.</p>
+     * @param k width of the matrix
+     * @return an integer array representing a Submatrix, which must not be modified
+     */
+    private int[] nextHHat(int k) {
+        HHatCache cache = this.hHatCache;
+        int[] hHat = cache.get(this.seed, this.drawnColumns, k, this.hatHeight);
+        if (hHat == null) {
+            hHat = build_H_hat(k, this.random);
+            cache.put(this.seed, this.drawnColumns, k, this.hatHeight, hHat);
+        } else {
+            for (int i = 0; i < k; i++)
+                this.random.nextInt(this.maxIntNotation);
         }
-        return res;
+        this.drawnColumns += k;
+        return hHat;
     }
 
     /**
@@ -442,18 +843,18 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
      * @return an integer array representing a Submatrix (see above) in its integer representation
      */
     private int[] build_H_hat(int k, Random random) {
-        if (k >= MAX_INT_NOTATION / 4)
-            throw new IllegalArgumentException("k must not be greater than or equal to 2^(HAT_HEIGHT-2)");
+        if (k >= this.maxIntNotation / 4)
+            throw new IllegalArgumentException("k must not be greater than or equal to 2^(hatHeight-2)");
 
         Set<Integer> intSet = new HashSet<>();
         int[] intRep = new int[k];
         for (int i = 0; i < k; i++) {
             // random value, but most and least significant bits set to 1
-            int colVal = random.nextInt(MAX_INT_NOTATION) | (1 << HAT_HEIGHT-1) | 1;
+            int colVal = random.nextInt(this.maxIntNotation) | (1 << this.hatHeight-1) | 1;
             // avoid duplicates by searching for gap
             while (!intSet.add(colVal)) {
                 // keep value odd and most significant bit as 1
-                colVal = ((colVal + 2) % MAX_INT_NOTATION) | (1 << HAT_HEIGHT-1);
+                colVal = ((colVal + 2) % this.maxIntNotation) | (1 << this.hatHeight-1);
             }
             intRep[i] = colVal;
         }
@@ -463,7 +864,7 @@ public class StcEncoder<T> extends DistortionEncoder<T> {
 
     /**
      * <p>WARNING: Legacy code! Using this method can cause {@link OutOfMemoryError} with long messages.
-     * Kept as educational code. If you use {@link #multiply(int[][], BitSet, int)}, you will not need
+     * Kept as educational code. If you use {@link StcEngine#syndrome}, you will not need
      * the full parity check matrix.</p>
      * <p>Builds and returns a parity matrix from a Submatrix {@code H_hat} (as could be constructed by
      * {@link #build_H_hat build_H_hat}) and the given dimensions, where
@@ -0,0 +1,349 @@
+package steganography.image.innerStructure.encoders.wrappers;
+
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.operation.reedsolomon.GenericGF;
+import steganography.image.operation.reedsolomon.ReedSolomonDecoder;
+import steganography.image.operation.reedsolomon.ReedSolomonEncoder;
+import steganography.image.operation.reedsolomon.ReedSolomonException;
+import steganography.util.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>Reed-Solomon error correction like {@link ReedSolomon}, but for payloads of any length. {@link ReedSolomon}
+ * encodes the whole payload as one codeword, which can not be longer than the 255 non-zero elements of
+ * {@link GenericGF#DATA_MATRIX_FIELD_256}, and takes quadratic time to decode.</p>
+ * <p>This class splits the payload into as few blocks as possible, whose codewords (data and redundancy) are at most
+ * 255 Byte long, and balances their lengths. Each block gets the same share of redundancy as the payload in
+ * {@link ReedSolomon}, and is en- and decoded independently. Ranges of blocks are processed in parallel on the
+ * {@link ForkJoinPool#commonPool() common pool}.</p>
+ * <p>The codewords are interleaved: the wrapped Encoder receives the first Byte of every codeword, then the second
+ * one and so on. Burst errors, like those of adjacent Cover Elements damaged by JPEG compression, are therefore
+ * spread over many codewords.</p>
+ * <p>For payloads fitting into one block, the wrapped Encoder receives the same bytes as from {@link ReedSolomon}.
+ * Longer payloads have to be decoded by an InterleavedReedSolomon with the same error rate.</p>
+ */
+public class InterleavedReedSolomon implements Encoder {
+
+    /**
+     * Maximum length of a codeword in Byte, which is the amount of non-zero elements of {@link #galoisField}
+     */
+    public static final int MAX_CODEWORD_LENGTH = 255;
+
+    private static final GenericGF galoisField = GenericGF.DATA_MATRIX_FIELD_256;
+
+    protected final Encoder enDecoder;
+
+    private final float errorRate;
+    private final int parallelism;
+
+    /**
+     * Maximum length of the data of a block in Byte, so its codeword is at most {@link #MAX_CODEWORD_LENGTH} long
+     */
+    private final int maxDataLength;
+
+    /**
+     * Creates an InterleavedReedSolomon, preparing for an error rate of .5 and processing blocks with the
+     * parallelism of the {@link ForkJoinPool#commonPool() common pool}.
+     * @param enDecoder Encoder to embed the codewords with
+     */
+    public InterleavedReedSolomon(Encoder enDecoder) {
+        this(enDecoder, .5f);
+    }
+
+    /**
+     * Creates an InterleavedReedSolomon, processing blocks with the parallelism of the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     * @param enDecoder Encoder to embed the codewords with
+     * @param prepErrorRate rate of erroneous Bytes to prepare for, between 0 and 1 (both inclusive), like in
+     *                      {@link ReedSolomon}
+     * @throws IllegalArgumentException if {@code prepErrorRate} is out of bounds
+     */
+    public InterleavedReedSolomon(Encoder enDecoder, float prepErrorRate) {
+        this(enDecoder, prepErrorRate, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param enDecoder Encoder to embed the codewords with
+     * @param prepErrorRate rate of erroneous Bytes to prepare for, between 0 and 1 (both inclusive), like in
+     *                      {@link ReedSolomon}
+     * @param parallelism amount of ranges of blocks to en- and decode in parallel, at least 1. The result does not
+     *                    depend on it.
+     * @throws IllegalArgumentException if {@code prepErrorRate} or {@code parallelism} is out of bounds
+     */
+    public InterleavedReedSolomon(Encoder enDecoder, float prepErrorRate, int parallelism) {
+        this.enDecoder = enDecoder;
+
+        if (prepErrorRate > 1 || prepErrorRate < 0)
+            throw new IllegalArgumentException("The prepared error rate must be between 0 and 1 (both inclusive)");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        this.errorRate = prepErrorRate;
+        this.parallelism = parallelism;
+
+        int dataLength = MAX_CODEWORD_LENGTH;
+        while (dataLength + redundancy(dataLength) > MAX_CODEWORD_LENGTH)
+            dataLength--;
+        this.maxDataLength = dataLength;
+    }
+
+    private int redundancy(double payloadLength) {
+        return 2 * Double.valueOf(Math.ceil(payloadLength * errorRate)).intValue();
+    }
+
+    /**
+     * @param payloadLength length of the payload in Byte
+     * @return lengths of the data of all blocks in Byte, differing by one at most
+     */
+    private int[] dataLengths(int payloadLength) {
+        int blocks = blocks(payloadLength);
+        int[] lengths = new int[blocks];
+        for (int b = 0; b < blocks; b++)
+            lengths[b] = payloadLength / blocks + (b < payloadLength % blocks ? 1 : 0);
+        return lengths;
+    }
+
+    /**
+     * @param payloadLength length of the payload in Byte
+     * @return amount of blocks the payload is split into
+     */
+    private int blocks(int payloadLength) {
+        return Math.max(1, (payloadLength + this.maxDataLength - 1) / this.maxDataLength);
+    }
+
+    /**
+     * @param payloadLength length of the payload in Byte
+     * @return length of all codewords of the payload in Byte, as calculated from {@link #dataLengths}
+     */
+    private int codewordsLength(int payloadLength) {
+        int blocks = blocks(payloadLength);
+        int dataLength = payloadLength / blocks;
+        int longerBlocks = payloadLength % blocks;
+        return payloadLength
+                + longerBlocks * redundancy(dataLength + 1)
+                + (blocks - longerBlocks) * redundancy(dataLength);
+    }
+
+    @Override
+    public void encode(byte[] payload) throws ImageCapacityException, EncoderException {
+        encode(payload, DEFAULT_SEED);
+    }
+
+    @Override
+    public void encode(byte[] payload, long seed) throws ImageCapacityException, EncoderException {
+        int available = this.available();
+        int bitLen = payload.length * 8;
+        if (bitLen > available)
+            throw new ImageCapacityException(String.format(
+                    "Payload (%d) is longer than (remaining) Image capacity (%d) (error correction " +
+                            "included in calculation)",
+                    bitLen, available));
+
+        int[] dataLengths = dataLengths(payload.length);
+        int[][] codewords = new int[dataLengths.length][];
+        int offset = 0;
+        for (int b = 0; b < codewords.length; b++) {
+            codewords[b] = new int[dataLengths[b] + redundancy(dataLengths[b])];
+            for (int i = 0; i < dataLengths[b]; i++)
+                codewords[b][i] = payload[offset + i] & 0xff;
+            offset += dataLengths[b];
+        }
+
+        try {
+            forEachRange(codewords.length, (from, to) -> {
+                ReedSolomonEncoder rsEncoder = new ReedSolomonEncoder(galoisField);
+                for (int b = from; b < to; b++) {
+                    if (hasRedundancy(codewords[b], dataLengths[b]))
+                        rsEncoder.encode(codewords[b], codewords[b].length - dataLengths[b]);
+                }
+            });
+        } catch (ReedSolomonException e) {
+            // encoding does not throw ReedSolomonExceptions
+            throw new IllegalStateException(e);
+        }
+
+        int[] interleaved = interleave(codewords);
+        this.enDecoder.encode(ArrayUtils.ints2Bytes(interleaved, new byte[interleaved.length]), seed);
+    }
+
+    @Override
+    public byte[] decode(int bLength) throws DamagedMessageException, EncoderException, ImageCapacityException {
+        return decode(bLength, DEFAULT_SEED);
+    }
+
+    @Override
+    public byte[] decode(int bLength, long seed)
+            throws DamagedMessageException, EncoderException, ImageCapacityException {
+
+        int[] dataLengths = dataLengths(bLength);
+        int[][] codewords = new int[dataLengths.length][];
+        int length = 0;
+        for (int b = 0; b < codewords.length; b++) {
+            codewords[b] = new int[dataLengths[b] + redundancy(dataLengths[b])];
+            length += codewords[b].length;
+        }
+
+        byte[] msg = this.enDecoder.decode(length, seed);
+        deinterleave(ArrayUtils.bytes2Ints(msg, new int[msg.length]), codewords);
+
+        try {
+            forEachRange(codewords.length, (from, to) -> {
+                ReedSolomonDecoder rsDecoder = new ReedSolomonDecoder(galoisField);
+                for (int b = from; b < to; b++) {
+                    if (hasRedundancy(codewords[b], dataLengths[b]))
+                        rsDecoder.decode(codewords[b], codewords[b].length - dataLengths[b]);
+                }
+            });
+        } catch (ReedSolomonException e) {
+            throw new DamagedMessageException("Message contains too many errors to be decoded: " + e.getMessage());
+        }
+
+        byte[] payload = new byte[bLength];
+        int offset = 0;
+        for (int b = 0; b < codewords.length; b++) {
+            for (int i = 0; i < dataLengths[b]; i++)
+                payload[offset + i] = (byte) codewords[b][i];
+            offset += dataLengths[b];
+        }
+        return payload;
+    }
+
+    /**
+     * <p>Returns the length of the longest payload whose codewords fit into the capacity of the wrapped Encoder.</p>
+     * <p>Every block rounds its redundancy up, so a payload split into one more block may fit where a slightly
+     * shorter one does not. The length is therefore searched for every amount of blocks separately, starting with
+     * the most blocks a payload with the redundancy of {@link ReedSolomon} could fit into.</p>
+     * @return length of the longest payload in Bit
+     */
+    @Override
+    public int available() {
+        int capacity = this.enDecoder.available() / 8;
+
+        // the redundancy of all blocks is at least the one of the whole payload
+        int longest = lastMatching(0, capacity, length -> length + redundancy(length) <= capacity);
+
+        // with the same amount of blocks, the codewords grow with the payload
+        int blocks = blocks(longest);
+        while (blocks > 1 && codewordsLength((blocks - 1) * this.maxDataLength + 1) > capacity)
+            blocks--;
+        int from = blocks > 1 ? (blocks - 1) * this.maxDataLength + 1 : 0;
+        int to = Math.min(longest, blocks * this.maxDataLength);
+        return 8 * lastMatching(from, to, length -> codewordsLength(length) <= capacity);
+    }
+
+    /**
+     * @param from value matching {@code predicate}
+     * @param to greatest value to test, at least {@code from}
+     * @param predicate predicate matching all values up to some value in {@code [from, to]} and none after it
+     * @return greatest value in {@code [from, to]} matching {@code predicate}
+     */
+    private static int lastMatching(int from, int to, IntPredicate predicate) {
+        while (from < to) {
+            int middle = from + (to - from + 1) / 2;
+            if (predicate.test(middle))
+                from = middle;
+            else
+                to = middle - 1;
+        }
+        return from;
+    }
+
+    /**
+     * @return true if the codeword has data and redundancy, as the Reed-Solomon implementation requires both
+     */
+    private static boolean hasRedundancy(int[] codeword, int dataLength) {
+        return dataLength > 0 && codeword.length > dataLength;
+    }
+
+    /**
+     * @return the Bytes of all codewords, ordered by their index within their codeword first and by their codeword
+     * second
+     */
+    private static int[] interleave(int[][] codewords) {
+        int length = 0;
+        for (int[] codeword : codewords)
+            length += codeword.length;
+
+        int[] interleaved = new int[length];
+        int position = 0;
+        for (int i = 0; position < length; i++) {
+            for (int[] codeword : codewords) {
+                if (i < codeword.length)
+                    interleaved[position++] = codeword[i];
+            }
+        }
+        return interleaved;
+    }
+
+    /**
+     * Reverses {@link #interleave}, filling the provided {@code codewords}.
+     */
+    private static void deinterleave(int[] interleaved, int[][] codewords) {
+        int position = 0;
+        for (int i = 0; position < interleaved.length; i++) {
+            for (int[] codeword : codewords) {
+                if (i < codeword.length)
+                    codeword[i] = interleaved[position++];
+            }
+        }
+    }
+
+    /**
+     * <p>Runs {@code task} for contiguous ranges of the blocks {@code [0, blocks)}.</p>
+     * <p>If {@link #parallelism} and {@code blocks} are greater than 1, the blocks are split into as many ranges as
+     * possible, which are run in parallel on the {@link ForkJoinPool#commonPool() common pool}.</p>
+     * @throws ReedSolomonException the first exception thrown by {@code task}, in order of the ranges
+     */
+    private void forEachRange(int blocks, RangeTask task) throws ReedSolomonException {
+        int ranges = Math.min(this.parallelism, blocks);
+        if (ranges <= 1) {
+            task.run(0, blocks);
+            return;
+        }
+
+        List<ForkJoinTask<Void>> tasks = new ArrayList<>(ranges);
+        for (int r = 0; r < ranges; r++) {
+            int from = (int) ((long) blocks * r / ranges);
+            int to = (int) ((long) blocks * (r + 1) / ranges);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                task.run(from, to);
+                return null;
+            }));
+        }
+        for (ForkJoinTask<Void> forkJoinTask : tasks)
+            join(forkJoinTask);
+    }
+
+    /**
+     * Waits for {@code task} to complete, rethrowing a {@link ReedSolomonException} that caused it to fail.
+     * @param task task to join
+     * @throws ReedSolomonException if a block could not be decoded
+     */
+    private static void join(ForkJoinTask<?> task) throws ReedSolomonException {
+        try {
+            task.join();
+        } catch (RuntimeException e) {
+            // checked exceptions of submitted Callables are wrapped, possibly more than once
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ReedSolomonException)
+                    throw (ReedSolomonException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * En- or decodes the blocks {@code [from, to)}
+     */
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to) throws ReedSolomonException;
+    }
+}
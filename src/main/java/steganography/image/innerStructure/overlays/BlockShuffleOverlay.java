@@ -46,13 +46,11 @@ public class BlockShuffleOverlay extends ShuffleOverlay<int[]> {
 
     @Override
     protected int[] getRGB(int x, int y) {
-        int[] cValues = new int[csl * csl];
-        bufferedImage.getRGB(x, y, csl, csl, cValues, 0, csl);
-        return cValues;
+        return pixels.getRGB(x, y, csl, csl, new int[csl * csl]);
     }
 
     @Override
     protected void setRGB(int x, int y, int[] value) {
-        bufferedImage.setRGB(x, y, csl, csl, value, 0, csl);
+        pixels.setRGB(x, y, csl, csl, value);
     }
 }
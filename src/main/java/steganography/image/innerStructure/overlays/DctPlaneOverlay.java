@@ -0,0 +1,63 @@
+package steganography.image.innerStructure.overlays;
+
+import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.innerStructure.overlays.abstracts.SequenceOverlay;
+import steganography.image.operation.dct.DctPlane;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Overlay of 8x8 blocks, keeping a {@link DctPlane} of the same image up to date. Blocks are read and
+ * written through the provided {@link SequenceOverlay}, every written block is {@link DctPlane#update updated} in
+ * the DctPlane.</p>
+ * <p>Embedders and Distortion Functions knowing the position of a Cover Element can read its coefficients from the
+ * DctPlane at {@link #blockIndex(int)}, instead of transforming the block again.</p>
+ */
+public class DctPlaneOverlay implements BuffImgOverlay<int[]> {
+
+    private final SequenceOverlay<int[]> overlay;
+    private final DctPlane plane;
+
+    /**
+     * @param overlay overlay of blocks with a side length of 8 to read and write the blocks with
+     * @param plane DctPlane of the image of {@code overlay}
+     */
+    public DctPlaneOverlay(SequenceOverlay<int[]> overlay, DctPlane plane) {
+        this.overlay = overlay;
+        this.plane = plane;
+    }
+
+    /**
+     * @param position refers to the position / index in the order of this overlay
+     * @return index of the block at {@code position} in the {@link DctPlane}
+     * @throws NoSuchElementException if {@code position} refers to a position outside the scope of the overlay.
+     */
+    public int blockIndex(int position) {
+        if (position < 0 || position >= this.overlay.available())
+            throw new NoSuchElementException("No chunk at intended position");
+        return this.plane.blockIndex(this.overlay.calcX(position), this.overlay.calcY(position));
+    }
+
+    /**
+     * @return the DctPlane kept up to date by this overlay
+     */
+    public DctPlane getPlane() {
+        return this.plane;
+    }
+
+    @Override
+    public int[] get(int position) throws NoSuchElementException {
+        return this.overlay.get(position);
+    }
+
+    @Override
+    public void set(int[] value, int position) throws NoSuchElementException {
+        this.overlay.set(value, position);
+        this.plane.update(blockIndex(position), value);
+    }
+
+    @Override
+    public int available() {
+        return this.overlay.available();
+    }
+}
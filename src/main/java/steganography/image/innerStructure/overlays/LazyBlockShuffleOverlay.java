@@ -0,0 +1,54 @@
+package steganography.image.innerStructure.overlays;
+
+import steganography.image.innerStructure.overlays.abstracts.LazyShuffleOverlay;
+
+import java.awt.image.BufferedImage;
+import java.util.function.Predicate;
+
+public class LazyBlockShuffleOverlay extends LazyShuffleOverlay<int[]> {
+
+    /**
+     * <p>Creates a {@link LazyShuffleOverlay} that returns Pixels of a square area of the underlying
+     * {@link BufferedImage BufferedImage} ({@code BI}) in a random order, where the order is determined by the
+     * provided {@code seed} and computed on demand. The size of the area is determined by {@code csl},
+     * representing the length of one side of the square.</p>
+     * <p>{@code Position} in this overlay refers to the top-leftmost pixel of a square.</p>
+     * <p>This Overlay tries to match any visited item of the underlying BufferedImage with a provided
+     * {@link Predicate condition}. If the condition fails, the item is skipped.</p>
+     *
+     * @param bufferedImage   the {@link BufferedImage BufferedImage} to represent the pixels of.
+     * @param seed            Long to be used to affect the randomization of pixelorder.
+     * @param chunkSideLength Length of one side of the chunk (same as sqrt(chunk.size)).
+     * @param condition condition to match all cover elements with
+     */
+    public LazyBlockShuffleOverlay(BufferedImage bufferedImage, long seed, int chunkSideLength,
+                                   Predicate<int[]> condition) {
+        super(bufferedImage, seed, chunkSideLength, condition);
+    }
+
+    /**
+     * <p>Creates a {@link LazyShuffleOverlay} that returns Pixels of a square area of the underlying
+     * {@link BufferedImage BufferedImage} ({@code BI}) in a random order, where the order is determined by the
+     * provided {@code seed} and computed on demand. The size of the area is determined by {@code csl},
+     * representing the length of one side of the square.</p>
+     * <p>{@code Position} in this overlay refers to the top-leftmost pixel of a square.</p>
+     * <p>Using this constructor will lead to ignoring transparency in the image.</p>
+     *
+     * @param bufferedImage   the {@link BufferedImage BufferedImage} to represent the pixels of.
+     * @param seed            Long to be used to affect the randomization of pixelorder.
+     * @param chunkSideLength Length of one side of the chunk (same as sqrt(chunk.size)).
+     */
+    public LazyBlockShuffleOverlay(BufferedImage bufferedImage, long seed, int chunkSideLength) {
+        this(bufferedImage, seed, chunkSideLength, null);
+    }
+
+    @Override
+    protected int[] getRGB(int x, int y) {
+        return pixels.getRGB(x, y, csl, csl, new int[csl * csl]);
+    }
+
+    @Override
+    protected void setRGB(int x, int y, int[] value) {
+        pixels.setRGB(x, y, csl, csl, value);
+    }
+}
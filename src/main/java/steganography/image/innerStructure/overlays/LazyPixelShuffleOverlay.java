@@ -0,0 +1,69 @@
+package steganography.image.innerStructure.overlays;
+
+import steganography.image.innerStructure.overlays.abstracts.IntCondition;
+import steganography.image.innerStructure.overlays.abstracts.IntOverlay;
+import steganography.image.innerStructure.overlays.abstracts.LazyShuffleOverlay;
+
+import java.awt.image.BufferedImage;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class LazyPixelShuffleOverlay extends LazyShuffleOverlay<Integer> implements IntOverlay {
+    /**
+     * <p>Creates a {@link LazyShuffleOverlay} that returns Pixels of the underlying BufferedImage in a random order
+     * determined by the seed that is given to its constructor and computed on demand.</p>
+     * <p>This Overlay tries to match any visited item of the underlying BufferedImage with a provided
+     * {@link Predicate condition}. If the condition fails, the item is skipped.</p>
+     *
+     * @param bufferedImage   the {@link BufferedImage BufferedImage} to represent the pixels of.
+     * @param seed            Long to be used to affect the randomization of pixelorder.
+     * @param condition condition to match all cover elements with
+     */
+    public LazyPixelShuffleOverlay(BufferedImage bufferedImage, long seed, Predicate<Integer> condition) {
+        super(bufferedImage, seed, 1, condition);
+    }
+
+    /**
+     * Creates a {@link LazyShuffleOverlay} that returns Pixels of the underlying BufferedImage in a random order
+     * determined by the seed that is given to its constructor and computed on demand.
+     *
+     * @param bufferedImage   the {@link BufferedImage BufferedImage} to represent the pixels of.
+     * @param seed            Long to be used to affect the randomization of pixelorder.
+     */
+    public LazyPixelShuffleOverlay(BufferedImage bufferedImage, long seed) {
+        this(bufferedImage, seed, null);
+    }
+
+    @Override
+    protected Integer getRGB(int x, int y) {
+        return this.pixels.getRGB(x, y);
+    }
+
+    @Override
+    protected void setRGB(int x, int y, Integer value) {
+        this.pixels.setRGB(x, y, value);
+    }
+
+    @Override
+    public int getInt(int position) {
+        return this.pixels.getRGB(calcX(position), calcY(position));
+    }
+
+    /**
+     * {@link #chunkAt} checks the position, without visiting all chunks like {@link #available()}.
+     */
+    @Override
+    public void setInt(int value, int position) throws NoSuchElementException {
+        this.pixels.setRGB(calcX(position), calcY(position), value);
+    }
+
+    /**
+     * Tests {@link IntCondition IntConditions} without boxing the pixel.
+     */
+    @Override
+    protected boolean passes(Predicate<Integer> condition, int x, int y) {
+        if (condition instanceof IntCondition)
+            return ((IntCondition) condition).test(this.pixels.getRGB(x, y));
+        return super.passes(condition, x, y);
+    }
+}
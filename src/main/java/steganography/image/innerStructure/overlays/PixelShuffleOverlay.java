@@ -1,11 +1,14 @@
 package steganography.image.innerStructure.overlays;
 
+import steganography.image.innerStructure.overlays.abstracts.IntCondition;
+import steganography.image.innerStructure.overlays.abstracts.IntOverlay;
 import steganography.image.innerStructure.overlays.abstracts.ShuffleOverlay;
 
 import java.awt.image.BufferedImage;
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
-public class PixelShuffleOverlay extends ShuffleOverlay<Integer> {
+public class PixelShuffleOverlay extends ShuffleOverlay<Integer> implements IntOverlay {
     /**
      * <p>Creates a ShuffleOverlay that returns Pixels of the underlying BufferedImage in a random order
      * determined by the seed that is given to its constructor.</p>
@@ -35,11 +38,34 @@ public class PixelShuffleOverlay extends ShuffleOverlay<Integer> {
 
     @Override
     protected Integer getRGB(int x, int y) {
-        return this.bufferedImage.getRGB(x, y);
+        return this.pixels.getRGB(x, y);
     }
 
     @Override
     protected void setRGB(int x, int y, Integer value) {
-        this.bufferedImage.setRGB(x, y, value);
+        this.pixels.setRGB(x, y, value);
+    }
+
+    @Override
+    public int getInt(int position) {
+        return this.pixels.getRGB(calcX(position), calcY(position));
+    }
+
+    @Override
+    public void setInt(int value, int position) throws NoSuchElementException {
+        if (position < 0 || position >= this.available()) {
+            throw new NoSuchElementException("No chunk at intended position");
+        }
+        this.pixels.setRGB(calcX(position), calcY(position), value);
+    }
+
+    /**
+     * Tests {@link IntCondition IntConditions} without boxing the pixel.
+     */
+    @Override
+    protected boolean passes(Predicate<Integer> condition, int x, int y) {
+        if (condition instanceof IntCondition)
+            return ((IntCondition) condition).test(this.pixels.getRGB(x, y));
+        return super.passes(condition, x, y);
     }
 }
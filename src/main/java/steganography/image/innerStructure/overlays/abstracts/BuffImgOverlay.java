@@ -7,6 +7,10 @@ import java.util.NoSuchElementException;
  * {@link java.awt.image.BufferedImage BufferedImage}.</p>
  * <p>Overlays abstract the coordinates and replace them with a sequential position.
  * The order of the sequence is determined by the implementation.</p>
+ * <p>Encoders may call {@link #get} concurrently from multiple threads (see
+ * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}), but never concurrently to
+ * {@link #set}. Implementations to be used this way must not modify any state in {@link #get}. Overlays reading
+ * from a {@link java.awt.image.BufferedImage BufferedImage} without caching fulfill this contract.</p>
  * @param <T> Object representing a number of pixels
  */
 public interface BuffImgOverlay<T> {
@@ -36,4 +40,15 @@ public interface BuffImgOverlay<T> {
      * @return number of remaining values
      */
     int available();
+
+    /**
+     * <p>Returns true if at least {@code amount} values are available, like {@code amount <= available()}.</p>
+     * <p>Overlays computing their order on demand may answer this by visiting the first {@code amount} values
+     * only (see {@link LazyShuffleOverlay}).</p>
+     * @param amount number of values needed
+     * @return true if at least {@code amount} values are available
+     */
+    default boolean hasAvailable(int amount) {
+        return amount <= available();
+    }
 }
@@ -2,11 +2,19 @@ package steganography.image.innerStructure.overlays.abstracts;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Predicate;
 
 public abstract class ConditionedOverlay<T> extends SequenceOverlay<T> {
 
+    /**
+     * Amount of chunks tested against the condition by one task
+     */
+    private static final int RANGE_SIZE = 4096;
+
     private final Predicate<T> condition;
 
     /**
@@ -26,6 +34,9 @@ public abstract class ConditionedOverlay<T> extends SequenceOverlay<T> {
      * <p>This Overlay tries to match any item of the underlying BufferedImage with a provided
      * {@link Predicate condition}. If the condition fails, the item is removed from the sequence.</p>
      * <p>Providing {@code condition = null} essentially creates a {@link SequenceOverlay}.</p>
+     * <p>The items of large images are tested in parallel on the {@link ForkJoinPool#commonPool() common pool},
+     * so the condition must be safe to test concurrently. The resulting order does not depend on the amount
+     * of threads.</p>
      *
      * @param bufferedImage the BufferedImage to represent the pixels of.
      * @param csl           Length of one side of the chunk (same as sqrt(chunk.size)).
@@ -47,13 +58,50 @@ public abstract class ConditionedOverlay<T> extends SequenceOverlay<T> {
      * Iterates through Blocks after creating the base order, copying all Blocks that
      * do not include a pixel with Alpha-channel == 0. Other Blocks will be ignored,
      * effectively removing them from this overlay.
+     * Ranges of {@link #RANGE_SIZE} Blocks are tested in parallel and joined in order.
      */
     private void removeFailingConditions() {
-        List<Integer> newChunkOrder = new ArrayList<>();
-        for (int i = 0; i < this.available(); i++) {
-            if (this.condition.test(this.get(i)))
-                newChunkOrder.add(i);
+        int amount = this.available();
+        int ranges = (amount + RANGE_SIZE - 1) / RANGE_SIZE;
+
+        if (ranges <= 1) {
+            this.chunkOrder = testRange(0, amount);
+            return;
+        }
+
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<>(ranges);
+        for (int r = 0; r < ranges; r++) {
+            int from = r * RANGE_SIZE;
+            int to = Math.min(amount, from + RANGE_SIZE);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> testRange(from, to)));
+        }
+
+        int[][] passing = new int[ranges][];
+        int length = 0;
+        for (int r = 0; r < ranges; r++) {
+            passing[r] = tasks.get(r).join();
+            length += passing[r].length;
+        }
+
+        int[] newChunkOrder = new int[length];
+        int offset = 0;
+        for (int[] range : passing) {
+            System.arraycopy(range, 0, newChunkOrder, offset, range.length);
+            offset += range.length;
         }
         this.chunkOrder = newChunkOrder;
     }
+
+    /**
+     * @return the positions in {@code [from, to)} whose Blocks pass the condition, in ascending order
+     */
+    private int[] testRange(int from, int to) {
+        int[] newChunkOrder = new int[to - from];
+        int amount = 0;
+        for (int i = from; i < to; i++) {
+            if (passes(this.condition, calcX(i), calcY(i)))
+                newChunkOrder[amount++] = i;
+        }
+        return Arrays.copyOf(newChunkOrder, amount);
+    }
 }
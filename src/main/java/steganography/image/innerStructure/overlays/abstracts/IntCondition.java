@@ -0,0 +1,24 @@
+package steganography.image.innerStructure.overlays.abstracts;
+
+import java.util.function.Predicate;
+
+/**
+ * <p>Condition on single pixels (ARGB values), which {@link IntOverlay IntOverlays} test without boxing them.</p>
+ * <p>It can be used wherever a {@link Predicate Predicate&lt;Integer&gt;} is expected, like the conditions of
+ * pixel overlays.</p>
+ */
+@FunctionalInterface
+public interface IntCondition extends Predicate<Integer> {
+
+    /**
+     * Primitive version of {@link #test(Integer)}
+     * @param pixel ARGB value of the pixel to test
+     * @return true if {@code pixel} matches this condition
+     */
+    boolean test(int pixel);
+
+    @Override
+    default boolean test(Integer pixel) {
+        return test(pixel.intValue());
+    }
+}
@@ -0,0 +1,29 @@
+package steganography.image.innerStructure.overlays.abstracts;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Primitive specialization of a {@link BuffImgOverlay BuffImgOverlay&lt;Integer&gt;}, returning single pixels
+ * (ARGB values) without boxing them.</p>
+ * <p>Encoders use these methods instead of {@link #get} and {@link #set}, if the Embedder is an
+ * {@link steganography.image.innerStructure.embedders.IntEmbedder IntEmbedder} as well. Both have to
+ * return the same results.</p>
+ */
+public interface IntOverlay extends BuffImgOverlay<Integer> {
+
+    /**
+     * Primitive version of {@link #get}
+     * @param position refers to the position / index in the order of this overlay
+     * @return ARGB value of the pixel at position {@code position} of the Overlay.
+     * @throws NoSuchElementException if {@code position} refers to a position outside the scope of the overlay.
+     */
+    int getInt(int position) throws NoSuchElementException;
+
+    /**
+     * Primitive version of {@link #set}
+     * @param value ARGB value to set the pixel at position {@code position} to
+     * @param position the overlays position of the intended pixel.
+     * @throws NoSuchElementException if {@code position} refers to a position outside the scope of the overlay.
+     */
+    void setInt(int value, int position) throws NoSuchElementException;
+}
@@ -0,0 +1,186 @@
+package steganography.image.innerStructure.overlays.abstracts;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * <p>This class returns Pixels of the underlying BufferedImage in a random order determined by the seed
+ * that is given to its constructor, like {@link ShuffleOverlay}, but computes the order on demand.</p>
+ * <p>The order is a Feistel network over the indices of the chunks, so the chunk at any position is computed in
+ * constant time and memory, instead of shuffling all chunks on construction. A condition is only tested on the
+ * chunks that are actually visited, in order of their position. This makes small payloads in large images
+ * cheap, but the order differs from the one of {@link ShuffleOverlay}, so images have to be decoded with a
+ * LazyShuffleOverlay as well.</p>
+ * <p>Using a condition, {@link #available()} can not know the chunks failing it before visiting them. It therefore
+ * visits all remaining chunks once it is called, so it is exact, but testing the condition is no longer limited
+ * to the chunks in use. {@link #hasAvailable(int)} only visits chunks until enough of them passed, so Encoders
+ * using the first Cover Elements only (like {@link steganography.image.innerStructure.encoders.plain.PlainEncoder
+ * PlainEncoder}) check their capacity lazily. Without condition, both take constant time.</p>
+ * <p>{@link #get} is thread-safe, like in all overlays.</p>
+ */
+public abstract class LazyShuffleOverlay<T> extends SequenceOverlay<T> {
+
+    /**
+     * Amount of rounds of the Feistel network
+     */
+    private static final int ROUNDS = 4;
+
+    private final Predicate<T> condition;
+    private final int amountOfChunks;
+
+    /**
+     * Amount of bits of each half of the Feistel networks domain, which is at least {@link #amountOfChunks}
+     */
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * Chunks passing the condition in order of their position, as far as visited
+     */
+    private int[] passing = new int[0];
+    private int passed = 0;
+
+    /**
+     * Amount of positions of the unconditioned order, that were tested against the condition
+     */
+    private int visited = 0;
+
+    /**
+     * <p>Creates a LazyShuffleOverlay that organizes Pixels of a square area of the underlying
+     * {@link BufferedImage BufferedImage} ({@code BI}) in a random order, where the order is determined by the
+     * provided {@code seed}. The size of the area is determined by {@code csl}, representing the length of one
+     * side of the square.</p>
+     * <p>{@code Position} in this overlay refers to the top-leftmost pixel of a square.</p>
+     *
+     * @param bufferedImage the {@link BufferedImage BufferedImage} to represent the pixels of.
+     * @param seed Long to be used to affect the randomization of pixelorder.
+     * @param chunkSideLength Length of one side of the chunk (same as sqrt(chunk.size)).
+     * @param condition condition to match all cover elements with, or null to use all of them
+     */
+    public LazyShuffleOverlay(BufferedImage bufferedImage, long seed, int chunkSideLength, Predicate<T> condition) {
+        super(bufferedImage, chunkSideLength);
+        this.condition = condition;
+        this.amountOfChunks = (truncHeight * truncWidth) / (csl * csl);
+
+        int bits = 2;
+        while (bits < 62 && (1L << bits) < this.amountOfChunks)
+            bits += 2;
+        this.halfBits = bits / 2;
+        this.halfMask = (1L << this.halfBits) - 1;
+
+        Random random = new Random(seed);
+        for (int i = 0; i < ROUNDS; i++)
+            this.roundKeys[i] = random.nextLong();
+    }
+
+    /**
+     * The order is computed on demand, so there is nothing to create.
+     */
+    @Override
+    protected void createOrder() {
+    }
+
+    @Override
+    protected int chunkAt(int position) {
+        if (position < 0 || position >= this.amountOfChunks)
+            throw new NoSuchElementException("No chunk at intended position");
+        if (this.condition == null)
+            return permute(position);
+
+        synchronized (this) {
+            while (position >= this.passed) {
+                if (this.visited >= this.amountOfChunks)
+                    throw new NoSuchElementException("No chunk at intended position");
+                visitNext();
+            }
+            return this.passing[position];
+        }
+    }
+
+    /**
+     * {@link #chunkAt} checks the position, without visiting all chunks like {@link #available()}.
+     */
+    @Override
+    public void set(T value, int position) throws NoSuchElementException {
+        setRGB(calcX(position), calcY(position), value);
+    }
+
+    @Override
+    public int available() {
+        if (this.condition == null)
+            return this.amountOfChunks;
+
+        synchronized (this) {
+            while (this.visited < this.amountOfChunks)
+                visitNext();
+            return this.passed;
+        }
+    }
+
+    /**
+     * Visits chunks only until {@code amount} of them passed the condition.
+     */
+    @Override
+    public boolean hasAvailable(int amount) {
+        if (this.condition == null)
+            return amount <= this.amountOfChunks;
+
+        synchronized (this) {
+            while (this.passed < amount && this.visited < this.amountOfChunks)
+                visitNext();
+            return amount <= this.passed;
+        }
+    }
+
+    /**
+     * Tests the chunk at the next unvisited position of the unconditioned order against the condition, adding it to
+     * {@link #passing} if it passes. Must be called while holding the lock of this overlay.
+     */
+    private void visitNext() {
+        int chunk = permute(this.visited++);
+        if (passes(this.condition, (chunk * csl) % truncWidth, chunk * csl / truncWidth * csl)) {
+            if (this.passed == this.passing.length)
+                this.passing = Arrays.copyOf(this.passing, Math.max(16, this.passed * 2));
+            this.passing[this.passed++] = chunk;
+        }
+    }
+
+    /**
+     * Maps {@code position} to a chunk, walking the cycle of the Feistel network until it is within range.
+     * The domain is less than four times the amount of chunks, so this takes few steps on average.
+     */
+    private int permute(int position) {
+        long value = position;
+        do {
+            value = feistel(value);
+        } while (value >= this.amountOfChunks);
+        return (int) value;
+    }
+
+    /**
+     * Balanced Feistel network, a bijection on {@code [0, 2^(2 * halfBits))}
+     */
+    private long feistel(long value) {
+        long left = value >>> this.halfBits;
+        long right = value & this.halfMask;
+        for (long key : this.roundKeys) {
+            long next = left ^ (mix(right ^ key) & this.halfMask);
+            left = right;
+            right = next;
+        }
+        return left << this.halfBits | right;
+    }
+
+    /**
+     * Round function, mixing all bits of {@code value} (finalizer of SplitMix64)
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,254 @@
+package steganography.image.innerStructure.overlays.abstracts;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * <p>Reads and writes ARGB values of the pixels of a {@link BufferedImage}, with the same results as
+ * {@link BufferedImage#getRGB(int, int)} and {@link BufferedImage#setRGB(int, int, int)}.</p>
+ * <p>For the types {@code TYPE_INT_ARGB}, {@code TYPE_INT_RGB}, {@code TYPE_3BYTE_BGR} and {@code TYPE_4BYTE_ABGR}
+ * (the types of most images read by {@link javax.imageio.ImageIO}), the returned instance accesses the array of
+ * the images {@link DataBuffer} directly, avoiding the conversion by the images
+ * {@link java.awt.image.ColorModel ColorModel} per pixel. All other images are accessed through their
+ * {@code getRGB} and {@code setRGB} methods.</p>
+ * <p>Reading is thread-safe, as long as no pixels are written at the same time.</p>
+ */
+public abstract class PixelAccess {
+
+    /**
+     * @param bufferedImage image to access the pixels of
+     * @return a PixelAccess for {@code bufferedImage}, accessing its DataBuffer directly if its type allows it
+     */
+    public static PixelAccess of(BufferedImage bufferedImage) {
+        WritableRaster raster = bufferedImage.getRaster();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        SampleModel sampleModel = raster.getSampleModel();
+
+        // child rasters (sub images) are not supported
+        if (dataBuffer.getNumBanks() != 1 || dataBuffer.getOffset() != 0
+                || raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0)
+            return new ImageAccess(bufferedImage);
+
+        switch (bufferedImage.getType()) {
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_INT_RGB:
+                if (sampleModel instanceof SinglePixelPackedSampleModel)
+                    return new IntAccess(
+                            ((DataBufferInt) dataBuffer).getData(),
+                            ((SinglePixelPackedSampleModel) sampleModel).getScanlineStride(),
+                            bufferedImage.getType() == BufferedImage.TYPE_INT_ARGB
+                    );
+                break;
+
+            case BufferedImage.TYPE_3BYTE_BGR:
+                if (hasBandOffsets(sampleModel, 3, 2, 1, 0))
+                    return new ByteAccess(((DataBufferByte) dataBuffer).getData(),
+                            ((ComponentSampleModel) sampleModel).getScanlineStride(), false);
+                break;
+
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                if (hasBandOffsets(sampleModel, 4, 3, 2, 1, 0))
+                    return new ByteAccess(((DataBufferByte) dataBuffer).getData(),
+                            ((ComponentSampleModel) sampleModel).getScanlineStride(), true);
+                break;
+        }
+        return new ImageAccess(bufferedImage);
+    }
+
+    /**
+     * @return true if {@code sampleModel} stores the bands (RGB(A)) of a pixel interleaved at the provided offsets
+     */
+    private static boolean hasBandOffsets(SampleModel sampleModel, int pixelStride, int... bandOffsets) {
+        return sampleModel instanceof ComponentSampleModel
+                && ((ComponentSampleModel) sampleModel).getPixelStride() == pixelStride
+                && Arrays.equals(((ComponentSampleModel) sampleModel).getBandOffsets(), bandOffsets);
+    }
+
+    /**
+     * @return ARGB value of the pixel at ({@code x}, {@code y}), as returned by {@link BufferedImage#getRGB(int, int)}
+     */
+    public abstract int getRGB(int x, int y);
+
+    /**
+     * Sets the pixel at ({@code x}, {@code y}) like {@link BufferedImage#setRGB(int, int, int)}.
+     * @param argb ARGB value to set
+     */
+    public abstract void setRGB(int x, int y, int argb);
+
+    /**
+     * Reads the ARGB values of a rectangle of pixels in row major order, like
+     * {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)} with offset 0 and scansize {@code w}.
+     * @param argb array to write the values into, of at least length {@code w * h}
+     * @return {@code argb}
+     */
+    public int[] getRGB(int x, int y, int w, int h, int[] argb) {
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++)
+                argb[row * w + col] = getRGB(x + col, y + row);
+        }
+        return argb;
+    }
+
+    /**
+     * Sets a rectangle of pixels to the provided ARGB values in row major order, like
+     * {@link BufferedImage#setRGB(int, int, int, int, int[], int, int)} with offset 0 and scansize {@code w}.
+     * @param argb values to set, of at least length {@code w * h}
+     */
+    public void setRGB(int x, int y, int w, int h, int[] argb) {
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++)
+                setRGB(x + col, y + row, argb[row * w + col]);
+        }
+    }
+
+    /**
+     * Accesses pixels through the methods of the BufferedImage
+     */
+    private static final class ImageAccess extends PixelAccess {
+        private final BufferedImage bufferedImage;
+
+        private ImageAccess(BufferedImage bufferedImage) {
+            this.bufferedImage = bufferedImage;
+        }
+
+        @Override
+        public int getRGB(int x, int y) {
+            return this.bufferedImage.getRGB(x, y);
+        }
+
+        @Override
+        public void setRGB(int x, int y, int argb) {
+            this.bufferedImage.setRGB(x, y, argb);
+        }
+
+        @Override
+        public int[] getRGB(int x, int y, int w, int h, int[] argb) {
+            return this.bufferedImage.getRGB(x, y, w, h, argb, 0, w);
+        }
+
+        @Override
+        public void setRGB(int x, int y, int w, int h, int[] argb) {
+            this.bufferedImage.setRGB(x, y, w, h, argb, 0, w);
+        }
+    }
+
+    /**
+     * Accesses pixels stored as one (A)RGB int each
+     */
+    private static final class IntAccess extends PixelAccess {
+        private final int[] data;
+        private final int scanlineStride;
+        /**
+         * Bits to set when reading and to keep when writing, as images without alpha channel are opaque
+         */
+        private final int readMask;
+        private final int writeMask;
+
+        private IntAccess(int[] data, int scanlineStride, boolean alpha) {
+            this.data = data;
+            this.scanlineStride = scanlineStride;
+            this.readMask = alpha ? 0 : 0xff000000;
+            this.writeMask = alpha ? 0xffffffff : 0x00ffffff;
+        }
+
+        @Override
+        public int getRGB(int x, int y) {
+            return this.data[y * this.scanlineStride + x] | this.readMask;
+        }
+
+        @Override
+        public void setRGB(int x, int y, int argb) {
+            this.data[y * this.scanlineStride + x] = argb & this.writeMask;
+        }
+
+        @Override
+        public int[] getRGB(int x, int y, int w, int h, int[] argb) {
+            for (int row = 0; row < h; row++) {
+                int i = (y + row) * this.scanlineStride + x;
+                for (int col = 0; col < w; col++)
+                    argb[row * w + col] = this.data[i + col] | this.readMask;
+            }
+            return argb;
+        }
+
+        @Override
+        public void setRGB(int x, int y, int w, int h, int[] argb) {
+            for (int row = 0; row < h; row++) {
+                int i = (y + row) * this.scanlineStride + x;
+                for (int col = 0; col < w; col++)
+                    this.data[i + col] = argb[row * w + col] & this.writeMask;
+            }
+        }
+    }
+
+    /**
+     * Accesses pixels stored as interleaved bytes in the order (A)BGR
+     */
+    private static final class ByteAccess extends PixelAccess {
+        private final byte[] data;
+        private final int scanlineStride;
+        private final boolean alpha;
+        private final int pixelStride;
+
+        private ByteAccess(byte[] data, int scanlineStride, boolean alpha) {
+            this.data = data;
+            this.scanlineStride = scanlineStride;
+            this.alpha = alpha;
+            this.pixelStride = alpha ? 4 : 3;
+        }
+
+        @Override
+        public int getRGB(int x, int y) {
+            return read(y * this.scanlineStride + x * this.pixelStride);
+        }
+
+        @Override
+        public void setRGB(int x, int y, int argb) {
+            write(y * this.scanlineStride + x * this.pixelStride, argb);
+        }
+
+        @Override
+        public int[] getRGB(int x, int y, int w, int h, int[] argb) {
+            for (int row = 0; row < h; row++) {
+                int i = (y + row) * this.scanlineStride + x * this.pixelStride;
+                for (int col = 0; col < w; col++, i += this.pixelStride)
+                    argb[row * w + col] = read(i);
+            }
+            return argb;
+        }
+
+        @Override
+        public void setRGB(int x, int y, int w, int h, int[] argb) {
+            for (int row = 0; row < h; row++) {
+                int i = (y + row) * this.scanlineStride + x * this.pixelStride;
+                for (int col = 0; col < w; col++, i += this.pixelStride)
+                    write(i, argb[row * w + col]);
+            }
+        }
+
+        private int read(int i) {
+            int a = 0xff;
+            if (this.alpha)
+                a = this.data[i++] & 0xff;
+            return a << 24
+                    | (this.data[i + 2] & 0xff) << 16
+                    | (this.data[i + 1] & 0xff) << 8
+                    | (this.data[i] & 0xff);
+        }
+
+        private void write(int i, int argb) {
+            if (this.alpha)
+                this.data[i++] = (byte) (argb >>> 24);
+            this.data[i] = (byte) argb;
+            this.data[i + 1] = (byte) (argb >> 8);
+            this.data[i + 2] = (byte) (argb >> 16);
+        }
+    }
+}
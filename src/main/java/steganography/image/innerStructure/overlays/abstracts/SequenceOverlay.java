@@ -20,9 +20,8 @@ package steganography.image.innerStructure.overlays.abstracts;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * This class returns Pixels of the underlying BufferedImage in order from top left (x=0, y=0)
@@ -32,7 +31,14 @@ public abstract class SequenceOverlay<T> implements BuffImgOverlay<T> {
 
     protected final BufferedImage bufferedImage;
     protected final WritableRaster biRaster;
-    protected List<Integer> chunkOrder;
+    /**
+     * Reads and writes the pixels of {@link #bufferedImage}, see {@link PixelAccess}
+     */
+    protected final PixelAccess pixels;
+    /**
+     * Indices of the chunks (in sequential order from top left to bottom right) in the order of this overlay
+     */
+    protected int[] chunkOrder;
     /**
      * The length of one side of the chunk.
      * chunkSize = 8 == 64 pixels (8x8)
@@ -64,6 +70,7 @@ public abstract class SequenceOverlay<T> implements BuffImgOverlay<T> {
         this.csl = csl;
         this.bufferedImage = bufferedImage;
         this.biRaster = bufferedImage.getRaster();
+        this.pixels = PixelAccess.of(bufferedImage);
 
         // truncate height and width, so they are evenly divisible by chunkSize
         this.truncHeight = bufferedImage.getHeight() - ((bufferedImage.getHeight() - csl) % csl);
@@ -76,23 +83,38 @@ public abstract class SequenceOverlay<T> implements BuffImgOverlay<T> {
      * <p>Subclasses overwrite this method to use their own logic of creating the overlay.</p>
      */
     protected void createOrder() {
-        List<Integer> newChunkOrder = new ArrayList<>();
-
         // calculate amount of chunks in this image
         int amountOfChunks = (truncHeight * truncWidth) / (csl * csl);
 
+        int[] newChunkOrder = new int[amountOfChunks];
         for (int i = 0; i < amountOfChunks; i++) {
-            newChunkOrder.add(i);
+            newChunkOrder[i] = i;
         }
         this.chunkOrder = newChunkOrder;
     }
 
-    private int calcX(int position) {
-        return (this.chunkOrder.get(position) * csl) % truncWidth;
+    /**
+     * @param position refers to the position / index in the order of this overlay
+     * @return index of the chunk at {@code position}, counting the chunks from top left to bottom right
+     */
+    protected int chunkAt(int position) {
+        return this.chunkOrder[position];
     }
 
-    private int calcY(int position) {
-        return (this.chunkOrder.get(position) * csl / truncWidth * csl);
+    /**
+     * @param position refers to the position / index in the order of this overlay
+     * @return x coordinate of the top-leftmost pixel of the square at {@code position}
+     */
+    public int calcX(int position) {
+        return (chunkAt(position) * csl) % truncWidth;
+    }
+
+    /**
+     * @param position refers to the position / index in the order of this overlay
+     * @return y coordinate of the top-leftmost pixel of the square at {@code position}
+     */
+    public int calcY(int position) {
+        return (chunkAt(position) * csl / truncWidth * csl);
     }
 
     @Override
@@ -103,9 +125,19 @@ public abstract class SequenceOverlay<T> implements BuffImgOverlay<T> {
 
     protected abstract T getRGB(int x, int y);
 
+    /**
+     * Tests the chunk with its top-leftmost pixel at ({@code x}, {@code y}) against {@code condition}, for
+     * overlays removing chunks that fail it. Subclasses may override this to test without creating a {@code T}.
+     * @param condition condition to test the chunk against
+     * @return true if the chunk passes {@code condition}
+     */
+    protected boolean passes(Predicate<T> condition, int x, int y) {
+        return condition.test(getRGB(x, y));
+    }
+
     @Override
     public void set(T value, int position) throws NoSuchElementException {
-        if (position < 0 || position >= this.chunkOrder.size()) {
+        if (position < 0 || position >= this.available()) {
             throw new NoSuchElementException("No chunk at intended position");
         }
         setRGB(calcX(position), calcY(position), value);
@@ -115,7 +147,7 @@ public abstract class SequenceOverlay<T> implements BuffImgOverlay<T> {
 
     @Override
     public int available() {
-        return this.chunkOrder.size();
+        return this.chunkOrder.length;
     }
 }
 
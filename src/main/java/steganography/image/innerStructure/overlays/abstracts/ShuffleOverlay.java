@@ -19,7 +19,6 @@
 package steganography.image.innerStructure.overlays.abstracts;
 
 import java.awt.image.BufferedImage;
-import java.util.Collections;
 import java.util.Random;
 import java.util.function.Predicate;
 
@@ -57,6 +56,22 @@ public abstract class ShuffleOverlay<T> extends ConditionedOverlay<T> {
     @Override
     protected void createOrder() {
         super.createOrder();
-        Collections.shuffle(this.chunkOrder, this.random);
+        shuffle(this.chunkOrder, this.random);
+    }
+
+    /**
+     * <p>Shuffles {@code order} in place (Fisher-Yates), drawing the same random numbers and swapping the same
+     * elements as {@link java.util.Collections#shuffle(java.util.List, Random) Collections.shuffle}, which was used
+     * before. So images encoded with either one can be decoded with the other.</p>
+     * @param order array to shuffle
+     * @param random source of randomness
+     */
+    protected static void shuffle(int[] order, Random random) {
+        for (int i = order.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            int tmp = order[i - 1];
+            order[i - 1] = order[j];
+            order[j] = tmp;
+        }
     }
 }
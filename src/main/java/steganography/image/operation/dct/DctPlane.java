@@ -0,0 +1,183 @@
+package steganography.image.operation.dct;
+
+import steganography.image.innerStructure.overlays.abstracts.PixelAccess;
+import steganography.image.operation.pixelTranslation.PixelTranslator;
+import steganography.image.operation.pixelTranslation.PooledTranslatorSupplier;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.image.operation.pixelTranslation.TranslatorSupplier;
+import steganography.transforms.FastDct8;
+import steganography.transforms.FlatTransform;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>Blockwise DCT of one channel (luminance by default) of a whole image, computed once instead of per block on
+ * demand.</p>
+ * <p>The image is split into 8x8 blocks, ignoring the rightmost and bottommost pixels that do not fill a block.
+ * Blocks are indexed from top left to bottom right, like the chunks of a
+ * {@link steganography.image.innerStructure.overlays.abstracts.SequenceOverlay SequenceOverlay} with a side length
+ * of 8. The 64 coefficients of each block are stored in row major order in one contiguous array, block after
+ * block.</p>
+ * <p>The coefficients reflect the image at construction. Whoever changes a block of the image has to
+ * {@link #update} it (see {@link steganography.image.innerStructure.overlays.DctPlaneOverlay DctPlaneOverlay}).
+ * Reading and updating distinct blocks is thread-safe.</p>
+ */
+public class DctPlane {
+
+    /**
+     * Length of one side of a block
+     */
+    public static final int SIDE = 8;
+
+    /**
+     * Amount of rows of blocks computed per task on construction
+     */
+    private static final int RANGE_SIZE = 16;
+
+    private final PixelAccess pixels;
+    private final TranslatorSupplier<PixelTranslator> translatorSupplier;
+    private final FlatTransform dct;
+    private final int blocksX;
+    private final int blocksY;
+
+    /**
+     * Coefficients of all blocks, 64 per block in row major order
+     */
+    private final double[] coefficients;
+
+    /**
+     * Creates the DctPlane of the luminance of {@code image}, translated by {@link Rgb2YCbCr} and transformed by
+     * {@link FastDct8}, like by the Embedders of the Presets.
+     * @param image image to transform
+     */
+    public DctPlane(BufferedImage image) {
+        this(image, new PooledTranslatorSupplier(Rgb2YCbCr::new), new FastDct8());
+    }
+
+    /**
+     * <p>Creates the DctPlane of {@code image}, computing the blocks in parallel on the
+     * {@link ForkJoinPool#commonPool() common pool}.</p>
+     * @param image image to transform
+     * @param translatorSupplier supplies a {@link PixelTranslator} that translates the pixels of a block to the
+     *                           channel to transform
+     * @param dct transforms a block into the DCT domain
+     */
+    public DctPlane(BufferedImage image, TranslatorSupplier<PixelTranslator> translatorSupplier, FlatTransform dct) {
+        this.pixels = PixelAccess.of(image);
+        this.translatorSupplier = translatorSupplier;
+        this.dct = dct;
+        this.blocksX = image.getWidth() / SIDE;
+        this.blocksY = image.getHeight() / SIDE;
+        this.coefficients = new double[this.blocksX * this.blocksY * SIDE * SIDE];
+
+        int ranges = (this.blocksY + RANGE_SIZE - 1) / RANGE_SIZE;
+        if (ranges <= 1) {
+            updateRows(0, this.blocksY);
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(ranges);
+        for (int r = 0; r < ranges; r++) {
+            int from = r * RANGE_SIZE;
+            int to = Math.min(this.blocksY, from + RANGE_SIZE);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> updateRows(from, to)));
+        }
+        for (ForkJoinTask<?> task : tasks)
+            task.join();
+    }
+
+    /**
+     * Computes the blocks of the rows of blocks {@code [from, to)}
+     */
+    private void updateRows(int from, int to) {
+        int[] argb = new int[SIDE * SIDE];
+        double[] scratch = new double[SIDE * SIDE];
+        for (int by = from; by < to; by++) {
+            for (int bx = 0; bx < this.blocksX; bx++)
+                update(by * this.blocksX + bx, this.pixels.getRGB(bx * SIDE, by * SIDE, SIDE, SIDE, argb), scratch);
+        }
+    }
+
+    /**
+     * @return amount of blocks
+     */
+    public int amount() {
+        return this.blocksX * this.blocksY;
+    }
+
+    /**
+     * @return amount of blocks per row
+     */
+    public int getBlocksX() {
+        return this.blocksX;
+    }
+
+    /**
+     * @return amount of rows of blocks
+     */
+    public int getBlocksY() {
+        return this.blocksY;
+    }
+
+    /**
+     * @param x x coordinate of the top-leftmost pixel of the block, a multiple of {@link #SIDE}
+     * @param y y coordinate of the top-leftmost pixel of the block, a multiple of {@link #SIDE}
+     * @return index of the block
+     * @throws IndexOutOfBoundsException if there is no block at ({@code x}, {@code y})
+     */
+    public int blockIndex(int x, int y) {
+        if (x < 0 || y < 0 || x / SIDE >= this.blocksX || y / SIDE >= this.blocksY)
+            throw new IndexOutOfBoundsException("No block at (" + x + ", " + y + ")");
+        return y / SIDE * this.blocksX + x / SIDE;
+    }
+
+    /**
+     * @param block index of the block
+     * @param x column of the coefficient in the block
+     * @param y row of the coefficient in the block
+     * @return the coefficient at position [y][x] of the block
+     */
+    public double get(int block, int x, int y) {
+        return this.coefficients[block * SIDE * SIDE + y * SIDE + x];
+    }
+
+    /**
+     * Copies the coefficients of a block into {@code values} in row major order.
+     * @param block index of the block
+     * @param values array of at least length 64 to copy the coefficients into
+     * @return {@code values}
+     */
+    public double[] getBlock(int block, double[] values) {
+        System.arraycopy(this.coefficients, block * SIDE * SIDE, values, 0, SIDE * SIDE);
+        return values;
+    }
+
+    /**
+     * Recomputes the coefficients of a block from its pixels in the image.
+     * @param block index of the block
+     */
+    public void update(int block) {
+        int x = block % this.blocksX * SIDE;
+        int y = block / this.blocksX * SIDE;
+        update(block, this.pixels.getRGB(x, y, SIDE, SIDE, new int[SIDE * SIDE]), new double[SIDE * SIDE]);
+    }
+
+    /**
+     * Recomputes the coefficients of a block from the provided pixels, which were written to the image.
+     * @param block index of the block
+     * @param argb the 64 ARGB values of the block in row major order, which are not modified
+     */
+    public void update(int block, int[] argb) {
+        update(block, argb, new double[SIDE * SIDE]);
+    }
+
+    private void update(int block, int[] argb, double[] scratch) {
+        this.translatorSupplier.get(argb, SIDE).getValues(scratch);
+        this.dct.forward(scratch);
+        System.arraycopy(scratch, 0, this.coefficients, block * SIDE * SIDE, SIDE * SIDE);
+    }
+}
@@ -19,6 +19,34 @@ public interface PixelTranslator {
      */
     void setValues(double[][] values);
 
+    /**
+     * Copies the translators main values into {@code values} in row major order, like a flattened
+     * {@link #getValues()}.
+     * @param values array of at least length {@code getWidth() * getWidth()} to copy the values into
+     * @return {@code values}
+     */
+    default double[] getValues(double[] values) {
+        int width = getWidth();
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++)
+                values[y * width + x] = get(x, y);
+        }
+        return values;
+    }
+
+    /**
+     * Sets the provided values in row major order as the translators values, like a flattened
+     * {@link #setValues(double[][])}.
+     * @param values values to be set as chunks values, of at least length {@code getWidth() * getWidth()}
+     */
+    default void setValues(double[] values) {
+        int width = getWidth();
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++)
+                set(x, y, values[y * width + x]);
+        }
+    }
+
     /**
      * @return the width used to construct the 2D-Array.
      */
@@ -0,0 +1,77 @@
+package steganography.image.operation.pixelTranslation;
+
+/**
+ * <p>Supplies {@link ResettableTranslator ResettableTranslators} from a pool per thread, instead of constructing a
+ * new one on every call. Each pool is a ring of {@code capacity} translators, which are created by the provided
+ * {@code factory} once and {@link ResettableTranslator#reset reset} afterwards.</p>
+ * <p>A supplied translator stays valid until {@code capacity} more translators were supplied to the same thread.
+ * Consumers must not keep them longer, but can keep the arrays returned by {@link PixelTranslator#asARGB()}. So
+ * an instance should not be shared between consumers that hold many translators at once, like an Embedder and a
+ * Distortion Function.</p>
+ * <p>This class is thread-safe, as threads never share a translator.</p>
+ */
+public class PooledTranslatorSupplier implements TranslatorSupplier<PixelTranslator> {
+
+    /**
+     * Default amount of translators per thread, which covers the four blocks of DCRAS and a translated copy of each
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final TranslatorSupplier<? extends ResettableTranslator> factory;
+    private final int capacity;
+    private final ThreadLocal<Pool> pools;
+
+    /**
+     * Creates a PooledTranslatorSupplier with {@link #DEFAULT_CAPACITY} translators per thread.
+     * @param factory supplies the translators of the pools, like {@code Rgb2YCbCr::new}
+     */
+    public PooledTranslatorSupplier(TranslatorSupplier<? extends ResettableTranslator> factory) {
+        this(factory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param factory supplies the translators of the pools, like {@code Rgb2YCbCr::new}
+     * @param capacity amount of translators per thread, which a consumer may hold at once
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    public PooledTranslatorSupplier(TranslatorSupplier<? extends ResettableTranslator> factory, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity has to be at least 1.");
+        this.factory = factory;
+        this.capacity = capacity;
+        this.pools = ThreadLocal.withInitial(() -> new Pool(this.capacity));
+    }
+
+    /**
+     * Returns the least recently supplied translator of the current threads pool, reset to {@code argbValues}, or
+     * a new one while the pool is not full yet.
+     * @param argbValues the ARGB values as provided by {@link java.awt.image.BufferedImage BufferedImage}
+     * @param width the width of the 2D-Array the PixelTranslator should provide as {@code values}
+     * @return a PixelTranslator, valid until {@code capacity} more translators were supplied to this thread
+     */
+    @Override
+    public PixelTranslator get(int[] argbValues, int width) {
+        Pool pool = this.pools.get();
+        ResettableTranslator translator = pool.translators[pool.next];
+        if (translator == null) {
+            translator = this.factory.get(argbValues, width);
+            pool.translators[pool.next] = translator;
+        } else {
+            translator.reset(argbValues, width);
+        }
+        pool.next = (pool.next + 1) % pool.translators.length;
+        return translator;
+    }
+
+    /**
+     * Ring of translators of one thread. It does not reference its supplier, so the ThreadLocal can be collected.
+     */
+    private static final class Pool {
+        private final ResettableTranslator[] translators;
+        private int next = 0;
+
+        private Pool(int capacity) {
+            this.translators = new ResettableTranslator[capacity];
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package steganography.image.operation.pixelTranslation;
+
+/**
+ * <p>A {@link PixelTranslator} that can be reset to translate other pixels, so one instance can be reused for many
+ * Cover Elements (see {@link PooledTranslatorSupplier}).</p>
+ */
+public interface ResettableTranslator extends PixelTranslator {
+
+    /**
+     * <p>Replaces the pixels this translator translates, discarding all values of the previous ones. Afterwards, this
+     * translator has to behave like a new one, constructed with the same arguments.</p>
+     * <p>Arrays returned by {@link #asARGB()} before must not be modified by this method.</p>
+     * @param argbValues the ARGB values as provided by {@link java.awt.image.BufferedImage BufferedImage}
+     * @param width the width of the 2D-Array this translator should provide as {@code values}
+     */
+    void reset(int[] argbValues, int width);
+}
@@ -1,6 +1,8 @@
 package steganography.image.operation.pixelTranslation;
 
-public class Rgb2YCbCr implements PixelTranslator {
+import java.util.Arrays;
+
+public class Rgb2YCbCr implements ResettableTranslator {
 
     /**
      * ARGB values of pixels, as provided by {@link java.awt.image.BufferedImage#getRGB BufferedImage.getRGB()}.
@@ -9,23 +11,39 @@ public class Rgb2YCbCr implements PixelTranslator {
     private int[] argbValues;
 
     /**
-     * Y channel of the YCbCr color space, represented as double in the interval [0, 255]
+     * Y, Cb and Cr channels of the YCbCr color space in this order (see {@link Channel#ordinal()}), each
+     * represented as double in the interval [0, 255]. Only the main channel is calculated on construction, the
+     * others once they are needed by {@link #calcARGB()}. The arrays are reused by {@link #reset}.
+     */
+    private final double[][] channels = new double[3][];
+
+    /**
+     * Whether the channel of {@link #channels} with the same index was calculated from the current
+     * {@link #argbValues}
      */
-    private final double[] y;
+    private final boolean[] calculated = new boolean[3];
 
     /**
-     * Cb channel of the YCbCr color space, represented as double in the interval [0, 255]
+     * <p>Products of the coefficients of each channel (first index, see {@link Channel#ordinal()}) with the
+     * red, green and blue values (second index), for all 256 values (third index).</p>
+     * <p>Looking up the same products that {@code coefficient * value} would calculate and adding them in the same
+     * order keeps the results bit-exact to the calculation according to the book (see {@link #calcYCbCr}).
+     * Subtracted products are stored negated, as {@code a - b == a + (-b)} in floating point arithmetic.</p>
      */
-    private final double[] cb;
+    private static final double[][][] PRODUCTS = {
+            {products(0.2990), products(0.5870), products(0.1140)},
+            {products(-0.1687), products(-0.3313), products(0.5000)},
+            {products(0.5000), products(-0.4187), products(-0.0813)}
+    };
 
     /**
-     * Cr channel of the YCbCr color space, represented as double in the interval [0, 255]
+     * Offsets added to the sums of {@link #PRODUCTS} of each channel
      */
-    private final double[] cr;
+    private static final double[] OFFSETS = {0, 128, 128};
 
-    private final int width;
+    private int width;
 
-    private final int height;
+    private int height;
 
     private final Channel mainChannel;
 
@@ -46,26 +64,16 @@ public class Rgb2YCbCr implements PixelTranslator {
      * <p>To transfer the dimensions from a 1D-Array to a 2D-Array the provided {@code width} is used. This
      * translator only accepts {@code argbValues.length} and {@code width} combinations that lead to symmetric
      * 2D-Arrays.</p>
+     * <p>Only the main channel is calculated on construction. As the other channels are calculated from
+     * {@code argbValues} once {@link #asARGB()} is called, {@code argbValues} must not be modified until then.</p>
      * @param argbValues values of pixels (ARGB-Integers) as provided by {@link java.awt.image.BufferedImage#getRGB
      *                  BufferedImage.getRGB()}
      * @param width width of the resulting 2D-Array
      * @param channel {@link Channel} to use as main value, Y If omitted
      */
     public Rgb2YCbCr(int[] argbValues, int width, Channel channel) {
-        this.width = width;
-
-        Double sHeight = argbValues.length / (double) width;
-        if (sHeight != sHeight.intValue())
-            throw new IllegalArgumentException(
-                    "Combination of argbValues.length and width would result in an asymmetrical 2D-Array.");
-        this.height = sHeight.intValue();
-
-        this.argbValues = argbValues;
-        this.y    = new double[argbValues.length];
-        this.cb   = new double[argbValues.length];
-        this.cr   = new double[argbValues.length];
         this.mainChannel = channel;
-        calcYCbCr();
+        init(argbValues, width);
     }
 
     /**
@@ -84,16 +92,38 @@ public class Rgb2YCbCr implements PixelTranslator {
         this(argbValues, width, Channel.Y);
     }
 
+    /**
+     * <p>Resets this translator to the provided pixels, keeping its main channel. The arrays of the channels are
+     * reused, if {@code argbValues} has the same length as before.</p>
+     * @param argbValues values of pixels (ARGB-Integers) as provided by {@link java.awt.image.BufferedImage#getRGB
+     *                  BufferedImage.getRGB()}
+     * @param width width of the resulting 2D-Array
+     * @throws IllegalArgumentException if the combination of {@code argbValues.length} and {@code width} would
+     *                                  result in an asymmetrical 2D-Array
+     */
+    @Override
+    public void reset(int[] argbValues, int width) {
+        init(argbValues, width);
+    }
+
+    private void init(int[] argbValues, int width) {
+        Double sHeight = argbValues.length / (double) width;
+        if (sHeight != sHeight.intValue())
+            throw new IllegalArgumentException(
+                    "Combination of argbValues.length and width would result in an asymmetrical 2D-Array.");
+        this.width = width;
+        this.height = sHeight.intValue();
+
+        this.argbValues = argbValues;
+        Arrays.fill(this.calculated, false);
+        calcYCbCr(this.mainChannel);
+    }
+
     /**
      * @return the main channel to be returned by {@link #getValues()} and modified by {@link #setValues}.
      */
     protected double[] getMain() {
-        switch (this.mainChannel) {
-            case Y:  return this.y;
-            case CB: return this.cb;
-            case CR: return this.cr;
-        }
-        return this.y;
+        return this.channels[this.mainChannel.ordinal()];
     }
 
     @Override
@@ -112,6 +142,17 @@ public class Rgb2YCbCr implements PixelTranslator {
         }
     }
 
+    @Override
+    public double[] getValues(double[] values) {
+        System.arraycopy(getMain(), 0, values, 0, width * height);
+        return values;
+    }
+
+    @Override
+    public void setValues(double[] values) {
+        System.arraycopy(values, 0, getMain(), 0, width * height);
+    }
+
     @Override
     public int getWidth() {
         return this.width;
@@ -134,45 +175,74 @@ public class Rgb2YCbCr implements PixelTranslator {
     }
 
     /**
-     * <p>Calculates the Y, Cb and Cr values, using {@link #argbValues} as input and {@link #y}, {@link #cb} and
-     * {@link #cr} as output.</p>
-     * <p>Calculation according to (book) [Bilddatenkompression // ISBN: 978-3-8348-0472-3 // p. 183-184]</p>
+     * <p>Calculates the values of {@code channel}, using {@link #argbValues} as input and {@link #channels} as
+     * output, unless they were already calculated.</p>
+     * <p>Calculation according to (book) [Bilddatenkompression // ISBN: 978-3-8348-0472-3 // p. 183-184]:</p>
+     * <p>Y = 0.2990 * R + 0.5870 * G + 0.1140 * B</p>
+     * <p>Cb = - 0.1687 * R - 0.3313 * G + 0.5000 * B + 128</p>
+     * <p>Cr = 0.5000 * R - 0.4187 * G - 0.0813 * B + 128</p>
+     * <p>each restricted to [0, 255], using the products in {@link #PRODUCTS}.</p>
      */
-    private void calcYCbCr() {
-        for (int i = 0; i < y.length; i++) {
-            double r = ((argbValues[i] >> 16) & 255);
-            double g = ((argbValues[i] >> 8)  & 255);
-            double b = ( argbValues[i]        & 255);
-
-             y[i] = Math.min(Math.max(0, (  0.2990 * r + 0.5870 * g + 0.1140 * b))      , 255);
-            cb[i] = Math.min(Math.max(0, (- 0.1687 * r - 0.3313 * g + 0.5000 * b) + 128), 255);
-            cr[i] = Math.min(Math.max(0, (  0.5000 * r - 0.4187 * g - 0.0813 * b) + 128), 255);
+    private void calcYCbCr(Channel channel) {
+        int c = channel.ordinal();
+        if (this.calculated[c])
+            return;
+
+        double[] red = PRODUCTS[c][0];
+        double[] green = PRODUCTS[c][1];
+        double[] blue = PRODUCTS[c][2];
+        double offset = OFFSETS[c];
+        double[] values = this.channels[c];
+        if (values == null || values.length != this.argbValues.length)
+            values = new double[this.argbValues.length];
+        for (int i = 0; i < values.length; i++) {
+            int argb = this.argbValues[i];
+            values[i] = Math.min(Math.max(0,
+                    (red[(argb >> 16) & 255] + green[(argb >> 8) & 255] + blue[argb & 255]) + offset), 255);
         }
+        this.channels[c] = values;
+        this.calculated[c] = true;
     }
 
     /**
-     * <p>Calculates the ARGB values, using {@link #y}, {@link #cb} and {@link #cr} as input and {@link #argbValues}
-     * as output. This method conserves the alpha value in the original {@code argbValue}
+     * <p>Calculates the ARGB values, using the Y, Cb and Cr values of {@link #channels} as input and
+     * {@link #argbValues} as output. This method conserves the alpha value in the original {@code argbValue}
      * (given to {@link #Rgb2YCbCr(int[], int) the contructor}), provided it was not changed in the meantime.</p>
      * <p>Calculation according to (book) [Bilddatenkompression // ISBN: 978-3-8348-0472-3 // p. 183-184]</p>
      */
     private void calcARGB() {
+        // the channels besides the main one are calculated from the original ARGB values, before replacing them
+        calcYCbCr(Channel.Y);
+        calcYCbCr(Channel.CB);
+        calcYCbCr(Channel.CR);
+        double[] y = this.channels[Channel.Y.ordinal()];
+        double[] cb = this.channels[Channel.CB.ordinal()];
+        double[] cr = this.channels[Channel.CR.ordinal()];
+
         int[] newRgbValues = new int[argbValues.length];
         for (int i = 0; i < y.length; i++) {
             double yVal  =  y[i];
             double cbVal = cb[i] - 128;
             double crVal = cr[i] - 128;
 
-            int[] rgb = new int[3];
-
-            rgb[0] = (int) Math.min(Math.max(0, Math.round(yVal +                  1.4020 * crVal)), 255);
-            rgb[1] = (int) Math.min(Math.max(0, Math.round(yVal - 0.3441 * cbVal - 0.7141 * crVal)), 255);
-            rgb[2] = (int) Math.min(Math.max(0, Math.round(yVal + 1.7720 * cbVal                 )), 255);
+            int r = (int) Math.min(Math.max(0, Math.round(yVal +                  1.4020 * crVal)), 255);
+            int g = (int) Math.min(Math.max(0, Math.round(yVal - 0.3441 * cbVal - 0.7141 * crVal)), 255);
+            int b = (int) Math.min(Math.max(0, Math.round(yVal + 1.7720 * cbVal                 )), 255);
 
             // Conserve alpha value
             int alpha = argbValues[i] & (0xff << 24);
-            newRgbValues[i] = alpha | (rgb[0]  << 16) | (rgb[1] << 8) | rgb[2];
+            newRgbValues[i] = alpha | (r << 16) | (g << 8) | b;
         }
         argbValues = newRgbValues;
     }
+
+    /**
+     * @return {@code coefficient * value} for all values in [0, 255]
+     */
+    private static double[] products(double coefficient) {
+        double[] products = new double[256];
+        for (int value = 0; value < 256; value++)
+            products[value] = coefficient * value;
+        return products;
+    }
 }
@@ -0,0 +1,442 @@
+package steganography.image.operation.stc;
+
+import steganography.util.ArrayUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * <p>Trellis engine running the STC-adapted viterbi algorithm as used by
+ * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}.</p>
+ * <p>In contrast to the former BitSet based implementation, the back-pointers of all
+ * trellis steps are stored in one contiguous {@code long[]} of {@code cvrLen * 2^h} Bits and the forward part
+ * alternates between two preallocated weight buffers. All buffers are kept between calls, so repeated runs
+ * of the same instance do not allocate anything but the resulting {@link BitSet}.</p>
+ * <p>The results are bit-identical to the former implementation.</p>
+ * <p>With {@link Precision#FLOAT}, weights are accumulated in single precision, halving the memory traffic of the
+ * trellis (and doubling the vector lanes of the {@code VectorizedStcEngine}). The chosen path may then differ from
+ * the double precision path where the total distortion of competing paths differs by less than float rounding.
+ * The result is a valid stego vector either way.</p>
+ * <p>Instances are not thread-safe, as they hold on to their buffers.</p>
+ */
+public class StcEngine {
+
+    /**
+     * Floating point precision the trellis weights are accumulated in
+     */
+    public enum Precision {
+        /**
+         * 64 Bit weights, bit-identical to the former implementation
+         */
+        DOUBLE,
+        /**
+         * 32 Bit weights, half the memory traffic
+         */
+        FLOAT
+    }
+
+    /**
+     * System property to disable the vectorized engine with ({@code -Dsteganography.stc.vector=false})
+     */
+    public static final String VECTOR_PROPERTY = "steganography.stc.vector";
+
+    /**
+     * Constructor of the vectorized engine or null, if it is unavailable or disabled
+     */
+    private static final Constructor<?> VECTORIZED_CONSTRUCTOR = findVectorizedConstructor();
+
+    /**
+     * Height of the H_hat matrix <em>(constraint height)</em>
+     */
+    protected final int height;
+
+    /**
+     * Amount of states of the trellis, {@code 2^height}
+     */
+    protected final int stateAmount;
+
+    /**
+     * Precision the weights of the trellis are accumulated in
+     */
+    protected final Precision precision;
+
+    /**
+     * Amount of longs needed to store the back-pointers of one trellis step
+     */
+    private final int wordsPerStep;
+
+    /**
+     * Weights of the current trellis step, null if using {@link Precision#FLOAT}
+     */
+    private double[] wght;
+
+    /**
+     * Weights of the next trellis step, swapped with {@link #wght} after each step
+     */
+    private double[] newWght;
+
+    /**
+     * Weights of the current trellis step, null if using {@link Precision#DOUBLE}
+     */
+    private float[] fWght;
+
+    /**
+     * Weights of the next trellis step, swapped with {@link #fWght} after each step
+     */
+    private float[] fNewWght;
+
+    /**
+     * Packed back-pointers of all trellis steps, {@link #wordsPerStep} longs per step
+     */
+    private long[] path = new long[0];
+
+    /**
+     * Creates a trellis engine for the provided constraint height.
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive)
+     */
+    public StcEngine(int height) {
+        this(height, Precision.DOUBLE);
+    }
+
+    /**
+     * Creates a trellis engine for the provided constraint height, accumulating weights in the provided precision.
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @param precision precision of the trellis weights
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive) or
+     *                                  {@code precision} is null
+     */
+    public StcEngine(int height, Precision precision) {
+        if (height < 1 || height > 30)
+            throw new IllegalArgumentException("Constraint height must be between 1 and 30 (both inclusive)");
+        if (precision == null)
+            throw new IllegalArgumentException("Precision must not be null");
+
+        this.height = height;
+        this.precision = precision;
+        this.stateAmount = 1 << height;
+        this.wordsPerStep = (this.stateAmount + 63) >>> 6;
+        if (precision == Precision.DOUBLE) {
+            this.wght = new double[this.stateAmount];
+            this.newWght = new double[this.stateAmount];
+        } else {
+            this.fWght = new float[this.stateAmount];
+            this.fNewWght = new float[this.stateAmount];
+        }
+    }
+
+    /**
+     * <p>Creates the fastest trellis engine available on this platform for the provided constraint height.</p>
+     * <p>On Java 17 or later with the module {@code jdk.incubator.vector} added
+     * ({@code --add-modules jdk.incubator.vector}), this is a {@code VectorizedStcEngine}, otherwise (or if the
+     * system property {@value #VECTOR_PROPERTY} is set to {@code false}) a scalar {@link StcEngine}. Both return
+     * identical results.</p>
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @return a new trellis engine using {@link Precision#DOUBLE}
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive)
+     */
+    public static StcEngine create(int height) {
+        return create(height, Precision.DOUBLE);
+    }
+
+    /**
+     * <p>Creates the fastest trellis engine available on this platform for the provided constraint height and
+     * precision (see {@link #create(int)}).</p>
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @param precision precision of the trellis weights
+     * @return a new trellis engine
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive) or
+     *                                  {@code precision} is null
+     */
+    public static StcEngine create(int height, Precision precision) {
+        if (VECTORIZED_CONSTRUCTOR != null) {
+            try {
+                return (StcEngine) VECTORIZED_CONSTRUCTOR.newInstance(height, precision);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IllegalArgumentException)
+                    throw (IllegalArgumentException) e.getCause();
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+                // fall through to the scalar engine
+            }
+        }
+        return new StcEngine(height, precision);
+    }
+
+    /**
+     * @return the constraint height this engine was created with
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @return the precision the trellis weights are accumulated in
+     */
+    public Precision getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * <p>The STC-adapted viterbi algorithm as defined in <em>Minimizing Additive Distortion in Steganography Using
+     * Syndrome-Trellis Codes p. 7</em>, including the corrections made in
+     * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder}.</p>
+     * @param cvr Bits represented by the Cover Elements before changes
+     * @param cvrLen Amount of Cover Elements, as BitSets length calculation ignores trailing zeroes
+     * @param message Message bits
+     * @param msgLen Amount of Message Bits, as BitSets length calculation ignores trailing zeroes
+     * @param rho Distortion values sorted chronologically to the Cover Elements
+     * @param h_hat Submatrix in integer representation, every value smaller than {@code 2^height}
+     * @return The Steganographic Elements to replace the Cover Elements with.
+     */
+    public BitSet viterbi(BitSet cvr, int cvrLen, BitSet message, int msgLen, double[] rho, int[] h_hat) {
+        if (msgLen > cvrLen)
+            throw new IllegalArgumentException(
+                    String.format("Message (%d) is longer than Cover (%d)", msgLen, cvrLen));
+
+        int w = h_hat.length;
+        long[] path = ensurePathCapacity((long) msgLen * w * this.wordsPerStep);
+
+        int minInd = this.precision == Precision.DOUBLE
+                ? forward(cvr, message, msgLen, rho, h_hat, path)
+                : forwardFloat(cvr, message, msgLen, rho, h_hat, path);
+
+        BitSet y = new BitSet(cvrLen); // stc-encoded message to encode in stego-object
+
+        // --------------------------------------
+        // backward part of the Viterbi algorithm
+        // --------------------------------------
+        int state = minInd;
+        int indx = msgLen * w - 1;
+        for (int indm = msgLen - 1; indm >= 0; indm--) {
+            state = 2 * state + (message.get(indm) ? 1 : 0);
+            for (int j = w-1; j >= 0; j--) {
+                if ((path[indx * this.wordsPerStep + (state >>> 6)] & (1L << state)) != 0) {
+                    y.set(indx);
+                    state ^= h_hat[j];
+                }
+                indx--;
+            }
+        }
+        return y;
+    }
+
+    /**
+     * <p>Calculates the syndrome {@code H*y} (the message) of the parity check matrix built from {@code h_hat}, as
+     * described in <em>Minimizing Additive Distortion in Steganography Using Syndrome-Trellis Codes p. 6</em>.</p>
+     * <p>The Stego Elements are packed into longs. Each block of {@code w} Elements is multiplied with H_hat by
+     * counting the parity of the block masked with every row of H_hat ({@link Long#bitCount}), 64 columns at a
+     * time. The resulting column of {@code height} Bits is accumulated in a sliding window, whose lowest Bit is the
+     * message Bit of the block. This is linear in the amount of Stego Elements.</p>
+     * <p>This method is thread-safe.</p>
+     * @param y Stego Elements, at least {@code msgLen * h_hat.length} Bits are used
+     * @param msgLen Amount of Message Bits
+     * @param h_hat Submatrix in integer representation, every value smaller than {@code 2^height}
+     * @param height height of H_hat (constraint height), between 1 and 30
+     * @return the message Bits
+     */
+    public static BitSet syndrome(BitSet y, int msgLen, int[] h_hat, int height) {
+        int w = h_hat.length;
+        int words = (w + 63) >>> 6;
+
+        // rows of H_hat as Bit masks of w Bits each
+        long[] rows = new long[height * words];
+        for (int col = 0; col < w; col++) {
+            for (int row = 0; row < height; row++) {
+                if ((h_hat[col] >>> row & 1) == 1)
+                    rows[row * words + (col >>> 6)] |= 1L << col;
+            }
+        }
+
+        long[] packed = y.toLongArray();
+        BitSet message = new BitSet(msgLen);
+        int window = 0;
+        for (int i = 0; i < msgLen; i++) {
+            long start = (long) i * w;
+            int column = 0;
+            for (int word = 0; word < words; word++) {
+                long block = bitsAt(packed, start + 64L * word);
+                for (int row = 0; row < height; row++)
+                    column ^= (Long.bitCount(block & rows[row * words + word]) & 1) << row;
+            }
+            window ^= column;
+            if ((window & 1) == 1)
+                message.set(i);
+            window >>>= 1;
+        }
+        return message;
+    }
+
+    /**
+     * @return the 64 Bits of {@code packed} starting at Bit {@code index}, zero beyond its length
+     */
+    private static long bitsAt(long[] packed, long index) {
+        int word = (int) (index >>> 6);
+        int shift = (int) (index & 63);
+        long low = word < packed.length ? packed[word] >>> shift : 0;
+        long high = shift != 0 && word + 1 < packed.length ? packed[word + 1] << (64 - shift) : 0;
+        return low | high;
+    }
+
+    /**
+     * Forward part of the viterbi algorithm with weights in double precision.
+     * @return the state with minimum weight after the last step
+     */
+    private int forward(BitSet cvr, BitSet message, int msgLen, double[] rho, int[] h_hat, long[] path) {
+        int halfStateAmount = this.stateAmount / 2;
+        double[] wght = this.wght;
+        double[] newWght = this.newWght;
+        Arrays.fill(wght, Double.POSITIVE_INFINITY);
+        wght[0] = 0;
+
+        int indx = 0;
+        for (int indm = 0; indm < msgLen; indm++) {
+            for (int hh_col : h_hat) {
+                boolean cvrBit = cvr.get(indx);
+                forwardStep(wght, newWght, hh_col,
+                        cvrBit ? rho[indx] : 0, cvrBit ? 0 : rho[indx],
+                        path, indx * this.wordsPerStep);
+                indx++;
+
+                double[] swap = wght;
+                wght = newWght;
+                newWght = swap;
+            }
+
+            // prune states
+            int msgBit = message.get(indm) ? 1 : 0;
+            for (int j = 0; j < halfStateAmount; j++) {
+                wght[j] = wght[2 * j + msgBit];
+            }
+            Arrays.fill(wght, halfStateAmount, this.stateAmount, Double.POSITIVE_INFINITY);
+        }
+        return ArrayUtils.minInd(wght);
+    }
+
+    /**
+     * Forward part of the viterbi algorithm with weights in single precision.
+     * @return the state with minimum weight after the last step
+     */
+    private int forwardFloat(BitSet cvr, BitSet message, int msgLen, double[] rho, int[] h_hat, long[] path) {
+        int halfStateAmount = this.stateAmount / 2;
+        float[] wght = this.fWght;
+        float[] newWght = this.fNewWght;
+        Arrays.fill(wght, Float.POSITIVE_INFINITY);
+        wght[0] = 0;
+
+        int indx = 0;
+        for (int indm = 0; indm < msgLen; indm++) {
+            for (int hh_col : h_hat) {
+                boolean cvrBit = cvr.get(indx);
+                float cost = (float) rho[indx];
+                forwardStep(wght, newWght, hh_col,
+                        cvrBit ? cost : 0, cvrBit ? 0 : cost,
+                        path, indx * this.wordsPerStep);
+                indx++;
+
+                float[] swap = wght;
+                wght = newWght;
+                newWght = swap;
+            }
+
+            // prune states
+            int msgBit = message.get(indm) ? 1 : 0;
+            for (int j = 0; j < halfStateAmount; j++) {
+                wght[j] = wght[2 * j + msgBit];
+            }
+            Arrays.fill(wght, halfStateAmount, this.stateAmount, Float.POSITIVE_INFINITY);
+        }
+        return ArrayUtils.minInd(wght);
+    }
+
+    /**
+     * <p>Calculates one step of the forward part of the viterbi algorithm, reading the weights of all states
+     * from {@code wght} and writing the resulting weights to {@code newWght}.</p>
+     * <p>For every state {@code k}, the back-pointer (true if the path through {@code k ^ hhCol} is cheaper) is
+     * stored as Bit {@code k % 64} of {@code path[offset + k / 64]}.</p>
+     * @param wght weights of all states before this step
+     * @param newWght array to write the weights of all states after this step to
+     * @param hhCol column of H_hat in integer representation belonging to this step
+     * @param cost0 cost of keeping the state (not adding {@code hhCol})
+     * @param cost1 cost of adding {@code hhCol} to the state
+     * @param path packed back-pointers to write to
+     * @param offset index of the first long of this step in {@code path}
+     */
+    protected void forwardStep(double[] wght, double[] newWght, int hhCol, double cost0, double cost1,
+                               long[] path, int offset) {
+        for (int base = 0; base < this.stateAmount; base += 64) {
+            int end = Math.min(base + 64, this.stateAmount);
+            long bits = 0;
+            for (int k = base; k < end; k++) {
+                double w0 = wght[k] + cost0;
+                double w1 = wght[k ^ hhCol] + cost1;
+                if (w1 < w0)
+                    bits |= 1L << k;
+                newWght[k] = Math.min(w0, w1);
+            }
+            path[offset + (base >>> 6)] = bits;
+        }
+    }
+
+    /**
+     * Single precision variant of {@link #forwardStep(double[], double[], int, double, double, long[], int)}.
+     * @param wght weights of all states before this step
+     * @param newWght array to write the weights of all states after this step to
+     * @param hhCol column of H_hat in integer representation belonging to this step
+     * @param cost0 cost of keeping the state (not adding {@code hhCol})
+     * @param cost1 cost of adding {@code hhCol} to the state
+     * @param path packed back-pointers to write to
+     * @param offset index of the first long of this step in {@code path}
+     */
+    protected void forwardStep(float[] wght, float[] newWght, int hhCol, float cost0, float cost1,
+                               long[] path, int offset) {
+        for (int base = 0; base < this.stateAmount; base += 64) {
+            int end = Math.min(base + 64, this.stateAmount);
+            long bits = 0;
+            for (int k = base; k < end; k++) {
+                float w0 = wght[k] + cost0;
+                float w1 = wght[k ^ hhCol] + cost1;
+                if (w1 < w0)
+                    bits |= 1L << k;
+                newWght[k] = Math.min(w0, w1);
+            }
+            path[offset + (base >>> 6)] = bits;
+        }
+    }
+
+    /**
+     * Looks up the vectorized engine, which is only compiled on and usable with Java 17 or later and the module
+     * {@code jdk.incubator.vector}. Loading it once also verifies that the Vector API is accessible.
+     * @return the constructor of the vectorized engine or null, if it is unavailable or disabled
+     */
+    private static Constructor<?> findVectorizedConstructor() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true")))
+            return null;
+
+        try {
+            Constructor<?> constructor = Class.forName("steganography.image.operation.stc.VectorizedStcEngine")
+                    .getConstructor(int.class, Precision.class);
+            // initializes the class and the vector species
+            constructor.newInstance(1, Precision.DOUBLE);
+            return constructor;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the buffer for packed back-pointers, growing it if it is smaller than {@code length}.
+     * @param length required amount of longs
+     * @return a buffer of at least {@code length} longs
+     */
+    private long[] ensurePathCapacity(long length) {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(
+                    String.format("Trellis of %d words exceeds the maximum array size", length));
+
+        if (this.path.length < length)
+            this.path = new long[(int) length];
+        return this.path;
+    }
+}
@@ -25,11 +25,12 @@ import steganography.exceptions.encoder.EncoderException;
 import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
 import steganography.image.innerStructure.encoders.Encoder;
 import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
 import steganography.image.exceptions.ImageCapacityException;
 import steganography.image.exceptions.ImageWritingException;
 import steganography.image.exceptions.NoImageException;
 import steganography.image.exceptions.UnsupportedImageTypeException;
-import steganography.image.innerStructure.encoders.wrappers.ReedSolomon;
+import steganography.image.innerStructure.encoders.wrappers.InterleavedReedSolomon;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -44,6 +45,7 @@ public class ImageSteg implements Steganography {
     private final boolean useDefaultHeader;
     private final boolean useErrorCorrection;
     private final Preset preset;
+    private final int constraintHeight;
 
     /**
      * <p>Creates a new {@link #ImageSteg(boolean, boolean, Preset)}] with settings:</p>
@@ -120,12 +122,40 @@ public class ImageSteg implements Steganography {
      * @see #decode(byte[], long)
      * @see #decode(int, byte[])
      * @see #decode(int, byte[], long)
-     * @see ReedSolomon Error Correction
+     * @see InterleavedReedSolomon Error Correction
      */
     public ImageSteg(boolean useDefaultHeader, boolean useErrorCorrection, Preset preset) {
+        this(useDefaultHeader, useErrorCorrection, preset,
+                preset == null ? StcEncoder.DEFAULT_CONSTRAINT_HEIGHT : preset.getConstraintHeight());
+    }
+
+    /**
+     * <p>Creates a new ImageSteg with the given settings (see {@link #ImageSteg(boolean, boolean, Preset)}),
+     * overriding the constraint height of the STCs used by the {@link Preset}.</p>
+     * <p>Lower constraint heights speed up en- and decoding of large payloads, higher constraint heights lower the
+     * distortion of small payloads (see {@link Preset#getConstraintHeight()}). The constraint height is not
+     * stored in the image, so decoding requires the same constraint height (and Preset) as encoding.</p>
+     * <p>Presets not using STCs ({@link Preset#COMPRESSION_RESISTANCE}) ignore the constraint height.</p>
+     *
+     * @param useDefaultHeader true, if a header should be generated as prefix for the message
+     * @param useErrorCorrection true, if error correction be used
+     * @param preset Preset to use for encoding and decoding
+     * @param constraintHeight height of the STCs H_hat matrix, between {@link StcEncoder#MIN_CONSTRAINT_HEIGHT}
+     *                         and {@link StcEncoder#MAX_CONSTRAINT_HEIGHT} (both inclusive)
+     * @throws IllegalArgumentException if {@code constraintHeight} is out of bounds
+     * @see #ImageSteg(boolean, boolean, Preset)
+     */
+    public ImageSteg(boolean useDefaultHeader, boolean useErrorCorrection, Preset preset, int constraintHeight) {
+        if (constraintHeight < StcEncoder.MIN_CONSTRAINT_HEIGHT || constraintHeight > StcEncoder.MAX_CONSTRAINT_HEIGHT)
+            throw new IllegalArgumentException(String.format(
+                    "Constraint height must be between %d and %d (both inclusive)",
+                    StcEncoder.MIN_CONSTRAINT_HEIGHT, StcEncoder.MAX_CONSTRAINT_HEIGHT
+            ));
+
         this.useDefaultHeader = useDefaultHeader;
         this.useErrorCorrection = useErrorCorrection;
         this.preset = preset;
+        this.constraintHeight = constraintHeight;
     }
 
     @Override
@@ -146,7 +176,7 @@ public class ImageSteg implements Steganography {
         if (payload == null)
             throw new NullPointerException("Parameter 'payload' must not be null");
 
-        ImageStegIO imageStegIO = new ImageStegIOJava(carrier, this.preset);
+        ImageStegIO imageStegIO = new ImageStegIOJava(carrier, this.preset, this.constraintHeight);
 
         Encoder encoder = imageStegIO.getEncoder(seed, this.useDefaultHeader, this.useErrorCorrection);
 
@@ -216,7 +246,7 @@ public class ImageSteg implements Steganography {
         if (steganographicData == null)
             throw new NullPointerException("Parameter 'steganographicData' must not be null");
 
-        ImageStegIO imageStegIO = new ImageStegIOJava(steganographicData, this.preset);
+        ImageStegIO imageStegIO = new ImageStegIOJava(steganographicData, this.preset, this.constraintHeight);
 
         Encoder encoder = imageStegIO.getEncoder(seed, true, this.useErrorCorrection);
 
@@ -297,7 +327,7 @@ public class ImageSteg implements Steganography {
         if (steganographicData == null)
             throw new NullPointerException("Parameter 'steganographicData' must not be null");
 
-        ImageStegIO imageStegIO = new ImageStegIOJava(steganographicData, this.preset);
+        ImageStegIO imageStegIO = new ImageStegIOJava(steganographicData, this.preset, this.constraintHeight);
 
         Encoder encoder = imageStegIO.getEncoder(seed, false, this.useErrorCorrection);
 
@@ -318,7 +348,7 @@ public class ImageSteg implements Steganography {
         if (data == null)
             throw new NullPointerException("Parameter 'data' must not be null");
 
-        Encoder encoder = new ImageStegIOJava(data, this.preset).getEncoder(seed, true, this.useErrorCorrection);
+        Encoder encoder = new ImageStegIOJava(data, this.preset, this.constraintHeight).getEncoder(seed, true, this.useErrorCorrection);
 
         try {
             return bytesToInt(encoder.decode(4)) == HEADER_SIGNATURE;
@@ -341,7 +371,7 @@ public class ImageSteg implements Steganography {
     public int getImageCapacity(byte[] image)
             throws IOException, NoImageException, UnsupportedImageTypeException {
 
-        Encoder encoder = new ImageStegIOJava(image, this.preset)
+        Encoder encoder = new ImageStegIOJava(image, this.preset, this.constraintHeight)
                 .getEncoder(DEFAULT_SEED, false, this.useErrorCorrection);
 
         int capacity = encoder.available() / 8;
@@ -363,7 +393,7 @@ public class ImageSteg implements Steganography {
          * <p>It uses the {@link LossLessStcEncoder LossLessStcEncoder}, affecting only necessary Cover Elements.</p>
          * <p>The main use of this Preset is the output of images resisting steganalysis to a high degree.</p>
          */
-        DETECTION_RESISTANCE,
+        DETECTION_RESISTANCE(StcEncoder.DEFAULT_CONSTRAINT_HEIGHT),
 
         /**
          * <p>Results in composited Encoder best suited for compression resistance, while being less detection
@@ -371,7 +401,7 @@ public class ImageSteg implements Steganography {
          * <p>This Encoder will use no STCs, to reduce embedding impact, which also means no usage of a
          * DistortionFunction. The default target compression resistance QF 65.</p>
          */
-        COMPRESSION_RESISTANCE,
+        COMPRESSION_RESISTANCE(StcEncoder.DEFAULT_CONSTRAINT_HEIGHT),
 
         /**
          * <p>Results in composited Encoder trying to find a hybrid solution between compression and detection
@@ -381,7 +411,7 @@ public class ImageSteg implements Steganography {
          * resistance, while still maintaining reasonable detection resistance.</p>
          * <p>The Embedder used will be {@link DmasEmbedder DmasEmbedder}</p>
          */
-        RESISTANCE_HYBRID,
+        RESISTANCE_HYBRID(StcEncoder.DEFAULT_CONSTRAINT_HEIGHT),
 
         /**
          * <p>Results in composited Encoder only suited for Lossless formats (png and bmp).</p>
@@ -390,9 +420,27 @@ public class ImageSteg implements Steganography {
          * <p>While being the optimal solution for detection resistance, the output images are not at all
          * compression resistant and tend to be relatively big in disk space.</p>
          */
-        MINIMAL_IMPACT,
+        MINIMAL_IMPACT(StcEncoder.DEFAULT_CONSTRAINT_HEIGHT),
+
+        TEST(StcEncoder.DEFAULT_CONSTRAINT_HEIGHT);
+
+        private final int constraintHeight;
+
+        Preset(int constraintHeight) {
+            this.constraintHeight = constraintHeight;
+        }
 
-        TEST
+        /**
+         * <p>Returns the default height of the H_hat matrix <em>(constraint height)</em> of the STCs used by this
+         * Preset. Every message Bit walks {@code 2^h} trellis states, so lower heights encode faster, while higher
+         * heights cause less distortion. Presets not using STCs ignore it.</p>
+         * <p>The constraint height can be overridden by
+         * {@link ImageSteg#ImageSteg(boolean, boolean, Preset, int)}.</p>
+         * @return the default constraint height of this Preset
+         */
+        public int getConstraintHeight() {
+            return this.constraintHeight;
+        }
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////
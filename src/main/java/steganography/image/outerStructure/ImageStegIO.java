@@ -7,7 +7,7 @@ import steganography.image.exceptions.NoImageException;
 import steganography.image.exceptions.UnsupportedImageTypeException;
 import steganography.image.innerStructure.distortion.DistortionFunction;
 import steganography.image.innerStructure.embedders.Embedder;
-import steganography.image.innerStructure.encoders.wrappers.ReedSolomon;
+import steganography.image.innerStructure.encoders.wrappers.InterleavedReedSolomon;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
 
 import java.io.IOException;
@@ -42,12 +42,12 @@ public interface ImageStegIO {
      * @param sequential true if an Encoder with active sequential mode is required
      *                   (see {@link GeneralEncoder GeneralEnDeCoder})
      * @param useErrorCorrection true if the Encoder should use a
-     * {@link ReedSolomon Reed-Solomon error correction}
+     * {@link InterleavedReedSolomon Reed-Solomon error correction}
      * @return EnDecoder with set {@link BuffImgOverlay BuffImgOverlay},
      *      {@link Embedder Embedder} and
      *      {@link DistortionFunction DistortionFunction}
      *      chosen accordingly to the images type as well as optional
-     *      {@link ReedSolomon Reed-Solomon error correction}
+     *      {@link InterleavedReedSolomon Reed-Solomon error correction}
      * @throws UnsupportedImageTypeException if the images type is not supported by any known encoder / overlay
      * @throws IOException if there was an error during reading of input
      * @throws NoImageException if no image could be read from input
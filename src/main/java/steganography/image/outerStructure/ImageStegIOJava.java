@@ -1,6 +1,7 @@
 package steganography.image.outerStructure;
 
 import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.IntDistortionFunction;
 import steganography.image.innerStructure.distortion.JUniward;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
@@ -11,14 +12,17 @@ import steganography.image.innerStructure.encoders.GeneralEncoder;
 import steganography.image.innerStructure.encoders.plain.PlainEncoder;
 import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
 import steganography.image.innerStructure.encoders.stc.StcEncoder;
-import steganography.image.innerStructure.encoders.wrappers.ReedSolomon;
+import steganography.image.innerStructure.encoders.wrappers.InterleavedReedSolomon;
 import steganography.image.exceptions.ImageWritingException;
 import steganography.image.exceptions.NoImageException;
 import steganography.image.exceptions.UnsupportedImageTypeException;
 import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
 import steganography.image.innerStructure.overlays.PixelShuffleOverlay;
 import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.innerStructure.overlays.abstracts.IntCondition;
+import steganography.image.operation.pixelTranslation.PooledTranslatorSupplier;
 import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.image.operation.stc.StcEngine;
 import steganography.transforms.FastDct8;
 import steganography.transforms.Wavelet;
 
@@ -44,6 +48,12 @@ public class ImageStegIOJava implements ImageStegIO{
      */
     private final ImageSteg.Preset preset;
 
+    /**
+     * Height of the H_hat matrix <em>(constraint height)</em> of the STCs used by the {@link #preset}
+     * @see ImageSteg.Preset#getConstraintHeight()
+     */
+    private final int constraintHeight;
+
     /**
      * The quality factor used for JPEG images if JPEG is chosen as the output format
      */
@@ -74,7 +84,7 @@ public class ImageStegIOJava implements ImageStegIO{
     /**
      * Reusable check for transparency in single pixels
      */
-    public static final Predicate<Integer> isPixelOpaque = pixel ->
+    public static final IntCondition isPixelOpaque = pixel ->
             (pixel >> 24 & 0xff) > 0;
 
     /**
@@ -128,8 +138,26 @@ public class ImageStegIOJava implements ImageStegIO{
      * @param preset Preset to use for encoding and decoding
      */
     public ImageStegIOJava(byte[] image, ImageSteg.Preset preset) {
+        this(image, preset, preset == null ? StcEncoder.DEFAULT_CONSTRAINT_HEIGHT : preset.getConstraintHeight());
+    }
+
+    /**
+     * <p>Creates an object that exists to handle reading and writing of BufferedImages to and from byte arrays
+     * as well as choosing the appropriate combination of {@link GeneralEncoder Encoder},
+     * {@link Embedder Embedder},
+     * {@link BuffImgOverlay Overlay} and possibly
+     * {@link DistortionFunction DistortionFunction} for the given image according to
+     * the provided {@link ImageSteg.Preset}, using STCs of the provided constraint height.
+     * It holds on to the image during its en- or decoding.</p>
+     * <p>The image will only be processed if the methods getFormat() or getEncoder() are called.</p>
+     * @param image the image to handle In- and Output of
+     * @param preset Preset to use for encoding and decoding
+     * @param constraintHeight height of the H_hat matrix of the STCs used by the Preset
+     */
+    public ImageStegIOJava(byte[] image, ImageSteg.Preset preset, int constraintHeight) {
         this.input = image;
         this.preset = preset;
+        this.constraintHeight = constraintHeight;
     }
 
     private void processImage(byte[] carrier)
@@ -310,7 +338,7 @@ public class ImageStegIOJava implements ImageStegIO{
                 throw new UnsupportedImageTypeException("Image type (BufferedImage.TYPE = " + type + ") is not supported");
         }
 
-        return useErrorCorrection ? new ReedSolomon(enDecoder) : enDecoder;
+        return useErrorCorrection ? new InterleavedReedSolomon(enDecoder) : enDecoder;
     }
 
     private Encoder createEncoder(long seed, boolean sequential) {
@@ -318,39 +346,45 @@ public class ImageStegIOJava implements ImageStegIO{
 
             case COMPRESSION_RESISTANCE:
                 return new PlainEncoder<>(
-                        new DcrasEmbedder(Rgb2YCbCr::new, new FastDct8(), .65f, 3, 2),
+                        new DcrasEmbedder(new PooledTranslatorSupplier(Rgb2YCbCr::new), new FastDct8(), .65f, 3, 2),
                         new BlockShuffleOverlay(bufferedImage, seed, 16),
                         sequential
                 );
 
             case DETECTION_RESISTANCE:
                 return new LossLessStcEncoder<>(
-                        new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7),
+                        new DmasEmbedder(new PooledTranslatorSupplier(Rgb2YCbCr::new), new FastDct8(), .95f, 7, 7),
                         new BlockShuffleOverlay(bufferedImage, seed, 8,
                                 // the use of the second Predicate makes this profile more stable, but is untested
                                 allPixelsOpaque/*.and(noSingleColors)*/),
-                        new JUniward(Rgb2YCbCr::new, new Wavelet()),
+                        new JUniward(new PooledTranslatorSupplier(Rgb2YCbCr::new), new Wavelet()),
                         sequential,
-                        seed
+                        seed,
+                        this.constraintHeight,
+                        StcEngine.Precision.DOUBLE
                 );
 
             case MINIMAL_IMPACT:
                 return new LossLessStcEncoder<>(
-                        new PixelBit(),
+                        new PixelBit(seed),
                         new PixelShuffleOverlay(this.bufferedImage, seed, isPixelOpaque),
-                        (x, y) -> 1d,
+                        (IntDistortionFunction) (x, y) -> 1d,
                         sequential,
-                        seed
+                        seed,
+                        this.constraintHeight,
+                        StcEngine.Precision.DOUBLE
                 );
 
             case RESISTANCE_HYBRID:
             default:
                 return new StcEncoder<>(
-                        new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .85f-0.3f),
+                        new DmasEmbedder(new PooledTranslatorSupplier(Rgb2YCbCr::new), new FastDct8(), .85f-0.3f),
                         new BlockShuffleOverlay(bufferedImage, seed, 8),
-                        new JUniward(Rgb2YCbCr::new, new Wavelet()),
+                        new JUniward(new PooledTranslatorSupplier(Rgb2YCbCr::new), new Wavelet()),
                         sequential,
-                        seed
+                        seed,
+                        this.constraintHeight,
+                        StcEngine.Precision.DOUBLE
                 );
         }
     }
@@ -0,0 +1,148 @@
+package steganography.transforms;
+
+/**
+ * <p>One level 2-D wavelet transform of 8x8 blocks with the Daubechies wavelet of 8 vanishing moments (16 taps),
+ * equivalent to {@link Wavelet#Wavelet(jwave.Transform) Wavelet}({@code new jwave.Transform(new
+ * FastWaveletTransform(new Daubechies8()))}) except for rounding errors.</p>
+ * <p>Like JWave, each dimension is convolved periodically and downsampled, storing the approximation (low pass) in
+ * the first and the details (high pass) in the second half. For a length of 8, the 16 taps of the filters wrap
+ * around the vector twice, so they are folded into an 8x8 matrix once. The in place {@link FlatTransform} methods
+ * do not allocate anything.</p>
+ * <p>This class is stateless and thread-safe.</p>
+ */
+public class Daubechies8x8 implements Transform<double[][]>, FlatTransform {
+
+    /**
+     * Length of one side of the transformed blocks
+     */
+    public static final int SIDE = 8;
+
+    /**
+     * Scaling (low pass) decomposition filter of Daubechies8, as used by JWave
+     */
+    private static final double[] SCALING = {
+            -1.1747678400228192E-4, 6.754494059985568E-4, -3.917403729959771E-4, -0.00487035299301066,
+            0.008746094047015655, 0.013981027917015516, -0.04408825393106472, -0.01736930100202211,
+            0.128747426620186, 4.7248457399797254E-4, -0.2840155429624281, -0.015829105256023893,
+            0.5853546836548691, 0.6756307362980128, 0.3128715909144659, 0.05441584224308161
+    };
+
+    /**
+     * One level 1-D transform of a vector of length 8 in row major order: row {@code i < 4} holds the folded
+     * scaling filter of approximation {@code i}, row {@code i + 4} the folded wavelet filter of detail {@code i}.
+     * The reverse transform is its transpose, as the reconstruction filters equal the decomposition filters.
+     */
+    private static final double[] MATRIX = new double[SIDE * SIDE];
+
+    static {
+        int half = SIDE / 2;
+        for (int j = 0; j < SCALING.length; j++) {
+            // wavelet (high pass) filter is the alternating mirrored scaling filter
+            double wavelet = (j % 2 == 0 ? 1 : -1) * SCALING[SCALING.length - 1 - j];
+            for (int i = 0; i < half; i++) {
+                int k = (2 * i + j) % SIDE;
+                MATRIX[i * SIDE + k] += SCALING[j];
+                MATRIX[(i + half) * SIDE + k] += wavelet;
+            }
+        }
+    }
+
+    /**
+     * Perform the forward transform into Wavelet domain by one level in each dimension.
+     * @param values 8x8 matrix to transform, which is not modified
+     * @return the transformed values
+     * @throws ArrayIndexOutOfBoundsException if {@code values} is smaller than 8x8
+     */
+    @Override
+    public double[][] forward(double[][] values) {
+        double[] flat = flatten(values);
+        forward(flat);
+        return unflatten(flat);
+    }
+
+    /**
+     * Perform the reverse transform from Wavelet domain by one level in each dimension to spatial domain.
+     * @param values 8x8 matrix to transform, which is not modified
+     * @return the transformed values
+     * @throws ArrayIndexOutOfBoundsException if {@code values} is smaller than 8x8
+     */
+    @Override
+    public double[][] reverse(double[][] values) {
+        double[] flat = flatten(values);
+        reverse(flat);
+        return unflatten(flat);
+    }
+
+    /**
+     * <p>Performs the forward transform of an 8x8 matrix in row major order in place, with the same results as
+     * {@link #forward(double[][])}.</p>
+     * @param values the 64 values to transform
+     * @throws ArrayIndexOutOfBoundsException if {@code values.length < 64}
+     */
+    @Override
+    public void forward(double[] values) {
+        // rows first, then columns, like JWave
+        for (int row = 0; row < SIDE; row++)
+            multiply(values, row * SIDE, 1, false);
+        for (int col = 0; col < SIDE; col++)
+            multiply(values, col, SIDE, false);
+    }
+
+    /**
+     * <p>Performs the reverse transform of an 8x8 matrix in row major order in place, with the same results as
+     * {@link #reverse(double[][])}.</p>
+     * @param values the 64 values to transform
+     * @throws ArrayIndexOutOfBoundsException if {@code values.length < 64}
+     */
+    @Override
+    public void reverse(double[] values) {
+        // columns first, then rows, like JWave
+        for (int col = 0; col < SIDE; col++)
+            multiply(values, col, SIDE, true);
+        for (int row = 0; row < SIDE; row++)
+            multiply(values, row * SIDE, 1, true);
+    }
+
+    /**
+     * Multiplies the length-8 vector {@code vector[offset + i * stride]} in place with {@link #MATRIX}, or its
+     * transpose if {@code transposed}.
+     */
+    private static void multiply(double[] vector, int offset, int stride, boolean transposed) {
+        final double x0 = vector[offset];
+        final double x1 = vector[offset + stride];
+        final double x2 = vector[offset + 2 * stride];
+        final double x3 = vector[offset + 3 * stride];
+        final double x4 = vector[offset + 4 * stride];
+        final double x5 = vector[offset + 5 * stride];
+        final double x6 = vector[offset + 6 * stride];
+        final double x7 = vector[offset + 7 * stride];
+
+        // distance between two taps of one output in MATRIX, and between the first taps of two outputs
+        int tap = transposed ? SIDE : 1;
+        int next = transposed ? 1 : SIDE;
+        for (int i = 0, m = 0; i < SIDE; i++, m += next) {
+            vector[offset + i * stride] = MATRIX[m] * x0
+                    + MATRIX[m + tap] * x1
+                    + MATRIX[m + 2 * tap] * x2
+                    + MATRIX[m + 3 * tap] * x3
+                    + MATRIX[m + 4 * tap] * x4
+                    + MATRIX[m + 5 * tap] * x5
+                    + MATRIX[m + 6 * tap] * x6
+                    + MATRIX[m + 7 * tap] * x7;
+        }
+    }
+
+    private static double[] flatten(double[][] values) {
+        double[] flat = new double[SIDE * SIDE];
+        for (int i = 0; i < SIDE; i++)
+            System.arraycopy(values[i], 0, flat, i * SIDE, SIDE);
+        return flat;
+    }
+
+    private static double[][] unflatten(double[] flat) {
+        double[][] values = new double[SIDE][SIDE];
+        for (int i = 0; i < SIDE; i++)
+            System.arraycopy(flat, i * SIDE, values[i], 0, SIDE);
+        return values;
+    }
+}
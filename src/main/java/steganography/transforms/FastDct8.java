@@ -24,7 +24,7 @@ package steganography.transforms;
  */
 
 
-public class FastDct8 implements Transform<double[][]> {
+public class FastDct8 implements Transform<double[][]>, FlatTransform {
 
     /**
      * <p>Computes the scaled DCT type II on the provided 8x8 matrix and returns the result. It normalizes
@@ -47,7 +47,7 @@ public class FastDct8 implements Transform<double[][]> {
 
         // perform FDCT for each row and store result in a transposed matrix
         for (int row = 0; row < result.length; row++) {
-            forward(result[row]);
+            forward(result[row], 0, 1);
             for (int col = 0; col < result[row].length; col++) {
                 transposed[col][row] = result[row][col];
             }
@@ -56,7 +56,7 @@ public class FastDct8 implements Transform<double[][]> {
         // perform FDCT for each row of the transposed matrix
         // and store the transposed result in the result matrix
         for (int row = 0; row < transposed.length; row++) {
-            forward(transposed[row]);
+            forward(transposed[row], 0, 1);
             for (int col = 0; col < transposed[row].length; col++) {
                 result[col][row] = transposed[row][col];
             }
@@ -66,13 +66,34 @@ public class FastDct8 implements Transform<double[][]> {
     }
 
     /**
-     * Computes the scaled DCT type II on the specified length-8 array in place.
+     * <p>Computes the scaled DCT type II on the provided 8x8 matrix in row major order in place, with the same
+     * results as {@link #forward(double[][])}.</p>
+     * @param values the 64 values to transform
+     * @throws ArrayIndexOutOfBoundsException if {@code values.length < 64}
+     */
+    @Override
+    public void forward(double[] values) {
+        // restrict ([0,255]) and normalize (-128) all values
+        for (int i = 0; i < 64; i++)
+            values[i] = Math.max(0, Math.min(255, values[i])) - 128;
+
+        // rows first, then columns, like the transposing version
+        for (int row = 0; row < 8; row++)
+            forward(values, row * 8, 1);
+        for (int col = 0; col < 8; col++)
+            forward(values, col, 8);
+    }
+
+    /**
+     * Computes the scaled DCT type II on the length-8 vector {@code vector[offset + i * stride]} in place.
      * <p>The inverse of this function is {@link #reverse}, except for rounding errors.</p>
-     * @param vector the vector of numbers to transform
+     * @param vector the array containing the vector of numbers to transform
+     * @param offset index of the first number of the vector
+     * @param stride distance between the indices of two numbers of the vector
      * @throws NullPointerException if the array is {@code null}
      */
-    // This method is obtained unaltered from Nayuki Project. See license above.
-    private void forward(double[] vector) {
+    // This method is obtained from Nayuki Project, only adapted to offset and stride. See license above.
+    private void forward(double[] vector, int offset, int stride) {
         // Algorithm by Arai, Agui, Nakajima, 1988. For details, see:
         // https://web.stanford.edu/class/ee398a/handouts/lectures/07-TransformCoding.pdf#page=30
         final double v0, v1, v2, v3, v4, v5, v6, v7, v8, v9,
@@ -80,14 +101,23 @@ public class FastDct8 implements Transform<double[][]> {
                 v20, v21, v22, v23, v24, v25, v26, v27, v28;
 
 
-        v0 = vector[0] + vector[7];
-        v1 = vector[1] + vector[6];
-        v2 = vector[2] + vector[5];
-        v3 = vector[3] + vector[4];
-        v4 = vector[3] - vector[4];
-        v5 = vector[2] - vector[5];
-        v6 = vector[1] - vector[6];
-        v7 = vector[0] - vector[7];
+        final double x0 = vector[offset];
+        final double x1 = vector[offset + stride];
+        final double x2 = vector[offset + 2 * stride];
+        final double x3 = vector[offset + 3 * stride];
+        final double x4 = vector[offset + 4 * stride];
+        final double x5 = vector[offset + 5 * stride];
+        final double x6 = vector[offset + 6 * stride];
+        final double x7 = vector[offset + 7 * stride];
+
+        v0 = x0 + x7;
+        v1 = x1 + x6;
+        v2 = x2 + x5;
+        v3 = x3 + x4;
+        v4 = x3 - x4;
+        v5 = x2 - x5;
+        v6 = x1 - x6;
+        v7 = x0 - x7;
 
         v8 = v0 + v3;
         v9 = v1 + v2;
@@ -115,14 +145,14 @@ public class FastDct8 implements Transform<double[][]> {
         v27 = v23 - v20;
         v28 = v24 - v19;
 
-        vector[0] = S[0] * v15;
-        vector[1] = S[1] * v26;
-        vector[2] = S[2] * v21;
-        vector[3] = S[3] * v28;
-        vector[4] = S[4] * v16;
-        vector[5] = S[5] * v25;
-        vector[6] = S[6] * v22;
-        vector[7] = S[7] * v27;
+        vector[offset] = S[0] * v15;
+        vector[offset + stride] = S[1] * v26;
+        vector[offset + 2 * stride] = S[2] * v21;
+        vector[offset + 3 * stride] = S[3] * v28;
+        vector[offset + 4 * stride] = S[4] * v16;
+        vector[offset + 5 * stride] = S[5] * v25;
+        vector[offset + 6 * stride] = S[6] * v22;
+        vector[offset + 7 * stride] = S[7] * v27;
     }
 
     /**
@@ -144,7 +174,7 @@ public class FastDct8 implements Transform<double[][]> {
 
         // perform IDCT for each row and store result in a transposed matrix
         for (int row = 0; row < result.length; row++) {
-            reverse(result[row]);
+            reverse(result[row], 0, 1);
             for (int col = 0; col < result[row].length; col++) {
                 transposed[col][row] = result[row][col];
             }
@@ -153,7 +183,7 @@ public class FastDct8 implements Transform<double[][]> {
         // perform IDCT for each row of the transposed matrix
         // and store the transposed result in a new matrix
         for (int row = 0; row < transposed.length; row++) {
-            reverse(transposed[row]);
+            reverse(transposed[row], 0, 1);
             for (int col = 0; col < transposed[row].length; col++) {
                 result[col][row] = transposed[row][col];
             }
@@ -172,26 +202,47 @@ public class FastDct8 implements Transform<double[][]> {
 
 
     /**
-     * Computes the scaled DCT type III on the specified length-8 array in place.
+     * <p>Computes the scaled DCT type III on the provided 8x8 matrix in row major order in place, with the same
+     * results as {@link #reverse(double[][])}.</p>
+     * @param values the 64 values to transform
+     * @throws ArrayIndexOutOfBoundsException if {@code values.length < 64}
+     */
+    @Override
+    public void reverse(double[] values) {
+        // rows first, then columns, like the transposing version
+        for (int row = 0; row < 8; row++)
+            reverse(values, row * 8, 1);
+        for (int col = 0; col < 8; col++)
+            reverse(values, col, 8);
+
+        // denormalize and round all values, restrict them to [0,255]
+        for (int i = 0; i < 64; i++)
+            values[i] = Math.max(0, Math.min(255, Math.round(values[i] + 128)));
+    }
+
+    /**
+     * Computes the scaled DCT type III on the length-8 vector {@code vector[offset + i * stride]} in place.
      * <p>The inverse of this function is {@link #forward}, except for rounding errors.</p>
-     * @param vector the vector of numbers to transform
+     * @param vector the array containing the vector of numbers to transform
+     * @param offset index of the first number of the vector
+     * @param stride distance between the indices of two numbers of the vector
      * @throws NullPointerException if the array is {@code null}
      */
-    // This method is obtained unaltered from Nayuki Project. See license above.
-    private void reverse(double[] vector) {
+    // This method is obtained from Nayuki Project, only adapted to offset and stride. See license above.
+    private void reverse(double[] vector, int offset, int stride) {
         // A straightforward inverse of the forward algorithm
         final double v0, v1, v2, v3, v4, v5, v6, v7, v8, v9,
                 v10, v11, v12, v13, v14, v15, v16, v17, v18, v19,
                 v20, v21, v22, v23, v24, v25, v26, v27, v28;
 
-        v15 = vector[0] / S[0];
-        v26 = vector[1] / S[1];
-        v21 = vector[2] / S[2];
-        v28 = vector[3] / S[3];
-        v16 = vector[4] / S[4];
-        v25 = vector[5] / S[5];
-        v22 = vector[6] / S[6];
-        v27 = vector[7] / S[7];
+        v15 = vector[offset] / S[0];
+        v26 = vector[offset + stride] / S[1];
+        v21 = vector[offset + 2 * stride] / S[2];
+        v28 = vector[offset + 3 * stride] / S[3];
+        v16 = vector[offset + 4 * stride] / S[4];
+        v25 = vector[offset + 5 * stride] / S[5];
+        v22 = vector[offset + 6 * stride] / S[6];
+        v27 = vector[offset + 7 * stride] / S[7];
 
         v19 = (v25 - v28) / 2;
         v20 = (v26 - v27) / 2;
@@ -220,14 +271,14 @@ public class FastDct8 implements Transform<double[][]> {
         v2 = (v9 - v10) / 2;
         v3 = (v8 - v11) / 2;
 
-        vector[0] = (v0 + v7) / 2;
-        vector[1] = (v1 + v6) / 2;
-        vector[2] = (v2 + v5) / 2;
-        vector[3] = (v3 + v4) / 2;
-        vector[4] = (v3 - v4) / 2;
-        vector[5] = (v2 - v5) / 2;
-        vector[6] = (v1 - v6) / 2;
-        vector[7] = (v0 - v7) / 2;
+        vector[offset] = (v0 + v7) / 2;
+        vector[offset + stride] = (v1 + v6) / 2;
+        vector[offset + 2 * stride] = (v2 + v5) / 2;
+        vector[offset + 3 * stride] = (v3 + v4) / 2;
+        vector[offset + 4 * stride] = (v3 - v4) / 2;
+        vector[offset + 5 * stride] = (v2 - v5) / 2;
+        vector[offset + 6 * stride] = (v1 - v6) / 2;
+        vector[offset + 7 * stride] = (v0 - v7) / 2;
     }
 
 
@@ -0,0 +1,21 @@
+package steganography.transforms;
+
+/**
+ * <p>Implementing Classes transform square blocks of doubles, stored in row major order in a flat array, in place.
+ * Unlike {@link Transform}, this allows callers to reuse one array for many blocks without allocating.</p>
+ * <p>A class implementing both {@link Transform} and FlatTransform must return the same values with both.</p>
+ */
+public interface FlatTransform {
+
+    /**
+     * Perform the forward transform into this Transforms domain in place.
+     * @param values values to be transformed, replaced by the transformed values
+     */
+    void forward(double[] values);
+
+    /**
+     * Perform the reverse transform into the domain the input of {@link #forward} is in, in place.
+     * @param values transformed values to reverse the Transform of, replaced by the reversed values
+     */
+    void reverse(double[] values);
+}
@@ -6,13 +6,18 @@ import jwave.transforms.wavelets.daubechies.Daubechies20;
 import jwave.transforms.wavelets.daubechies.Daubechies8;
 import jwave.transforms.wavelets.haar.Haar1;
 
-public class Wavelet implements steganography.transforms.Transform<double[][]> {
+public class Wavelet implements steganography.transforms.Transform<double[][]>, FlatTransform {
 
     /**
-     * The {@link Transform} to use
+     * The {@link Transform} to use, or null to use {@link #block} (and {@link Generic} for other sizes than 8x8)
      */
     private final Transform transform;
 
+    /**
+     * Specialization of the default {@link Transform} for 8x8 blocks, or null if a {@link Transform} was provided
+     */
+    private final Daubechies8x8 block;
+
     /**
      * <p>Creates an Object to perform Wavelet Transforms with.</p>
      * <p>This Class uses {@link jwave} <a href=https://github.com/graetz23/JWave>(Github)</a>.</p>
@@ -20,15 +25,18 @@ public class Wavelet implements steganography.transforms.Transform<double[][]> {
      */
     public Wavelet(Transform transform) {
         this.transform = transform;
+        this.block = null;
     }
 
     /**
      * <p>Creates an Object to perform Wavelet Transforms with.</p>
-     * <p>This Class uses {@link jwave} <a href=https://github.com/graetz23/JWave>(Github)</a>.</p>
-     * <p>The default {@link Transform} is {@link FastWaveletTransform}({@link Daubechies8})</p>
+     * <p>The default {@link Transform} is {@link FastWaveletTransform}({@link Daubechies8}). 8x8 blocks are
+     * transformed by {@link Daubechies8x8} instead, which only differs by rounding errors. Only other sizes use
+     * {@link jwave} <a href=https://github.com/graetz23/JWave>(Github)</a>.</p>
      */
     public Wavelet() {
-        this.transform = new Transform(new FastWaveletTransform(new Daubechies8()));
+        this.transform = null;
+        this.block = new Daubechies8x8();
     }
 
     /**
@@ -37,7 +45,9 @@ public class Wavelet implements steganography.transforms.Transform<double[][]> {
      */
     @Override
     public double[][] forward(double[][] spValues) {
-        return this.transform.forward(spValues, 1, 1);
+        if (isBlock(spValues))
+            return this.block.forward(spValues);
+        return transform().forward(spValues, 1, 1);
     }
 
     /**
@@ -46,7 +56,35 @@ public class Wavelet implements steganography.transforms.Transform<double[][]> {
      */
     @Override
     public double[][] reverse(double[][] trValues) {
-        return this.transform.reverse(trValues, 1, 1);
+        if (isBlock(trValues))
+            return this.block.reverse(trValues);
+        return transform().reverse(trValues, 1, 1);
+    }
+
+    /**
+     * <p>Performs {@link #forward(double[][])} on a square matrix in row major order in place. This does not
+     * allocate anything for 8x8 blocks with the default {@link Transform}.</p>
+     * @param spValues values of a square matrix to transform, replaced by the transformed values
+     */
+    @Override
+    public void forward(double[] spValues) {
+        if (this.block != null && spValues.length == Daubechies8x8.SIDE * Daubechies8x8.SIDE)
+            this.block.forward(spValues);
+        else
+            flatten(forward(unflatten(spValues)), spValues);
+    }
+
+    /**
+     * <p>Performs {@link #reverse(double[][])} on a square matrix in row major order in place. This does not
+     * allocate anything for 8x8 blocks with the default {@link Transform}.</p>
+     * @param trValues values of a square matrix to transform, replaced by the transformed values
+     */
+    @Override
+    public void reverse(double[] trValues) {
+        if (this.block != null && trValues.length == Daubechies8x8.SIDE * Daubechies8x8.SIDE)
+            this.block.reverse(trValues);
+        else
+            flatten(reverse(unflatten(trValues)), trValues);
     }
 
     /**
@@ -70,4 +108,52 @@ public class Wavelet implements steganography.transforms.Transform<double[][]> {
         }
         return sum;
     }
+
+    /**
+     * <p>Performs {@link #detailSum(double[][])} on a square matrix in row major order. This does not allocate
+     * anything for 8x8 blocks with the default {@link Transform}.</p>
+     * @param spValues values of a square matrix to sum the details of, replaced by their transform
+     * @return the sum of all values in the one level wavelet subbands excluding LL (approximation)
+     */
+    public double detailSum(double[] spValues) {
+        forward(spValues);
+        int side = (int) Math.sqrt(spValues.length);
+        double sum = 0;
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                if (i < side / 2 && j < side / 2) continue;
+
+                sum += Math.abs(spValues[i * side + j]);
+            }
+        }
+        return sum;
+    }
+
+    private boolean isBlock(double[][] values) {
+        return this.block != null && values.length == Daubechies8x8.SIDE && values[0].length == Daubechies8x8.SIDE;
+    }
+
+    private Transform transform() {
+        return this.transform != null ? this.transform : Generic.DAUBECHIES8;
+    }
+
+    private static double[][] unflatten(double[] flat) {
+        int side = (int) Math.sqrt(flat.length);
+        double[][] values = new double[side][side];
+        for (int i = 0; i < side; i++)
+            System.arraycopy(flat, i * side, values[i], 0, side);
+        return values;
+    }
+
+    private static void flatten(double[][] values, double[] flat) {
+        for (int i = 0; i < values.length; i++)
+            System.arraycopy(values[i], 0, flat, i * values[i].length, values[i].length);
+    }
+
+    /**
+     * Holds the default {@link Transform} for other sizes than 8x8, only created once it is needed
+     */
+    private static final class Generic {
+        private static final Transform DAUBECHIES8 = new Transform(new FastWaveletTransform(new Daubechies8()));
+    }
 }
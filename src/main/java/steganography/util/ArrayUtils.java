@@ -110,6 +110,22 @@ public class ArrayUtils {
         return minInd;
     }
 
+    /**
+     * @return the index of the minimum value in the provided array.
+     * @param arr array to find the index of the minimum value of
+     */
+    public static int minInd(float[] arr) {
+        float min = Float.MAX_VALUE;
+        int minInd = -1;
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] < min) {
+                min = arr[i];
+                minInd = i;
+            }
+        }
+        return minInd;
+    }
+
     /**
      * Converts ints from provided array "from" to bytes in provided array "to"
      * up to the length of the smaller array. Function sets values in-place
@@ -26,14 +26,36 @@ public final class Quantizer {
     };
 
     /**
-     * <p>Returns a JPEG Quantization table corresponding to the provided Q factor.</p>
+     * <p>Quantization tables of all quality factors, as returned by {@link #makeTables(int)}, at the index of their
+     * quality as returned by {@link #getQuality(float)} minus one.</p>
+     * <p>There are only 100 distinct tables, so all are calculated once when this class is loaded. They are never
+     * modified or returned to callers, which makes them safe to share between threads.</p>
+     */
+    private static final double[][] TABLES = new double[100][];
+
+    static {
+        for (int q = 1; q <= 100; q++)
+            TABLES[q - 1] = makeTables(q);
+    }
+
+    /**
+     * <p>Returns the cached JPEG Quantization table corresponding to the provided Q factor, which must not be
+     * modified.</p>
+     * @param qf Quality factor for calculating the quantization table
+     */
+    private static double[] getTables(float qf) {
+        return TABLES[getQuality(qf) - 1];
+    }
+
+    /**
+     * <p>Returns a JPEG Quantization table corresponding to the provided quality.</p>
      * <p>This is the adapted algorithm from RFC2035 <em>(see {@link Quantizer} Appendix A)</em></p>
      * <p>The algorithm was modularized and calculation of chrominance tables was removed.</p>
-     * @param qf Quality factor for calculating the quantization table
+     * @param q quality as returned by {@link #getQuality(float)} for calculating the quantization table
      */
-    private static double[] makeTables(float qf)
+    private static double[] makeTables(int q)
     {
-        int factor = getScaling(qf);
+        int factor = getScaling(q);
 
         double[] lum_q = new double[64];
         for (int i = 0; i < 64; i++) {
@@ -43,16 +65,23 @@ public final class Quantizer {
     }
 
     /**
-     * <p>Returns the scaling factor according to the provided quality factor {@code qf}.</p>
-     * <p>The value is multiplied by 100 and then truncated to the interval [1,99].</p>
+     * <p>Returns the quality according to the provided quality factor {@code qf}.</p>
+     * <p>The value is multiplied by 100 and then truncated to the interval [1,100].</p>
      * @param qf the desired quality factor to quantize a matrix with
-     * @return a scaling factor to scale each element of the base table to produce a quantization table corresponding
-     *      to {@code qf}
+     * @return the quality in the interval [1,100]
      */
-    private static int getScaling(float qf) {
+    private static int getQuality(float qf) {
         int q = (int) (qf * 100);
-        q = Math.max(1, Math.min(q, 100));
+        return Math.max(1, Math.min(q, 100));
+    }
 
+    /**
+     * <p>Returns the scaling factor according to the provided quality {@code q}.</p>
+     * @param q the quality as returned by {@link #getQuality(float)}
+     * @return a scaling factor to scale each element of the base table to produce a quantization table corresponding
+     *      to {@code q}
+     */
+    private static int getScaling(int q) {
         return q < 50 ? 5000 / q : 200 - q * 2;
     }
 
@@ -76,14 +105,14 @@ public final class Quantizer {
      * @return the quantization value at index {@code index} in a 1D-Array
      */
     public static int quantizationValue(int index, float qf) {
-        return quantizationValue(index, getScaling(qf));
+        return (int) getTables(qf)[index];
     }
 
     /**
      * Returns a single quantization value corresponding to the provided index in a quantization table represented
      * as a 1D-Array.
      * @param index the index of the quantization value in a 1D-Array
-     * @param q the q value as returned by {@link #getScaling(float)} to use to calculate the quantization value
+     * @param q the q value as returned by {@link #getScaling(int)} to use to calculate the quantization value
      * @return the quantization value at index {@code index} in a 1D-Array
      */
     private static int quantizationValue(int index, int q) {
@@ -104,7 +133,7 @@ public final class Quantizer {
      * @return quantized {@code values}
      */
     public static double[][] quantize(double[][] values, float qf) {
-        return quantize(values, makeTables(qf));
+        return quantize(values, getTables(qf));
     }
 
     /**
@@ -136,7 +165,7 @@ public final class Quantizer {
      * @return dequantized {@code values}
      */
     public static double[][] dequantize(double[][] values, float qf) {
-        return dequantize(values, makeTables(qf));
+        return dequantize(values, getTables(qf));
     }
 
     /**
@@ -171,7 +200,7 @@ public final class Quantizer {
      * @return prequantized {@code values}
      */
     public static double[][] prequantize(double[][] values, float qf) {
-        return prequantize(values, makeTables(qf));
+        return prequantize(values, getTables(qf));
     }
 
     /**
@@ -196,4 +225,58 @@ public final class Quantizer {
         }
         return prequantized;
     }
+
+    /**
+     * <p>Prequantizes the provided values in place, like {@link #prequantize(double[][], float)}, but with the
+     * values of an 8x8 matrix in row major order.</p>
+     * @param values 64 values (intended for image elements in DCT domain) to prequantize, replaced by the result
+     * @param qf quality factor to prequantize {@code values} according to
+     * @throws IndexOutOfBoundsException if {@code values.length < 64}
+     * @return {@code values}
+     */
+    public static double[] prequantize(double[] values, float qf) {
+        return prequantize(values, getTables(qf));
+    }
+
+    /**
+     * <p>Prequantizes the provided values in place, like {@link #prequantize(double[][], double[])}, but with the
+     * values of an 8x8 matrix in row major order.</p>
+     * @param values 64 values (intended for image elements in DCT domain) to prequantize, replaced by the result
+     * @param qT quantization matrix to prequantize {@code values} with
+     * @throws IndexOutOfBoundsException if {@code values.length < 64}
+     * @return {@code values}
+     */
+    public static double[] prequantize(double[] values, double[] qT) {
+        return prequantize(values, qT, values);
+    }
+
+    /**
+     * <p>Prequantizes the provided values like {@link #prequantize(double[], float)}, but writes the result into
+     * {@code result} instead of replacing {@code values}.</p>
+     * @param values 64 values (intended for image elements in DCT domain) to prequantize, which are not modified
+     *               unless they are {@code result}
+     * @param qf quality factor to prequantize {@code values} according to
+     * @param result array of at least length 64 to write the prequantized values into
+     * @throws IndexOutOfBoundsException if {@code values.length < 64 || result.length < 64}
+     * @return {@code result}
+     */
+    public static double[] prequantize(double[] values, float qf, double[] result) {
+        return prequantize(values, getTables(qf), result);
+    }
+
+    /**
+     * <p>Prequantizes the provided values like {@link #prequantize(double[], double[])}, but writes the result into
+     * {@code result} instead of replacing {@code values}.</p>
+     * @param values 64 values (intended for image elements in DCT domain) to prequantize, which are not modified
+     *               unless they are {@code result}
+     * @param qT quantization matrix to prequantize {@code values} with
+     * @param result array of at least length 64 to write the prequantized values into
+     * @throws IndexOutOfBoundsException if {@code values.length < 64 || result.length < 64}
+     * @return {@code result}
+     */
+    public static double[] prequantize(double[] values, double[] qT, double[] result) {
+        for (int i = 0; i < 64; i++)
+            result[i] = Math.round(values[i] / qT[i]) * qT[i];
+        return result;
+    }
 }
@@ -0,0 +1,136 @@
+package steganography.image.operation.stc;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>{@link StcEngine} calculating the forward part of the viterbi algorithm with the (incubating) JDK Vector API,
+ * processing as many trellis states at once as the preferred vector species of the platform holds.</p>
+ * <p>The state {@code k ^ hhCol} of every lane {@code k} is read by loading the aligned vector at
+ * {@code base ^ (hhCol & -LANES)} and rearranging its lanes by {@code hhCol & (LANES-1)}. Additions, comparisons
+ * and minima are the same IEEE operations as in the scalar engine, so the results are bit-identical. Weights in
+ * {@link Precision#FLOAT} use twice as many lanes.</p>
+ * <p>This class requires Java 17 or later and the module {@code jdk.incubator.vector}
+ * ({@code --add-modules jdk.incubator.vector}). It should not be instantiated directly, but through
+ * {@link StcEngine#create(int)}, which falls back to the scalar engine if the module is unavailable.</p>
+ */
+public class VectorizedStcEngine extends StcEngine {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private static final int FLOAT_LANES = FLOAT_SPECIES.length();
+
+    /**
+     * Lane permutations {@code i -> i ^ low} for every possible {@code low = hhCol & (LANES-1)}
+     */
+    private final VectorShuffle<Double>[] shuffles;
+
+    /**
+     * Lane permutations {@code i -> i ^ low} for every possible {@code low = hhCol & (FLOAT_LANES-1)}
+     */
+    private final VectorShuffle<Float>[] floatShuffles;
+
+    /**
+     * Creates a vectorized trellis engine for the provided constraint height.
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive)
+     */
+    public VectorizedStcEngine(int height) {
+        this(height, Precision.DOUBLE);
+    }
+
+    /**
+     * Creates a vectorized trellis engine for the provided constraint height, accumulating weights in the provided
+     * precision.
+     * @param height height of the H_hat matrix <em>(constraint height)</em>
+     * @param precision precision of the trellis weights
+     * @throws IllegalArgumentException if {@code height} is not between 1 and 30 (both inclusive) or
+     *                                  {@code precision} is null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public VectorizedStcEngine(int height, Precision precision) {
+        super(height, precision);
+
+        this.shuffles = new VectorShuffle[LANES];
+        for (int low = 0; low < LANES; low++) {
+            final int l = low;
+            this.shuffles[low] = VectorShuffle.fromOp(SPECIES, i -> i ^ l);
+        }
+
+        this.floatShuffles = new VectorShuffle[FLOAT_LANES];
+        for (int low = 0; low < FLOAT_LANES; low++) {
+            final int l = low;
+            this.floatShuffles[low] = VectorShuffle.fromOp(FLOAT_SPECIES, i -> i ^ l);
+        }
+    }
+
+    @Override
+    protected void forwardStep(double[] wght, double[] newWght, int hhCol, double cost0, double cost1,
+                               long[] path, int offset) {
+        // less states than lanes, nothing to gain
+        if (this.stateAmount < LANES || LANES > 64) {
+            super.forwardStep(wght, newWght, hhCol, cost0, cost1, path, offset);
+            return;
+        }
+
+        int colHigh = hhCol & -LANES;
+        VectorShuffle<Double> shuffle = this.shuffles[hhCol & (LANES - 1)];
+
+        long bits = 0;
+        for (int base = 0; base < this.stateAmount; base += LANES) {
+            DoubleVector w0 = DoubleVector.fromArray(SPECIES, wght, base).add(cost0);
+            DoubleVector w1 = DoubleVector.fromArray(SPECIES, wght, base ^ colHigh).rearrange(shuffle).add(cost1);
+
+            bits |= w1.lt(w0).toLong() << (base & 63);
+            w0.min(w1).intoArray(newWght, base);
+
+            // one long holds the back-pointers of 64 states
+            if (((base + LANES) & 63) == 0) {
+                path[offset + (base >>> 6)] = bits;
+                bits = 0;
+            }
+        }
+
+        // less than 64 states in total
+        if ((this.stateAmount & 63) != 0)
+            path[offset] = bits;
+    }
+
+    @Override
+    protected void forwardStep(float[] wght, float[] newWght, int hhCol, float cost0, float cost1,
+                               long[] path, int offset) {
+        // less states than lanes, nothing to gain
+        if (this.stateAmount < FLOAT_LANES || FLOAT_LANES > 64) {
+            super.forwardStep(wght, newWght, hhCol, cost0, cost1, path, offset);
+            return;
+        }
+
+        int colHigh = hhCol & -FLOAT_LANES;
+        VectorShuffle<Float> shuffle = this.floatShuffles[hhCol & (FLOAT_LANES - 1)];
+
+        long bits = 0;
+        for (int base = 0; base < this.stateAmount; base += FLOAT_LANES) {
+            FloatVector w0 = FloatVector.fromArray(FLOAT_SPECIES, wght, base).add(cost0);
+            FloatVector w1 = FloatVector.fromArray(FLOAT_SPECIES, wght, base ^ colHigh).rearrange(shuffle).add(cost1);
+
+            bits |= w1.lt(w0).toLong() << (base & 63);
+            w0.min(w1).intoArray(newWght, base);
+
+            // one long holds the back-pointers of 64 states
+            if (((base + FLOAT_LANES) & 63) == 0) {
+                path[offset + (base >>> 6)] = bits;
+                bits = 0;
+            }
+        }
+
+        // less than 64 states in total
+        if ((this.stateAmount & 63) != 0)
+            path[offset] = bits;
+    }
+}
@@ -0,0 +1,203 @@
+package steganography.image.innerStructure.distortion;
+
+import jwave.transforms.wavelets.daubechies.Daubechies8;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.innerStructure.overlays.abstracts.SequenceOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class TestJUniwardMap {
+
+    private static final int SIZE = 64;
+
+    /**
+     * Gray image with noise in the left half and a flat right half
+     */
+    private BufferedImage getImage() {
+        return getImage(SIZE, SIZE);
+    }
+
+    private BufferedImage getImage(int width, int height) {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = x < width / 2 ? 64 + random.nextInt(128) : 128;
+                image.setRGB(x, y, gray << 16 | gray << 8 | gray);
+            }
+        }
+        return image;
+    }
+
+    private int findPosition(SequenceOverlay<int[]> overlay, int x, int y) {
+        for (int i = 0; i < overlay.available(); i++) {
+            if (overlay.calcX(i) == x && overlay.calcY(i) == y)
+                return i;
+        }
+        throw new IllegalStateException("No block at " + x + ", " + y);
+    }
+
+    private int[] change(int[] block, int index, int amount) {
+        int[] changed = block.clone();
+        int gray = (changed[index] & 255) + amount;
+        changed[index] = (changed[index] & 0xff000000) | gray << 16 | gray << 8 | gray;
+        return changed;
+    }
+
+    @Test
+    void test_JUniwardMap_sameAsWholeImageResiduals() {
+        BufferedImage image = getImage();
+        SequenceOverlay<int[]> overlay = new BlockShuffleOverlay(image, 0, 8);
+        JUniwardMap jUniwardMap = new JUniwardMap(image, overlay, Rgb2YCbCr::new);
+
+        int position = findPosition(overlay, 24, 32);
+        int[] original = overlay.get(position);
+        int[] embedded = change(change(original, 10, 3), 45, -2);
+
+        BufferedImage changed = getImage();
+        changed.setRGB(24, 32, 8, 8, embedded, 0, 8);
+
+        Assertions.assertEquals(
+                wholeImageDistortion(image, changed),
+                jUniwardMap.calculateDistortion(original, embedded, position),
+                1e-9
+        );
+    }
+
+    @Test
+    void test_JUniwardMap_nonSquareImage_sameAsWholeImageResiduals() {
+        BufferedImage image = getImage(SIZE, 40);
+        SequenceOverlay<int[]> overlay = new BlockShuffleOverlay(image, 0, 8);
+        JUniwardMap jUniwardMap = new JUniwardMap(image, overlay, Rgb2YCbCr::new);
+
+        int position = findPosition(overlay, 56, 32);
+        int[] original = overlay.get(position);
+        int[] embedded = change(change(original, 0, 2), 63, -3);
+
+        BufferedImage changed = getImage(SIZE, 40);
+        changed.setRGB(56, 32, 8, 8, embedded, 0, 8);
+
+        Assertions.assertEquals(
+                wholeImageDistortion(image, changed),
+                jUniwardMap.calculateDistortion(original, embedded, position),
+                1e-9
+        );
+    }
+
+    /**
+     * Tests that the buffers reused per thread do not mix up concurrent queries
+     */
+    @Test
+    void test_JUniwardMap_concurrentQueries_sameAsSequential() throws InterruptedException {
+        BufferedImage image = getImage();
+        SequenceOverlay<int[]> overlay = new BlockShuffleOverlay(image, 0, 8);
+        JUniwardMap jUniwardMap = new JUniwardMap(image, overlay, Rgb2YCbCr::new);
+
+        int amount = overlay.available();
+        double[] expected = new double[amount];
+        for (int i = 0; i < amount; i++)
+            expected[i] = jUniwardMap.calculateDistortion(overlay.get(i), change(overlay.get(i), i, 1), i);
+
+        double[][] actual = new double[4][amount];
+        Thread[] threads = new Thread[actual.length];
+        for (int t = 0; t < threads.length; t++) {
+            double[] results = actual[t];
+            threads[t] = new Thread(() -> {
+                for (int r = 0; r < 20; r++) {
+                    for (int i = 0; i < amount; i++)
+                        results[i] = jUniwardMap.calculateDistortion(overlay.get(i), change(overlay.get(i), i, 1), i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        for (double[] results : actual)
+            Assertions.assertArrayEquals(expected, results);
+    }
+
+    @Test
+    void test_JUniwardMap_unchanged_zero() {
+        BufferedImage image = getImage();
+        SequenceOverlay<int[]> overlay = new BlockShuffleOverlay(image, 0, 8);
+        JUniwardMap jUniwardMap = new JUniwardMap(image, overlay, Rgb2YCbCr::new);
+
+        for (int i = 0; i < overlay.available(); i++)
+            Assertions.assertEquals(0, jUniwardMap.calculateDistortion(overlay.get(i), overlay.get(i), i));
+    }
+
+    @Test
+    void test_JUniwardMap_roughLessThanSmooth() {
+        BufferedImage image = getImage();
+        SequenceOverlay<int[]> overlay = new BlockShuffleOverlay(image, 0, 8);
+        JUniwardMap jUniwardMap = new JUniwardMap(image, overlay, Rgb2YCbCr::new);
+
+        int rough = findPosition(overlay, 8, 24);
+        int smooth = findPosition(overlay, 48, 24);
+
+        Assertions.assertTrue(
+                jUniwardMap.calculateDistortion(overlay.get(rough), change(overlay.get(rough), 27, 1), rough)
+                < jUniwardMap.calculateDistortion(overlay.get(smooth), change(overlay.get(smooth), 27, 1), smooth)
+        );
+    }
+
+    /**
+     * Straightforward J-Uniward over the residuals of two whole gray images
+     */
+    private double wholeImageDistortion(BufferedImage original, BufferedImage changed) {
+        double[][][] orResiduals = residuals(original);
+        double[][][] chResiduals = residuals(changed);
+        double sum = 0;
+        for (int k = 0; k < 3; k++) {
+            for (int y = 0; y < original.getHeight(); y++) {
+                for (int x = 0; x < original.getWidth(); x++) {
+                    sum += Math.abs(chResiduals[k][y][x] - orResiduals[k][y][x])
+                            / (0.015625 + Math.abs(orResiduals[k][y][x]));
+                }
+            }
+        }
+        return sum;
+    }
+
+    private double[][][] residuals(BufferedImage image) {
+        Daubechies8 wavelet = new Daubechies8();
+        double[] low = wavelet.getScalingDeComposition();
+        double[] high = wavelet.getWaveletDeComposition();
+        return new double[][][]{
+                filter(image, low, high),
+                filter(image, high, low),
+                filter(image, high, high)
+        };
+    }
+
+    private double[][] filter(BufferedImage image, double[] vertical, double[] horizontal) {
+        int center = vertical.length / 2;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[][] result = new double[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int a = 0; a < vertical.length; a++) {
+                    for (int b = 0; b < horizontal.length; b++) {
+                        int gray = image.getRGB(mirror(x + b - center, width), mirror(y + a - center, height)) & 255;
+                        result[y][x] += vertical[a] * horizontal[b] * gray;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int mirror(int index, int length) {
+        if (index < 0)
+            return -index - 1;
+        if (index >= length)
+            return 2 * length - index - 1;
+        return index;
+    }
+}
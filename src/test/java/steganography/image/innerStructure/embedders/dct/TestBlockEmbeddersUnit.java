@@ -1,8 +1,10 @@
 package steganography.image.innerStructure.embedders.dct;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.embedders.BatchEmbedder;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.embedders.TestEmbeddersUnit;
 import steganography.image.operation.pixelTranslation.PixelTranslator;
@@ -11,7 +13,10 @@ import steganography.transforms.FastDct8;
 import steganography.transforms.Transform;
 import steganography.util.Quantizer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Random;
 
 public abstract class TestBlockEmbeddersUnit extends TestEmbeddersUnit<int[]> {
@@ -189,6 +194,37 @@ public abstract class TestBlockEmbeddersUnit extends TestEmbeddersUnit<int[]> {
         Assertions.assertNotEquals(inputIsOne, outputIsOne);
     }
 
+    //////////////////////////////////////////////////////////////////////////////
+    //                               BATCH
+    //////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    protected void testBatch_sameAsSingle() throws EmbedderInputException {
+        Assumptions.assumeTrue(getEmbedder() instanceof BatchEmbedder);
+        BatchEmbedder<int[]> batchEmbedder = (BatchEmbedder<int[]>) getEmbedder();
+        Embedder<int[]> embedder = getEmbedder();
+
+        List<int[]> input = new ArrayList<>();
+        BitSet bits = new BitSet();
+        for (int i = 0; i < 10; i++) {
+            input.add(getRandomInput());
+            bits.set(i + 1, this.random.nextBoolean());
+        }
+        input.add(getUpperEdge());
+        input.add(getLowerEdge());
+
+        boolean[] ones = new boolean[input.size() + 1];
+        batchEmbedder.representsOne(input, ones, 1);
+        List<int[]> flipped = batchEmbedder.flipAll(input);
+        List<int[]> embedded = batchEmbedder.embedAll(input, bits, 1);
+
+        for (int i = 0; i < input.size(); i++) {
+            Assertions.assertEquals(embedder.representsOne(input.get(i)), ones[i + 1], "at index " + i);
+            assertEquals(embedder.flip(input.get(i)), flipped.get(i), "at index " + i);
+            assertEquals(embedder.embed(input.get(i), bits.get(i + 1)), embedded.get(i), "at index " + i);
+        }
+    }
+
     //////////////////////////////////////////////////////////////////////////////
     //                               FAIL
     //////////////////////////////////////////////////////////////////////////////
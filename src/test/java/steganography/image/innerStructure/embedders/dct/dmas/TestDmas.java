@@ -1,9 +1,18 @@
 package steganography.image.innerStructure.embedders.dct.dmas;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.JUniward;
 import steganography.image.innerStructure.embedders.Embedder;
 import steganography.image.innerStructure.embedders.dct.TestBlockEmbeddersUnit;
 import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
 import steganography.transforms.FastDct8;
+import steganography.transforms.Wavelet;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class TestDmas extends TestBlockEmbeddersUnit {
     @Override
@@ -15,4 +24,28 @@ public class TestDmas extends TestBlockEmbeddersUnit {
     protected int getLength() {
         return 64;
     }
+
+    @Test
+    void testFlipCosts_jUniward_sameAsUnfused() throws EmbedderInputException {
+        DmasEmbedder embedder = (DmasEmbedder) getEmbedder();
+        JUniward jUniward = new JUniward(Rgb2YCbCr::new, new Wavelet());
+        // hides the BlockDistortionFunction from the Embedder
+        DistortionFunction<int[]> unfused = jUniward::calculateDistortion;
+
+        List<int[]> input = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            input.add(getRandomInput());
+        input.add(getUpperEdge());
+        input.add(getLowerEdge());
+
+        boolean[] fusedOnes = new boolean[input.size()];
+        boolean[] unfusedOnes = new boolean[input.size()];
+        double[] fusedRho = new double[input.size()];
+        double[] unfusedRho = new double[input.size()];
+        embedder.flipCosts(input, fusedOnes, fusedRho, 0, jUniward, 0);
+        embedder.flipCosts(input, unfusedOnes, unfusedRho, 0, unfused, 0);
+
+        Assertions.assertArrayEquals(unfusedOnes, fusedOnes);
+        Assertions.assertArrayEquals(unfusedRho, fusedRho);
+    }
 }
@@ -1,7 +1,22 @@
 package steganography.image.innerStructure.embedders.spatial;
 
+import org.junit.jupiter.api.Test;
 import steganography.exceptions.encoder.EmbedderInputException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
 import steganography.image.innerStructure.embedders.Embedder;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
+import steganography.image.innerStructure.overlays.PixelShuffleOverlay;
+import steganography.image.operation.stc.StcEngine;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class TestPixelBit extends TestSpatialEmbedders {
 
@@ -17,4 +32,109 @@ public class TestPixelBit extends TestSpatialEmbedders {
     protected void testEmbedFalse_2sameOutput_often() throws EmbedderInputException {}
     protected void testFlip_2sameOutput() throws EmbedderInputException {}
     protected void testFlip_2sameOutput_often() throws EmbedderInputException {}
+
+    private int[] flipAll(PixelBit pixelBit, int[] pixels) throws EmbedderInputException {
+        int[] flipped = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++)
+            flipped[i] = pixelBit.flip(pixels[i]);
+        return flipped;
+    }
+
+    /**
+     * Flips each pixel at its index as position
+     */
+    private int[] flipAllAt(PixelBit pixelBit, int[] pixels) throws EmbedderInputException {
+        int[] flipped = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++)
+            flipped[i] = pixelBit.flip(pixels[i], i);
+        return flipped;
+    }
+
+    private int[] randomPixels(int amount) {
+        Random random = new Random(0);
+        int[] pixels = new int[amount];
+        for (int i = 0; i < amount; i++)
+            pixels[i] = random.nextInt();
+        return pixels;
+    }
+
+    @Test
+    void test_seeded_sameSeed_sameFlips() throws EmbedderInputException {
+        int[] pixels = randomPixels(1000);
+
+        assertArrayEquals(flipAllAt(new PixelBit(42), pixels), flipAllAt(new PixelBit(42), pixels));
+        assertFalse(Arrays.equals(flipAllAt(new PixelBit(42), pixels), flipAllAt(new PixelBit(43), pixels)));
+        assertArrayEquals(flipAll(new PixelBit(42), pixels), flipAll(new PixelBit(42), pixels));
+    }
+
+    @Test
+    void test_seeded_sameColor_flippedDifferently() throws EmbedderInputException {
+        int[] pixels = new int[1000];
+        Arrays.fill(pixels, 0xff808080);
+        PixelBit pixelBit = new PixelBit(42);
+
+        int[] flipped = flipAllAt(pixelBit, pixels);
+        // 3 channels, each increased or decreased
+        assertTrue(Arrays.stream(flipped).distinct().count() == 6);
+        for (int i = 0; i < pixels.length; i++)
+            assertNotEquals(pixelBit.representsOne(pixels[i]), pixelBit.representsOne(flipped[i]));
+    }
+
+    @Test
+    void test_seeded_otherThread_sameFlipsAtPositions() throws EmbedderInputException, ExecutionException,
+            InterruptedException {
+        int[] pixels = randomPixels(1000);
+        PixelBit pixelBit = new PixelBit(42);
+
+        int[] there = ForkJoinPool.commonPool().submit(() -> flipAllAt(pixelBit, pixels)).get();
+
+        assertArrayEquals(flipAllAt(pixelBit, pixels), there);
+    }
+
+    @Test
+    void test_seeded_otherThread_flipsWithoutPositionIndependently() throws EmbedderInputException,
+            ExecutionException, InterruptedException {
+        int[] pixels = randomPixels(1000);
+        PixelBit pixelBit = new PixelBit(42);
+
+        int[] here = flipAll(pixelBit, pixels);
+        int[] there = ForkJoinPool.commonPool().submit(() -> flipAll(pixelBit, pixels)).get();
+
+        // the first thread uses the first split, like the only thread of another PixelBit
+        assertArrayEquals(flipAll(new PixelBit(42), pixels), here);
+        for (int i = 0; i < pixels.length; i++)
+            assertNotEquals(pixelBit.representsOne(pixels[i]), pixelBit.representsOne(there[i]));
+    }
+
+    @Test
+    void test_seeded_parallelEncode_sameImage() throws ImageCapacityException, EncoderException {
+        byte[] payload = new byte[200];
+        new Random(1).nextBytes(payload);
+
+        assertArrayEquals(encodeParallel(payload), encodeParallel(payload));
+    }
+
+    /**
+     * Encodes {@code payload} into a new random image, gathering the flips on 4 ranges in parallel
+     * @return pixels of the image after encoding
+     */
+    private int[] encodeParallel(byte[] payload) throws ImageCapacityException, EncoderException {
+        int[] pixels = randomPixels(64 * 64);
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 64, 64, pixels, 0, 64);
+
+        long seed = 42;
+        new LossLessStcEncoder<>(
+                new PixelBit(seed),
+                new PixelShuffleOverlay(image, seed),
+                (x, y) -> 1d,
+                false,
+                seed,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT,
+                StcEngine.Precision.DOUBLE,
+                1,
+                4
+        ).encode(payload);
+        return image.getRGB(0, 0, 64, 64, null, 0, 64);
+    }
 }
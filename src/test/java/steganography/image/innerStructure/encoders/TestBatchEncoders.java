@@ -0,0 +1,125 @@
+package steganography.image.innerStructure.encoders;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.embedders.Embedder;
+import steganography.image.innerStructure.encoders.mocks.MockBatchEmbedder;
+import steganography.image.innerStructure.encoders.mocks.MockEmbedder;
+import steganography.image.innerStructure.encoders.mocks.MockOverlay;
+import steganography.image.innerStructure.encoders.plain.PlainEncoder;
+import steganography.image.innerStructure.encoders.plain.PlainFlipEncoder;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that Encoders using a {@link steganography.image.innerStructure.embedders.BatchEmbedder BatchEmbedder}
+ * produce the same Cover Elements as with a plain Embedder, and are compatible to each other.
+ */
+public class TestBatchEncoders {
+
+    /**
+     * Amount of Cover Elements, not a multiple of the batch size
+     */
+    private static final int CVR_LENGTH = 1000;
+
+    /**
+     * Creates Encoders from an Embedder and a cover
+     */
+    private interface Factory extends BiFunction<Embedder<Boolean>, BitSet, Encoder> {
+    }
+
+    private static final Factory[] FACTORIES = {
+            (embedder, cvr) -> new PlainEncoder<>(embedder, new MockOverlay(cvr)),
+            (embedder, cvr) -> new PlainFlipEncoder<>(embedder, new MockOverlay(cvr)),
+            (embedder, cvr) -> new StcEncoder<>(embedder, new MockOverlay(cvr), (x, y) -> x ? 1d : 2d),
+            (embedder, cvr) -> new LossLessStcEncoder<>(embedder, new MockOverlay(cvr), (x, y) -> x ? 1d : 2d)
+    };
+
+    /**
+     * Random cover, whose last element is set to fix the amount of available Cover Elements
+     */
+    private BitSet getCover() {
+        Random random = new Random(0);
+        BitSet cvr = new BitSet();
+        for (int i = 0; i < CVR_LENGTH - 1; i++)
+            cvr.set(i, random.nextBoolean());
+        cvr.set(CVR_LENGTH - 1);
+        return cvr;
+    }
+
+    @Test
+    void test_encode_batchAndSingle_sameCover() throws EncoderException, ImageCapacityException {
+        byte[] payload = new byte[30];
+        new Random(1).nextBytes(payload);
+
+        for (Factory factory : FACTORIES) {
+            BitSet batch = getCover();
+            BitSet single = getCover();
+            factory.apply(new MockBatchEmbedder(), batch).encode(payload);
+            factory.apply(new MockEmbedder(), single).encode(payload);
+
+            assertEquals(single, batch);
+        }
+    }
+
+    @Test
+    void test_decode_crosswise_samePayload() throws EncoderException, ImageCapacityException,
+            DamagedMessageException {
+        byte[] payload = new byte[30];
+        new Random(2).nextBytes(payload);
+
+        for (Factory factory : FACTORIES) {
+            BitSet batch = getCover();
+            BitSet single = getCover();
+            factory.apply(new MockBatchEmbedder(), batch).encode(payload);
+            factory.apply(new MockEmbedder(), single).encode(payload);
+
+            assertArrayEquals(payload, factory.apply(new MockEmbedder(), batch).decode(payload.length));
+            assertArrayEquals(payload, factory.apply(new MockBatchEmbedder(), single).decode(payload.length));
+        }
+    }
+
+    @Test
+    void test_encoder_batchEmbedder_onlyIfImplemented() {
+        StcEncoder<Boolean> batch = new StcEncoder<>(new MockBatchEmbedder(), new MockOverlay(getCover()), (x, y) -> 1d);
+        StcEncoder<Boolean> single = new StcEncoder<>(new MockEmbedder(), new MockOverlay(getCover()), (x, y) -> 1d);
+
+        assertNotNull(batch.batchEmbedder);
+        assertNull(single.batchEmbedder);
+    }
+
+    @Test
+    void test_flipCosts_default_sameOrderAsSingleCalls() throws EncoderException {
+        StringBuilder calls = new StringBuilder();
+        MockBatchEmbedder embedder = new MockBatchEmbedder() {
+            @Override
+            public Boolean flip(Boolean cvrElem) {
+                calls.append('f');
+                return !cvrElem;
+            }
+
+            @Override
+            public boolean representsOne(Boolean cvrElem) {
+                calls.append('r');
+                return cvrElem;
+            }
+        };
+
+        boolean[] ones = new boolean[3];
+        double[] rho = new double[3];
+        embedder.flipCosts(Arrays.asList(true, false, true), ones, rho, 0, (x, y, position) -> x ? 1d : 2d, 0);
+
+        assertEquals("rfrfrf", calls.toString());
+        assertArrayEquals(new boolean[]{true, false, true}, ones);
+        assertArrayEquals(new double[]{1, 2, 1}, rho);
+    }
+}
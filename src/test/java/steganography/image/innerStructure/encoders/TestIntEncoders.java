@@ -0,0 +1,144 @@
+package steganography.image.innerStructure.encoders;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.distortion.DistortionFunction;
+import steganography.image.innerStructure.distortion.IntDistortionFunction;
+import steganography.image.innerStructure.embedders.spatial.LsbReplacer;
+import steganography.image.innerStructure.encoders.mocks.BoxedOverlay;
+import steganography.image.innerStructure.encoders.plain.PlainEncoder;
+import steganography.image.innerStructure.encoders.plain.PlainFlipEncoder;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
+import steganography.image.innerStructure.overlays.LazyPixelShuffleOverlay;
+import steganography.image.innerStructure.overlays.PixelShuffleOverlay;
+import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+import steganography.image.innerStructure.overlays.abstracts.IntCondition;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that Encoders using the primitive specializations for single pixels produce the same images as with
+ * boxed pixels, and are compatible to each other.
+ */
+public class TestIntEncoders {
+
+    private static final long SEED = 0;
+    private static final IntCondition IS_OPAQUE = pixel -> pixel >>> 24 > 0;
+
+    /**
+     * Creates Encoders from an Overlay and whether to use primitive specializations
+     */
+    private interface Factory extends BiFunction<BuffImgOverlay<Integer>, Boolean, Encoder> {
+    }
+
+    private static final Factory[] FACTORIES = {
+            (overlay, primitive) -> new PlainEncoder<>(new LsbReplacer(), overlay),
+            (overlay, primitive) -> new PlainFlipEncoder<>(new LsbReplacer(), overlay),
+            (overlay, primitive) -> new StcEncoder<>(new LsbReplacer(), overlay, distortion(primitive)),
+            (overlay, primitive) -> new LossLessStcEncoder<>(new LsbReplacer(), overlay, distortion(primitive))
+    };
+
+    private static DistortionFunction<Integer> distortion(boolean primitive) {
+        if (primitive)
+            return (IntDistortionFunction) (original, embedded) -> Math.abs((original & 0xff) - (embedded & 0xff));
+        return (original, embedded) -> (double) Math.abs((original & 0xff) - (embedded & 0xff));
+    }
+
+    /**
+     * Image with random colors and some transparent pixels
+     */
+    private BufferedImage getImage() {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++)
+                image.setRGB(x, y, random.nextInt(8) == 0 ? 0 : random.nextInt() | 0xff000000);
+        }
+        return image;
+    }
+
+    private BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), image.isAlphaPremultiplied(), null);
+    }
+
+    private Encoder getEncoder(Factory factory, BufferedImage image, boolean primitive) {
+        BuffImgOverlay<Integer> overlay = primitive
+                ? new PixelShuffleOverlay(image, SEED, IS_OPAQUE)
+                : new BoxedOverlay(new PixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 > 0));
+        return factory.apply(overlay, primitive);
+    }
+
+    private void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+        }
+    }
+
+    @Test
+    void test_encode_primitiveAndBoxed_samePixels() throws EncoderException, ImageCapacityException {
+        byte[] payload = new byte[20];
+        new Random(1).nextBytes(payload);
+
+        for (Factory factory : FACTORIES) {
+            BufferedImage primitive = getImage();
+            BufferedImage boxed = getImage();
+            getEncoder(factory, primitive, true).encode(payload);
+            getEncoder(factory, boxed, false).encode(payload);
+
+            assertSamePixels(boxed, primitive);
+        }
+    }
+
+    @Test
+    void test_decode_crosswise_samePayload() throws EncoderException, ImageCapacityException,
+            DamagedMessageException {
+        byte[] payload = new byte[20];
+        new Random(2).nextBytes(payload);
+
+        for (Factory factory : FACTORIES) {
+            for (boolean primitive : new boolean[]{true, false}) {
+                BufferedImage image = getImage();
+                getEncoder(factory, image, primitive).encode(payload);
+
+                assertArrayEquals(payload, getEncoder(factory, copy(image), !primitive).decode(payload.length));
+            }
+        }
+    }
+
+    @Test
+    void test_encoder_boxedOverlay_noPrimitivePath() {
+        BufferedImage image = getImage();
+        StcEncoder<Integer> boxed = new StcEncoder<>(
+                new LsbReplacer(), new BoxedOverlay(new PixelShuffleOverlay(image, SEED)), distortion(true));
+        StcEncoder<Integer> primitive = new StcEncoder<>(
+                new LsbReplacer(), new LazyPixelShuffleOverlay(image, SEED), distortion(false));
+
+        assertNull(boxed.intOverlay);
+        assertNull(boxed.intDistortion);
+        assertNotNull(primitive.intOverlay);
+        assertNotNull(primitive.intEmbedder);
+        assertNull(primitive.intDistortion);
+    }
+
+    @Test
+    void test_intCondition_sameOrderAsPredicate() {
+        BufferedImage image = getImage();
+        PixelShuffleOverlay primitive = new PixelShuffleOverlay(image, SEED, IS_OPAQUE);
+        PixelShuffleOverlay boxed = new PixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 > 0);
+
+        assertEquals(boxed.available(), primitive.available());
+        for (int i = 0; i < boxed.available(); i++) {
+            assertEquals(boxed.get(i).intValue(), primitive.getInt(i));
+            assertEquals(boxed.calcX(i), primitive.calcX(i));
+            assertEquals(boxed.calcY(i), primitive.calcY(i));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package steganography.image.innerStructure.encoders.mocks;
+
+import steganography.image.innerStructure.overlays.abstracts.BuffImgOverlay;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Hides the primitive specialization of an overlay, so Encoders use the boxed methods
+ */
+public class BoxedOverlay implements BuffImgOverlay<Integer> {
+    private final BuffImgOverlay<Integer> overlay;
+
+    public BoxedOverlay(BuffImgOverlay<Integer> overlay) {
+        this.overlay = overlay;
+    }
+
+    @Override
+    public Integer get(int position) throws NoSuchElementException {
+        return this.overlay.get(position);
+    }
+
+    @Override
+    public void set(Integer value, int position) throws NoSuchElementException {
+        this.overlay.set(value, position);
+    }
+
+    @Override
+    public int available() {
+        return this.overlay.available();
+    }
+}
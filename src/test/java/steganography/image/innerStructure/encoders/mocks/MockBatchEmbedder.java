@@ -0,0 +1,6 @@
+package steganography.image.innerStructure.encoders.mocks;
+
+import steganography.image.innerStructure.embedders.BatchEmbedder;
+
+public class MockBatchEmbedder extends MockEmbedder implements BatchEmbedder<Boolean> {
+}
@@ -0,0 +1,115 @@
+package steganography.image.innerStructure.encoders.stc;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.encoders.mocks.MockEmbedder;
+import steganography.image.innerStructure.encoders.mocks.MockOverlay;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHHatCache {
+
+    private StcEncoder<Boolean> getEncoder(BitSet cvr) {
+        return new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr), (x, y) -> 1d, true);
+    }
+
+    private Encoder getEncoder(BitSet cvr, HHatCache cache) {
+        StcEncoder<Boolean> encoder = getEncoder(cvr);
+        encoder.setHHatCache(cache);
+        return encoder;
+    }
+
+    @Test
+    void test_getAndPut_countsHitsAndMisses() {
+        HHatCache cache = new HHatCache(2);
+        int[] hHat = {513, 771};
+
+        assertNull(cache.get(0, 0, 2, 10));
+        cache.put(0, 0, 2, 10, hHat);
+
+        assertSame(hHat, cache.get(0, 0, 2, 10));
+        assertNull(cache.get(0, 2, 2, 10));
+        assertNull(cache.get(1, 0, 2, 10));
+        assertNull(cache.get(0, 0, 2, 11));
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void test_put_fullCache_evictsLeastRecentlyUsed() {
+        HHatCache cache = new HHatCache(2);
+        cache.put(0, 0, 1, 10, new int[]{513});
+        cache.put(0, 1, 1, 10, new int[]{515});
+        cache.get(0, 0, 1, 10);
+        cache.put(0, 2, 1, 10, new int[]{517});
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(0, 0, 1, 10));
+        assertNull(cache.get(0, 1, 1, 10));
+        assertNotNull(cache.get(0, 2, 1, 10));
+    }
+
+    @Test
+    void test_illegalCapacity_expectThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new HHatCache(0));
+    }
+
+    /**
+     * Tests that encoders using cached H_hats stay in sync with encoders building them, over multiple calls. Uses a
+     * private cache, as other tests may use the shared one concurrently.
+     */
+    @Test
+    void test_cache_sequentialDecode_sameMessages() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        Random random = new Random(0);
+        byte[] payload1 = new byte[10];
+        byte[] payload2 = new byte[20];
+        random.nextBytes(payload1);
+        random.nextBytes(payload2);
+        BitSet cvr = new BitSet();
+        cvr.set(1000);
+
+        HHatCache cache = new HHatCache(HHatCache.DEFAULT_CAPACITY);
+        Encoder encoder = getEncoder(cvr, cache);
+        encoder.encode(payload1);
+        encoder.encode(payload2);
+        long misses = cache.getMisses();
+
+        for (int i = 0; i < 2; i++) {
+            Encoder decoder = getEncoder(cvr, cache);
+            assertArrayEquals(payload1, decoder.decode(payload1.length));
+            assertArrayEquals(payload2, decoder.decode(payload2.length));
+        }
+
+        assertEquals(misses, cache.getMisses());
+        assertEquals(4, cache.getHits());
+    }
+
+    /**
+     * Tests that encoders use the shared cache by default. Only asserts that its lookups grow, as other tests may use
+     * and evict it concurrently.
+     */
+    @Test
+    void test_sharedCache_decode_counted() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        byte[] payload = new byte[10];
+        new Random(1).nextBytes(payload);
+        BitSet cvr = new BitSet();
+        cvr.set(1000);
+
+        getEncoder(cvr).encode(payload);
+        long lookups = HHatCache.shared().getHits() + HHatCache.shared().getMisses();
+
+        assertArrayEquals(payload, getEncoder(cvr).decode(payload.length));
+        assertTrue(HHatCache.shared().getHits() + HHatCache.shared().getMisses() > lookups);
+    }
+}
@@ -10,6 +10,7 @@ import steganography.image.innerStructure.encoders.mocks.MockEmbedder;
 import steganography.image.innerStructure.encoders.mocks.MockOverlay;
 import steganography.image.innerStructure.encoders.mocks.ThrowingEmbedder;
 import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.operation.stc.StcEngine;
 
 import java.util.Arrays;
 import java.util.BitSet;
@@ -133,4 +134,23 @@ public class TestLLStcEncoder extends TestEncoders {
         assertFalse(Arrays.equals(payload2, decoded2));
     }
 
+    /**
+     * Tests encode with float precision, decode with default encoder
+     */
+    @Test
+    void test_randomCvr_floatPrecision_encode_decode_sameMessage() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr.set(minCvrLength + 1);
+
+        Encoder encoder = new LossLessStcEncoder<>(new MockEmbedder(), new MockOverlay(cvr), (x, y) -> 1d,
+                false, Encoder.DEFAULT_SEED, StcEngine.Precision.FLOAT);
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        encoder.encode(payload);
+
+        encoder = getEncoder(cvr, false);
+        byte[] decoded = encoder.decode(payload.length);
+
+        assertArrayEquals(payload, decoded);
+    }
 }
@@ -0,0 +1,151 @@
+package steganography.image.innerStructure.encoders.stc;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.encoders.TestEncoders;
+import steganography.image.innerStructure.encoders.mocks.CountingOverlay;
+import steganography.image.innerStructure.encoders.mocks.MockEmbedder;
+import steganography.image.innerStructure.encoders.mocks.MockOverlay;
+import steganography.image.innerStructure.encoders.mocks.ThrowingEmbedder;
+import steganography.image.operation.stc.StcEngine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSegmentedStcEncoder extends TestEncoders {
+
+    private static final int SEGMENTS = 4;
+
+    public TestSegmentedStcEncoder() {
+        this.minCvrLength = MAX_PAYLOAD_LENGTH * 2 * 8;
+    }
+
+    private Encoder getEncoder(BitSet cvr, boolean sequential, int segments) {
+        return new StcEncoder<>(
+                new MockEmbedder(),
+                new MockOverlay(cvr),
+                (x, y) -> 1d,
+                sequential,
+                Encoder.DEFAULT_SEED,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT,
+                StcEngine.Precision.DOUBLE,
+                segments
+        );
+    }
+
+    @Override
+    protected Encoder getEncoder(BitSet cvr, boolean sequential) {
+        return getEncoder(cvr, sequential, SEGMENTS);
+    }
+
+    @Override
+    protected Encoder getThrowingEncoder(BitSet cvr, boolean sequential) {
+        return new StcEncoder<>(
+                new ThrowingEmbedder(),
+                new MockOverlay(cvr),
+                (x, y) -> 1d,
+                sequential,
+                Encoder.DEFAULT_SEED,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT,
+                StcEngine.Precision.DOUBLE,
+                SEGMENTS
+        );
+    }
+
+    @Override
+    protected Encoder getCountingEncoder(BitSet cvr, boolean sequential, CountingOverlay countingOverlay) {
+        return new StcEncoder<>(
+                new MockEmbedder(),
+                countingOverlay,
+                (x, y) -> 1d,
+                sequential,
+                Encoder.DEFAULT_SEED,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT,
+                StcEngine.Precision.DOUBLE,
+                SEGMENTS
+        );
+    }
+
+    /**
+     * Tests encode and decode with more segments than message Bits
+     */
+    @Test
+    void test_moreSegmentsThanBits_encode_decode_sameMessage() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr.set(minCvrLength + 1);
+        byte[] payload = getRandomBytes(1);
+
+        getEncoder(cvr, false, 100).encode(payload);
+        byte[] decoded = getEncoder(cvr, false, 100).decode(payload.length);
+
+        assertArrayEquals(payload, decoded);
+    }
+
+    /**
+     * Tests that one segment is the legacy format
+     */
+    @Test
+    void test_oneSegment_encode_sameAsLegacy() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr1 = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr1.set(minCvrLength + 1);
+        BitSet cvr2 = (BitSet) cvr1.clone();
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        getEncoder(cvr1, false, 1).encode(payload);
+        new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr2), (x, y) -> 1d, false).encode(payload);
+
+        assertEquals(cvr1, cvr2);
+    }
+
+    /**
+     * Tests segmented encode, legacy decode
+     */
+    @Test
+    void test_segmentedEncode_legacyDecode_expectFail() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr.set(minCvrLength + 1);
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        getEncoder(cvr, false).encode(payload);
+        byte[] decoded = getEncoder(cvr, false, 1).decode(payload.length);
+
+        assertFalse(Arrays.equals(payload, decoded));
+    }
+
+    @Test
+    void test_zeroSegments_expectThrow() {
+        assertThrows(IllegalArgumentException.class, () -> getEncoder(new BitSet(), false, 0));
+    }
+
+    /////////////////////////////////////////////////////////////////////////////////
+    // FAIL
+    /////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Tests sequential encode with one encoder, decode with another
+     */
+    @Test
+    void test_sequentialEncode_singleDecode_expectFail() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr = new BitSet();
+        cvr.set(minCvrLength*4 + 1);
+
+        Encoder encoder = getEncoder(cvr, true);
+        byte[] payload1 = getRandomBytes(MAX_PAYLOAD_LENGTH);
+        byte[] payload2 = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        encoder.encode(payload1);
+        encoder.encode(payload2);
+
+        encoder = getEncoder(cvr, false);
+        byte[] decoded1 = encoder.decode(payload1.length);
+        byte[] decoded2 = encoder.decode(payload2.length);
+
+        assertFalse(Arrays.equals(payload1, decoded1));
+        assertFalse(Arrays.equals(payload2, decoded2));
+    }
+}
@@ -10,6 +10,7 @@ import steganography.image.innerStructure.encoders.mocks.MockOverlay;
 import steganography.image.innerStructure.encoders.mocks.ThrowingEmbedder;
 import steganography.image.innerStructure.encoders.TestEncoders;
 import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.operation.stc.StcEngine;
 
 import java.util.Arrays;
 import java.util.BitSet;
@@ -214,6 +215,109 @@ public class TestStcEncoder extends TestEncoders {
         assertEquals(countingOverlay.changes, payload.length * 8 * 2);
     }
 
+    /**
+     * Tests encode with float precision, decode with default encoder
+     */
+    @Test
+    void test_randomCvr_floatPrecision_encode_decode_sameMessage() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr.set(minCvrLength + 1);
+
+        Encoder encoder = new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr), (x, y) -> 1d,
+                false, Encoder.DEFAULT_SEED, StcEngine.Precision.FLOAT);
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        encoder.encode(payload);
+
+        encoder = getEncoder(cvr, false);
+        byte[] decoded = encoder.decode(payload.length);
+
+        assertArrayEquals(payload, decoded);
+    }
+
+    /**
+     * Tests encode and decode with different constraint heights
+     */
+    @Test
+    void test_randomCvr_constraintHeights_encode_decode_sameMessage() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        for (int height = StcEncoder.MIN_CONSTRAINT_HEIGHT; height <= 12; height++) {
+            BitSet cvr = BitSet.valueOf(getRandomBytes(minCvrLength));
+            cvr.set(minCvrLength + 1);
+
+            Encoder encoder = new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr), (x, y) -> 1d,
+                    false, Encoder.DEFAULT_SEED, height, StcEngine.Precision.DOUBLE);
+            byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+            encoder.encode(payload);
+
+            encoder = new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr), (x, y) -> 1d,
+                    false, Encoder.DEFAULT_SEED, height, StcEngine.Precision.DOUBLE);
+            byte[] decoded = encoder.decode(payload.length);
+
+            assertArrayEquals(payload, decoded, "Constraint height " + height);
+        }
+    }
+
+    /**
+     * Tests that the default constraint height is the legacy one
+     */
+    @Test
+    void test_defaultConstraintHeight_encode_sameAsExplicit() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr1 = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr1.set(minCvrLength + 1);
+        BitSet cvr2 = (BitSet) cvr1.clone();
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        getEncoder(cvr1, false).encode(payload);
+        new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr2), (x, y) -> 1d, false, Encoder.DEFAULT_SEED,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT, StcEngine.Precision.DOUBLE).encode(payload);
+
+        assertEquals(cvr1, cvr2);
+    }
+
+    @Test
+    void test_illegalConstraintHeight_expectThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new StcEncoder<>(new MockEmbedder(),
+                new MockOverlay(new BitSet()), (x, y) -> 1d, false, Encoder.DEFAULT_SEED,
+                StcEncoder.MAX_CONSTRAINT_HEIGHT + 1, StcEngine.Precision.DOUBLE));
+    }
+
+    /**
+     * Tests that gathering Cover Elements in parallel does not change the result
+     */
+    @Test
+    void test_parallelGather_encode_sameAsSequentialGather() throws EncoderException, ImageCapacityException, DamagedMessageException {
+        BitSet cvr1 = BitSet.valueOf(getRandomBytes(minCvrLength));
+        cvr1.set(minCvrLength + 1);
+        BitSet cvr2 = (BitSet) cvr1.clone();
+        byte[] payload = getRandomBytes(MAX_PAYLOAD_LENGTH);
+
+        getEncoder(cvr1, false).encode(payload);
+        Encoder encoder = new StcEncoder<>(new MockEmbedder(), new MockOverlay(cvr2), (x, y) -> 1d, false,
+                Encoder.DEFAULT_SEED, StcEncoder.DEFAULT_CONSTRAINT_HEIGHT, StcEngine.Precision.DOUBLE, 1, 4);
+        encoder.encode(payload);
+
+        assertEquals(cvr1, cvr2);
+        assertArrayEquals(payload, getEncoder(cvr2, false).decode(payload.length));
+    }
+
+    @Test
+    void test_parallelGather_throwingEmbedder_expectThrow() {
+        BitSet cvr = new BitSet();
+        cvr.set(minCvrLength);
+        Encoder encoder = new StcEncoder<>(new ThrowingEmbedder(), new MockOverlay(cvr), (x, y) -> 1d, false,
+                Encoder.DEFAULT_SEED, StcEncoder.DEFAULT_CONSTRAINT_HEIGHT, StcEngine.Precision.DOUBLE, 1, 4);
+
+        assertThrows(EncoderException.class, () -> encoder.encode(new byte[1]));
+    }
+
+    @Test
+    void test_illegalParallelism_expectThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new StcEncoder<>(new MockEmbedder(),
+                new MockOverlay(new BitSet()), (x, y) -> 1d, false, Encoder.DEFAULT_SEED,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT, StcEngine.Precision.DOUBLE, 1, 0));
+    }
+
     /////////////////////////////////////////////////////////////////////////////////
     // FAIL
     /////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,193 @@
+package steganography.image.innerStructure.encoders.wrappers;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.DamagedMessageException;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.encoders.Encoder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link InterleavedReedSolomon} wrapping an Encoder that only stores the bytes it is given.
+ */
+public class TestInterleavedReedSolomon {
+
+    private final Random random = new Random(0);
+
+    private byte[] getRandomBytes(int length) {
+        byte[] payload = new byte[length];
+        this.random.nextBytes(payload);
+        return payload;
+    }
+
+    @Test
+    void test_encodeDecode_shortAndLongPayloads_restored()
+            throws ImageCapacityException, EncoderException, DamagedMessageException {
+        for (int length : new int[]{0, 1, 8, 127, 128, 255, 1000, 4096}) {
+            ByteStore store = new ByteStore();
+            byte[] payload = getRandomBytes(length);
+            new InterleavedReedSolomon(store, .5f, 1).encode(payload);
+
+            assertArrayEquals(payload, new InterleavedReedSolomon(store, .5f, 1).decode(length));
+        }
+    }
+
+    @Test
+    void test_encode_singleBlock_sameAsReedSolomon() throws ImageCapacityException, EncoderException {
+        ByteStore interleaved = new ByteStore();
+        ByteStore plain = new ByteStore();
+        byte[] payload = getRandomBytes(100);
+        new InterleavedReedSolomon(interleaved).encode(payload);
+        new ReedSolomon(plain).encode(payload);
+
+        assertArrayEquals(plain.bytes, interleaved.bytes);
+    }
+
+    @Test
+    void test_encode_longPayload_codewordsFitField() throws ImageCapacityException, EncoderException {
+        ByteStore store = new ByteStore();
+        new InterleavedReedSolomon(store, .5f, 1).encode(getRandomBytes(1000));
+
+        // 8 blocks of 125 Byte, each with 126 Byte redundancy
+        assertEquals(8 * (125 + 126), store.bytes.length);
+    }
+
+    @Test
+    void test_decode_burstErrors_corrected()
+            throws ImageCapacityException, EncoderException, DamagedMessageException {
+        ByteStore store = new ByteStore();
+        byte[] payload = getRandomBytes(2000);
+        new InterleavedReedSolomon(store, .5f, 1).encode(payload);
+
+        // a burst longer than any codeword, which is spread over all 16 blocks
+        for (int i = 100; i < 100 + 16 * 50; i++)
+            store.bytes[i] ^= (byte) 0xff;
+
+        assertArrayEquals(payload, new InterleavedReedSolomon(store, .5f, 1).decode(payload.length));
+    }
+
+    @Test
+    void test_decode_randomErrors_corrected()
+            throws ImageCapacityException, EncoderException, DamagedMessageException {
+        ByteStore store = new ByteStore();
+        byte[] payload = getRandomBytes(1000);
+        new InterleavedReedSolomon(store, .5f, 1).encode(payload);
+
+        // at most one error every eighth Byte, far below the 63 correctable errors per block
+        for (int i = 0; i < store.bytes.length; i += 8 + this.random.nextInt(8))
+            store.bytes[i] ^= (byte) (1 + this.random.nextInt(255));
+
+        assertArrayEquals(payload, new InterleavedReedSolomon(store, .5f, 1).decode(payload.length));
+    }
+
+    @Test
+    void test_decode_tooManyErrors_throws() throws ImageCapacityException, EncoderException {
+        ByteStore store = new ByteStore();
+        new InterleavedReedSolomon(store, .5f, 4).encode(getRandomBytes(1000));
+
+        for (int i = 0; i < store.bytes.length; i += 2)
+            store.bytes[i] ^= (byte) 0xff;
+
+        assertThrows(DamagedMessageException.class, () -> new InterleavedReedSolomon(store, .5f, 4).decode(1000));
+    }
+
+    @Test
+    void test_encodeDecode_parallel_sameAsSequential()
+            throws ImageCapacityException, EncoderException, DamagedMessageException {
+        byte[] payload = getRandomBytes(3000);
+        ByteStore sequential = new ByteStore();
+        new InterleavedReedSolomon(sequential, .3f, 1).encode(payload);
+
+        for (int parallelism : new int[]{2, 3, 64}) {
+            ByteStore parallel = new ByteStore();
+            new InterleavedReedSolomon(parallel, .3f, parallelism).encode(payload);
+            assertArrayEquals(sequential.bytes, parallel.bytes);
+
+            parallel.bytes[parallelism] ^= 1;
+            assertArrayEquals(payload,
+                    new InterleavedReedSolomon(parallel, .3f, parallelism).decode(payload.length));
+        }
+    }
+
+    @Test
+    void test_encode_exceedingCapacity_throws() {
+        ByteStore store = new ByteStore();
+        store.available = 8 * 2 * 100;
+        InterleavedReedSolomon encoder = new InterleavedReedSolomon(store);
+
+        assertEquals(8 * 100, encoder.available());
+        assertThrows(ImageCapacityException.class, () -> encoder.encode(getRandomBytes(101)));
+    }
+
+    @Test
+    void test_available_longestFittingPayload() throws ImageCapacityException, EncoderException {
+        for (float errorRate : new float[]{0, .1f, .5f, 1}) {
+            for (int capacity : new int[]{0, 1, 2, 100, 255, 256, 510, 1021}) {
+                int longest = 0;
+                for (int length = 1; length <= capacity; length++) {
+                    ByteStore unlimited = new ByteStore();
+                    new InterleavedReedSolomon(unlimited, errorRate, 1).encode(new byte[length]);
+                    if (unlimited.bytes.length <= capacity)
+                        longest = length;
+                }
+
+                ByteStore store = new ByteStore();
+                store.available = 8 * capacity + 7;
+                InterleavedReedSolomon encoder = new InterleavedReedSolomon(store, errorRate, 1);
+
+                assertEquals(8 * longest, encoder.available());
+                encoder.encode(getRandomBytes(longest));
+                assertTrue(store.bytes.length <= capacity);
+                byte[] tooLong = getRandomBytes(longest + 1);
+                assertThrows(ImageCapacityException.class, () -> encoder.encode(tooLong));
+            }
+        }
+    }
+
+    @Test
+    void test_construct_invalidArguments_throws() {
+        ByteStore store = new ByteStore();
+
+        assertThrows(IllegalArgumentException.class, () -> new InterleavedReedSolomon(store, -.1f));
+        assertThrows(IllegalArgumentException.class, () -> new InterleavedReedSolomon(store, 1.1f));
+        assertThrows(IllegalArgumentException.class, () -> new InterleavedReedSolomon(store, .5f, 0));
+    }
+
+    /**
+     * Encoder holding the last encoded bytes instead of embedding them
+     */
+    private static class ByteStore implements Encoder {
+
+        private byte[] bytes = new byte[0];
+        private int available = Integer.MAX_VALUE;
+
+        @Override
+        public void encode(byte[] payload) {
+            this.bytes = payload;
+        }
+
+        @Override
+        public void encode(byte[] payload, long seed) {
+            encode(payload);
+        }
+
+        @Override
+        public byte[] decode(int bLength) {
+            return Arrays.copyOf(this.bytes, bLength);
+        }
+
+        @Override
+        public byte[] decode(int bLength, long seed) {
+            return decode(bLength);
+        }
+
+        @Override
+        public int available() {
+            return this.available;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package steganography.image.innerStructure.integrations;
+
+import steganography.image.innerStructure.distortion.JUniwardMap;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.transforms.FastDct8;
+
+import java.awt.image.BufferedImage;
+
+public class TestLLStcDmasJUniwardMapNonSeq extends TestInnerStructureBasics {
+
+    @Override
+    protected Encoder getEncoder(BufferedImage image) {
+        long seed = 0;
+        BlockShuffleOverlay overlay = new BlockShuffleOverlay(image, seed, 8);
+        return new LossLessStcEncoder<>(
+                new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7),
+                overlay,
+                new JUniwardMap(image, overlay, Rgb2YCbCr::new),
+                false,
+                seed
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package steganography.image.innerStructure.integrations;
+
+import steganography.image.innerStructure.distortion.JUniward;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.encoders.stc.LossLessStcEncoder;
+import steganography.image.innerStructure.encoders.stc.StcEncoder;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.image.operation.stc.StcEngine;
+import steganography.transforms.FastDct8;
+import steganography.transforms.Wavelet;
+
+import java.awt.image.BufferedImage;
+
+public class TestLLStcDmasJUniwardNonSeqParallel extends TestInnerStructureBasics {
+
+    @Override
+    protected Encoder getEncoder(BufferedImage image) {
+        long seed = 0;
+        return new LossLessStcEncoder<>(
+                new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .95f, 7, 7),
+                new BlockShuffleOverlay(image, seed, 8),
+                new JUniward(Rgb2YCbCr::new, new Wavelet()),
+                false,
+                seed,
+                StcEncoder.DEFAULT_CONSTRAINT_HEIGHT,
+                StcEngine.Precision.DOUBLE,
+                1,
+                4
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package steganography.image.innerStructure.integrations;
+
+import steganography.image.innerStructure.embedders.spatial.PixelBit;
+import steganography.image.innerStructure.encoders.Encoder;
+import steganography.image.innerStructure.encoders.plain.PlainEncoder;
+import steganography.image.innerStructure.overlays.LazyPixelShuffleOverlay;
+
+import java.awt.image.BufferedImage;
+
+public class TestPlainPixelBitNonSeqLazyRmTP extends TestInnerStructureBasics {
+
+    @Override
+    protected Encoder getEncoder(BufferedImage image) {
+        long seed = 0;
+        return new PlainEncoder<>(
+                new PixelBit(),
+                new LazyPixelShuffleOverlay(image, seed, pixel -> ((pixel >> 24) & 255) > 0),
+                false
+        );
+    }
+}
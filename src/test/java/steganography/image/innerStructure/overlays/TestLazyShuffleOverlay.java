@@ -0,0 +1,158 @@
+package steganography.image.innerStructure.overlays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.SteganographyException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.embedders.spatial.LsbReplacer;
+import steganography.image.innerStructure.encoders.plain.PlainEncoder;
+import steganography.image.innerStructure.overlays.abstracts.SequenceOverlay;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestLazyShuffleOverlay {
+
+    private static final long SEED = 1732341558;
+
+    /**
+     * Image with random colors and some transparent pixels
+     */
+    private BufferedImage getImage(int width, int height) {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt(8) == 0 ? 0 : random.nextInt() | 0xff000000);
+        }
+        return image;
+    }
+
+    /**
+     * Returns the chunk indices of the overlay in its order
+     */
+    private List<Integer> order(SequenceOverlay<?> overlay, int csl, int width) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < overlay.available(); i++)
+            order.add(overlay.calcY(i) / csl * (width / csl) + overlay.calcX(i) / csl);
+        return order;
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_visitsEveryPixelOnce() {
+        for (int[] size : new int[][]{{1, 1}, {2, 1}, {3, 5}, {37, 23}, {64, 64}}) {
+            List<Integer> order = order(new LazyPixelShuffleOverlay(getImage(size[0], size[1]), SEED), 1, size[0]);
+
+            Assertions.assertEquals(size[0] * size[1], order.size());
+            Assertions.assertEquals(order.size(), new HashSet<>(order).size());
+        }
+    }
+
+    @Test
+    void test_LazyBlockShuffleOverlay_sameSeedSameOrder_otherSeedOtherOrder() {
+        BufferedImage image = getImage(128, 96);
+
+        List<Integer> order = order(new LazyBlockShuffleOverlay(image, SEED, 8), 8, 128);
+        Assertions.assertEquals(order, order(new LazyBlockShuffleOverlay(image, SEED, 8), 8, 128));
+        Assertions.assertNotEquals(order, order(new LazyBlockShuffleOverlay(image, SEED + 1, 8), 8, 128));
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_withCondition_testsVisitedOnly() {
+        BufferedImage image = getImage(64, 64);
+        AtomicInteger tests = new AtomicInteger();
+        LazyPixelShuffleOverlay overlay = new LazyPixelShuffleOverlay(image, SEED, pixel -> {
+            tests.incrementAndGet();
+            return pixel >>> 24 == 255;
+        });
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(255, overlay.get(i) >>> 24);
+            overlay.setInt(overlay.getInt(i) ^ 1, i);
+        }
+        Assertions.assertTrue(tests.get() < 64 * 64 / 2);
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_withCondition_sameOrderFiltered() {
+        BufferedImage image = getImage(37, 23);
+        LazyPixelShuffleOverlay overlay = new LazyPixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 == 255);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int chunk : order(new LazyPixelShuffleOverlay(image, SEED), 1, 37)) {
+            if (image.getRGB(chunk % 37, chunk / 37) >>> 24 == 255)
+                expected.add(chunk);
+        }
+
+        Set<Integer> visited = new HashSet<>();
+        List<Integer> actual = new ArrayList<>();
+        for (int i = 0; visited.size() < expected.size(); i++) {
+            int chunk = overlay.calcY(i) * 37 + overlay.calcX(i);
+            visited.add(chunk);
+            actual.add(chunk);
+        }
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.size(), overlay.available());
+        Assertions.assertThrows(NoSuchElementException.class, () -> overlay.get(expected.size()));
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_withCondition_availableExactBeforeVisiting() {
+        BufferedImage image = getImage(37, 23);
+        LazyPixelShuffleOverlay overlay = new LazyPixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 == 255);
+
+        int opaque = 0;
+        for (int y = 0; y < 23; y++) {
+            for (int x = 0; x < 37; x++) {
+                if (image.getRGB(x, y) >>> 24 == 255)
+                    opaque++;
+            }
+        }
+
+        int expected = opaque;
+        Assertions.assertEquals(expected, overlay.available());
+        for (int i = 0; i < expected; i++)
+            Assertions.assertEquals(255, overlay.get(i) >>> 24);
+        Assertions.assertThrows(NoSuchElementException.class, () -> overlay.get(expected));
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_withCondition_plainEncoderTestsNeededOnly() throws SteganographyException {
+        BufferedImage image = getImage(64, 64);
+        AtomicInteger tests = new AtomicInteger();
+        LazyPixelShuffleOverlay overlay = new LazyPixelShuffleOverlay(image, SEED, pixel -> {
+            tests.incrementAndGet();
+            return pixel >>> 24 == 255;
+        });
+        byte[] payload = {42, -7, 13, 100};
+
+        new PlainEncoder<>(new LsbReplacer(), overlay).encode(payload);
+        Assertions.assertTrue(tests.get() < 64 * 64 / 2);
+
+        LazyPixelShuffleOverlay decoding = new LazyPixelShuffleOverlay(image, SEED, pixel -> {
+            tests.incrementAndGet();
+            return pixel >>> 24 == 255;
+        });
+        Assertions.assertArrayEquals(payload, new PlainEncoder<>(new LsbReplacer(), decoding).decode(payload.length));
+        Assertions.assertTrue(tests.get() < 64 * 64);
+    }
+
+    @Test
+    void test_LazyPixelShuffleOverlay_withCondition_plainEncoderTooLongPayload_throwsBeforeEmbedding() {
+        BufferedImage image = getImage(16, 16);
+        int[] before = image.getRGB(0, 0, 16, 16, null, 0, 16);
+        LazyPixelShuffleOverlay overlay = new LazyPixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 == 255);
+
+        // 256 pixels, some of them transparent
+        Assertions.assertThrows(ImageCapacityException.class,
+                () -> new PlainEncoder<>(new LsbReplacer(), overlay).encode(new byte[32]));
+        Assertions.assertArrayEquals(before, image.getRGB(0, 0, 16, 16, null, 0, 16));
+    }
+}
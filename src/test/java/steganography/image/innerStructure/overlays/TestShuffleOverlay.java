@@ -0,0 +1,98 @@
+package steganography.image.innerStructure.overlays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import steganography.image.innerStructure.overlays.abstracts.SequenceOverlay;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestShuffleOverlay {
+
+    private static final long SEED = 1732341558;
+
+    /**
+     * Image with random colors and some transparent pixels
+     */
+    private BufferedImage getImage(int width, int height) {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt(8) == 0 ? 0 : random.nextInt() | 0xff000000);
+        }
+        return image;
+    }
+
+    /**
+     * Returns the chunk indices of the overlay in its order
+     */
+    private List<Integer> order(SequenceOverlay<?> overlay, int csl, int width) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < overlay.available(); i++)
+            order.add(overlay.calcY(i) / csl * (width / csl) + overlay.calcX(i) / csl);
+        return order;
+    }
+
+    /**
+     * Order of the overlays before shuffling with an int[], to stay compatible with existing images
+     */
+    private List<Integer> collectionsShuffled(List<Integer> chunks, Random random) {
+        Collections.shuffle(chunks, random);
+        return chunks;
+    }
+
+    private List<Integer> range(int amount) {
+        List<Integer> chunks = new ArrayList<>();
+        for (int i = 0; i < amount; i++)
+            chunks.add(i);
+        return chunks;
+    }
+
+    @Test
+    void test_PixelShuffleOverlay_sameOrderAsCollectionsShuffle() {
+        BufferedImage image = getImage(37, 23);
+
+        // the constructor without condition shuffles twice
+        Random random = new Random(SEED);
+        collectionsShuffled(range(37 * 23), random);
+        List<Integer> expected = collectionsShuffled(range(37 * 23), random);
+
+        Assertions.assertEquals(expected, order(new PixelShuffleOverlay(image, SEED), 1, 37));
+    }
+
+    @Test
+    void test_BlockShuffleOverlay_withCondition_sameOrderAsCollectionsShuffle() {
+        BufferedImage image = getImage(64, 48);
+        BlockShuffleOverlay overlay = new BlockShuffleOverlay(image, SEED, 4,
+                block -> block[0] >>> 24 == 255);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 16 * 12; i++) {
+            if (image.getRGB(i % 16 * 4, i / 16 * 4) >>> 24 == 255)
+                expected.add(i);
+        }
+
+        Assertions.assertEquals(collectionsShuffled(expected, new Random(SEED)), order(overlay, 4, 64));
+    }
+
+    /**
+     * Tests an image large enough to test the condition in multiple parallel ranges
+     */
+    @Test
+    void test_PixelShuffleOverlay_withCondition_manyRanges_sameOrderAsCollectionsShuffle() {
+        BufferedImage image = getImage(300, 200);
+        PixelShuffleOverlay overlay = new PixelShuffleOverlay(image, SEED, pixel -> pixel >>> 24 == 255);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 300 * 200; i++) {
+            if (image.getRGB(i % 300, i / 300) >>> 24 == 255)
+                expected.add(i);
+        }
+
+        Assertions.assertEquals(collectionsShuffled(expected, new Random(SEED)), order(overlay, 1, 300));
+    }
+}
@@ -0,0 +1,88 @@
+package steganography.image.innerStructure.overlays.abstracts;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class TestPixelAccess {
+
+    private static final int WIDTH = 24;
+    private static final int HEIGHT = 16;
+    /**
+     * Types accessed directly and one type accessed through the BufferedImage
+     */
+    private static final int[] TYPES = {BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_INT_BGR};
+
+    private BufferedImage getImage(int type) {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++)
+                image.setRGB(x, y, random.nextInt());
+        }
+        return image;
+    }
+
+    private void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        Assertions.assertArrayEquals(
+                expected.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH),
+                actual.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH)
+        );
+    }
+
+    @Test
+    void test_getRGB_sameAsBufferedImage() {
+        for (int type : TYPES) {
+            BufferedImage image = getImage(type);
+            PixelAccess pixels = PixelAccess.of(image);
+
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++)
+                    Assertions.assertEquals(image.getRGB(x, y), pixels.getRGB(x, y));
+            }
+            Assertions.assertArrayEquals(image.getRGB(8, 4, 8, 8, null, 0, 8),
+                    pixels.getRGB(8, 4, 8, 8, new int[64]));
+        }
+    }
+
+    @Test
+    void test_setRGB_sameAsBufferedImage() {
+        for (int type : TYPES) {
+            Random random = new Random(1);
+            BufferedImage expected = getImage(type);
+            BufferedImage actual = getImage(type);
+            PixelAccess pixels = PixelAccess.of(actual);
+
+            int argb = random.nextInt();
+            expected.setRGB(3, 5, argb);
+            pixels.setRGB(3, 5, argb);
+
+            int[] block = random.ints(64).toArray();
+            expected.setRGB(16, 8, 8, 8, block, 0, 8);
+            pixels.setRGB(16, 8, 8, 8, block);
+
+            assertSamePixels(expected, actual);
+        }
+    }
+
+    @Test
+    void test_subImage_sameAsBufferedImage() {
+        for (int type : new int[]{BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR}) {
+            BufferedImage expected = getImage(type).getSubimage(4, 2, 16, 8);
+            BufferedImage actual = getImage(type).getSubimage(4, 2, 16, 8);
+            PixelAccess pixels = PixelAccess.of(actual);
+
+            Assertions.assertArrayEquals(expected.getRGB(8, 0, 8, 8, null, 0, 8),
+                    pixels.getRGB(8, 0, 8, 8, new int[64]));
+
+            int[] block = new Random(1).ints(64).toArray();
+            expected.setRGB(0, 0, 8, 8, block, 0, 8);
+            pixels.setRGB(0, 0, 8, 8, block);
+            Assertions.assertArrayEquals(expected.getRGB(0, 0, 16, 8, null, 0, 16),
+                    actual.getRGB(0, 0, 16, 8, null, 0, 16));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package steganography.image.operation.dct;
+
+import org.junit.jupiter.api.Test;
+import steganography.exceptions.encoder.EncoderException;
+import steganography.image.exceptions.ImageCapacityException;
+import steganography.image.innerStructure.embedders.dct.dmas.DmasEmbedder;
+import steganography.image.innerStructure.encoders.plain.PlainEncoder;
+import steganography.image.innerStructure.overlays.BlockShuffleOverlay;
+import steganography.image.innerStructure.overlays.DctPlaneOverlay;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr;
+import steganography.transforms.FastDct8;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDctPlane {
+
+    private static final long SEED = 0;
+
+    /**
+     * Image with random colors, whose size is no multiple of 8 and which is split into multiple ranges of rows
+     */
+    private BufferedImage getImage() {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(75, 300, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++)
+                image.setRGB(x, y, random.nextInt());
+        }
+        return image;
+    }
+
+    private void assertSameCoefficients(BufferedImage image, DctPlane plane) {
+        FastDct8 dct = new FastDct8();
+        double[] block = new double[64];
+        for (int by = 0; by < plane.getBlocksY(); by++) {
+            for (int bx = 0; bx < plane.getBlocksX(); bx++) {
+                int[] argb = image.getRGB(bx * 8, by * 8, 8, 8, null, 0, 8);
+                double[][] expected = dct.forward(new Rgb2YCbCr(argb, 8).getValues());
+                int index = plane.blockIndex(bx * 8, by * 8);
+                plane.getBlock(index, block);
+                for (int y = 0; y < 8; y++) {
+                    for (int x = 0; x < 8; x++) {
+                        assertEquals(expected[y][x], plane.get(index, x, y));
+                        assertEquals(expected[y][x], block[y * 8 + x]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_construct_sameAsSingleBlocks() {
+        BufferedImage image = getImage();
+        DctPlane plane = new DctPlane(image);
+
+        assertEquals(9, plane.getBlocksX());
+        assertEquals(37, plane.getBlocksY());
+        assertEquals(9 * 37, plane.amount());
+        assertSameCoefficients(image, plane);
+    }
+
+    @Test
+    void test_blockIndex_sameOrderAsSequenceOverlay() {
+        BufferedImage image = getImage();
+        DctPlane plane = new DctPlane(image);
+        BlockShuffleOverlay overlay = new BlockShuffleOverlay(image, SEED, 8);
+
+        assertEquals(plane.amount(), overlay.available());
+        boolean[] visited = new boolean[plane.amount()];
+        for (int i = 0; i < overlay.available(); i++) {
+            int index = plane.blockIndex(overlay.calcX(i), overlay.calcY(i));
+            assertFalse(visited[index]);
+            visited[index] = true;
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> plane.blockIndex(72, 0));
+    }
+
+    @Test
+    void test_overlay_encode_planeUpdated() throws EncoderException, ImageCapacityException {
+        BufferedImage image = getImage();
+        DctPlaneOverlay overlay = new DctPlaneOverlay(new BlockShuffleOverlay(image, SEED, 8), new DctPlane(image));
+        byte[] payload = new byte[20];
+        new Random(1).nextBytes(payload);
+
+        new PlainEncoder<>(new DmasEmbedder(Rgb2YCbCr::new, new FastDct8(), .55f), overlay).encode(payload);
+
+        assertSameCoefficients(image, overlay.getPlane());
+    }
+
+    @Test
+    void test_update_fromImage() {
+        BufferedImage image = getImage();
+        DctPlane plane = new DctPlane(image);
+        image.setRGB(8, 16, 8, 8, new int[64], 0, 8);
+
+        plane.update(plane.blockIndex(8, 16));
+
+        assertSameCoefficients(image, plane);
+    }
+}
@@ -0,0 +1,67 @@
+package steganography.image.operation.pixelTranslation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPooledTranslatorSupplier {
+
+    private final Random random = new Random(0);
+
+    private int[] randomBlock() {
+        int[] argb = new int[64];
+        for (int i = 0; i < argb.length; i++)
+            argb[i] = this.random.nextInt();
+        return argb;
+    }
+
+    @Test
+    void test_get_sameValuesAsNew() {
+        PooledTranslatorSupplier supplier = new PooledTranslatorSupplier(Rgb2YCbCr::new, 2);
+        for (int i = 0; i < 10; i++) {
+            int[] argb = randomBlock();
+            PixelTranslator pooled = supplier.get(argb, 8);
+            PixelTranslator fresh = new Rgb2YCbCr(argb, 8);
+
+            assertArrayEquals(fresh.getValues(new double[64]), pooled.getValues(new double[64]));
+            pooled.set(1, 2, 200);
+            fresh.set(1, 2, 200);
+            assertArrayEquals(fresh.asARGB(), pooled.asARGB());
+        }
+    }
+
+    @Test
+    void test_get_reusesAfterCapacity() {
+        PooledTranslatorSupplier supplier = new PooledTranslatorSupplier(Rgb2YCbCr::new, 4);
+        PixelTranslator[] translators = new PixelTranslator[4];
+        for (int i = 0; i < 4; i++) {
+            translators[i] = supplier.get(randomBlock(), 8);
+            for (int j = 0; j < i; j++)
+                assertNotSame(translators[j], translators[i]);
+        }
+
+        int[] argb = randomBlock();
+        for (int i = 0; i < 4; i++)
+            assertSame(translators[i], supplier.get(argb, 8));
+    }
+
+    @Test
+    void test_get_otherThread_otherTranslator() throws InterruptedException {
+        PooledTranslatorSupplier supplier = new PooledTranslatorSupplier(Rgb2YCbCr::new, 1);
+        PixelTranslator translator = supplier.get(randomBlock(), 8);
+        PixelTranslator[] other = new PixelTranslator[1];
+        Thread thread = new Thread(() -> other[0] = supplier.get(new int[64], 8));
+        thread.start();
+        thread.join();
+
+        assertNotNull(other[0]);
+        assertNotSame(translator, other[0]);
+    }
+
+    @Test
+    void test_construct_noCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledTranslatorSupplier(Rgb2YCbCr::new, 0));
+    }
+}
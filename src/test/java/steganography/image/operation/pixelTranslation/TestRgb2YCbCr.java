@@ -0,0 +1,155 @@
+package steganography.image.operation.pixelTranslation;
+
+import org.junit.jupiter.api.Test;
+import steganography.image.operation.pixelTranslation.Rgb2YCbCr.Channel;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link Rgb2YCbCr} is bit-exact to the calculation in double for every pixel, which existing stego images
+ * depend on. The reference is the calculation {@link Rgb2YCbCr} used before it looked up the products.
+ */
+public class TestRgb2YCbCr {
+
+    private static final String PS = File.separator;
+    private static final String BASE_FILE_PATH =
+            String.join(PS, "src", "test", "resources", "steganography", "image") + PS;
+    private static final String[] IMAGES = {"baum.png", "baum8.png", "baum_TP.png", "rosehip.png", "rosehip.bmp"};
+
+    private final Random random = new Random(0);
+
+    /**
+     * @return Y, Cb and Cr values of {@code argb}, calculated in double like before
+     */
+    private static double[] referenceYCbCr(int argb) {
+        double r = ((argb >> 16) & 255);
+        double g = ((argb >> 8)  & 255);
+        double b = ( argb        & 255);
+
+        return new double[]{
+                Math.min(Math.max(0, (  0.2990 * r + 0.5870 * g + 0.1140 * b))      , 255),
+                Math.min(Math.max(0, (- 0.1687 * r - 0.3313 * g + 0.5000 * b) + 128), 255),
+                Math.min(Math.max(0, (  0.5000 * r - 0.4187 * g - 0.0813 * b) + 128), 255)
+        };
+    }
+
+    /**
+     * @return ARGB value of {@code yCbCr}, calculated like before, keeping the alpha value of {@code argb}
+     */
+    private static int referenceARGB(double[] yCbCr, int argb) {
+        double yVal  = yCbCr[0];
+        double cbVal = yCbCr[1] - 128;
+        double crVal = yCbCr[2] - 128;
+
+        int r = (int) Math.min(Math.max(0, Math.round(yVal +                  1.4020 * crVal)), 255);
+        int g = (int) Math.min(Math.max(0, Math.round(yVal - 0.3441 * cbVal - 0.7141 * crVal)), 255);
+        int b = (int) Math.min(Math.max(0, Math.round(yVal + 1.7720 * cbVal                 )), 255);
+        return argb & (0xff << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Checks every channel of every 8x8 block of the image, unchanged and with changed values of the channel
+     */
+    private void assertBitExact(int[] argb) {
+        for (Channel channel : Channel.values()) {
+            Rgb2YCbCr translator = new Rgb2YCbCr(argb.clone(), 8, channel);
+            double[] values = translator.getValues(new double[64]);
+            double[][] expected = new double[64][];
+            for (int i = 0; i < 64; i++) {
+                expected[i] = referenceYCbCr(argb[i]);
+                assertEquals(expected[i][channel.ordinal()], values[i]);
+            }
+
+            for (int i = 0; i < 64; i++) {
+                values[i] += this.random.nextGaussian() * 4;
+                expected[i][channel.ordinal()] = values[i];
+            }
+            translator.setValues(values);
+            int[] result = translator.asARGB();
+            for (int i = 0; i < 64; i++)
+                assertEquals(referenceARGB(expected[i], argb[i]), result[i]);
+        }
+    }
+
+    @Test
+    void test_bundledImages_bitExact() throws IOException {
+        for (String image : IMAGES) {
+            BufferedImage bufferedImage = ImageIO.read(new File(BASE_FILE_PATH + image));
+            int[] argb = new int[64];
+            for (int y = 0; y + 8 <= bufferedImage.getHeight(); y += 8) {
+                for (int x = 0; x + 8 <= bufferedImage.getWidth(); x += 8)
+                    assertBitExact(bufferedImage.getRGB(x, y, 8, 8, argb, 0, 8));
+            }
+        }
+    }
+
+    @Test
+    void test_allColors_bitExact() {
+        int[] argb = new int[1 << 12];
+        for (int block = 0; block < 1 << 12; block++) {
+            for (int i = 0; i < argb.length; i++)
+                argb[i] = 0xff000000 | block << 12 | i;
+
+            double[][] values = new double[3][];
+            for (Channel channel : Channel.values())
+                values[channel.ordinal()] = new Rgb2YCbCr(argb, 64, channel).getValues(new double[argb.length]);
+            for (int i = 0; i < argb.length; i++) {
+                double[] expected = referenceYCbCr(argb[i]);
+                for (int c = 0; c < 3; c++) {
+                    if (expected[c] != values[c][i])
+                        fail("Channel " + Channel.values()[c] + " differs for " + Integer.toHexString(argb[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_asARGB_unchanged_keepsInput() {
+        int[] argb = {0x80ff0000, 0xff00ff00, 0x000000ff, 0xffffffff};
+        int[] copy = argb.clone();
+        Rgb2YCbCr translator = new Rgb2YCbCr(argb, 2);
+        translator.asARGB();
+
+        assertArrayEquals(copy, argb);
+    }
+
+    @Test
+    void test_reset_sameAsNew() {
+        int[] first = new int[64];
+        int[] second = new int[64];
+        for (int i = 0; i < 64; i++) {
+            first[i] = this.random.nextInt();
+            second[i] = this.random.nextInt();
+        }
+        for (Channel channel : Channel.values()) {
+            Rgb2YCbCr translator = new Rgb2YCbCr(first, 8, channel);
+            translator.set(3, 4, 17);
+            int[] firstARGB = translator.asARGB();
+            int[] firstCopy = firstARGB.clone();
+
+            translator.reset(second, 8);
+            Rgb2YCbCr expected = new Rgb2YCbCr(second, 8, channel);
+            assertArrayEquals(expected.getValues(new double[64]), translator.getValues(new double[64]));
+            assertArrayEquals(expected.asARGB(), translator.asARGB());
+            assertArrayEquals(firstCopy, firstARGB);
+
+            // other size
+            translator.reset(new int[]{first[0], second[0], first[1], second[1]}, 2);
+            assertEquals(2, translator.getWidth());
+            assertEquals(new Rgb2YCbCr(new int[]{first[0], second[0], first[1], second[1]}, 2, channel).get(1, 1),
+                    translator.get(1, 1));
+        }
+    }
+
+    @Test
+    void test_reset_asymmetrical_throws() {
+        Rgb2YCbCr translator = new Rgb2YCbCr(new int[64], 8);
+        assertThrows(IllegalArgumentException.class, () -> translator.reset(new int[63], 8));
+    }
+}
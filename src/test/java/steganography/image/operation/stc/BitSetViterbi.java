@@ -0,0 +1,91 @@
+package steganography.image.operation.stc;
+
+import steganography.util.ArrayUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reference implementation of the STC-adapted viterbi algorithm, as used before {@link StcEngine}
+ */
+final class BitSetViterbi {
+
+    private BitSetViterbi() {
+    }
+
+    /**
+     * <p>The former BitSet based implementation of the STC-adapted viterbi algorithm, as used by
+     * {@link steganography.image.innerStructure.encoders.stc.StcEncoder StcEncoder} before the introduction of
+     * {@link StcEngine}. It allocates one {@link BitSet} per cover element and one weight array per step.</p>
+     * <p>Kept as reference implementation to compare {@link StcEngine} against, in tests and benchmarks.</p>
+     * @param cvr Bits represented by the Cover Elements before changes
+     * @param cvrLen Amount of Cover Elements, as BitSets length calculation ignores trailing zeroes
+     * @param message Message bits
+     * @param msgLen Amount of Message Bits, as BitSets length calculation ignores trailing zeroes
+     * @param rho Distortion values sorted chronologically to the Cover Elements
+     * @param h_hat Submatrix in integer representation
+     * @param h constraint height
+     * @return The Steganographic Elements to replace the Cover Elements with.
+     */
+    static BitSet viterbi(BitSet cvr, int cvrLen, BitSet message, int msgLen, double[] rho, int[] h_hat, int h) {
+        if (msgLen > cvrLen)
+            throw new IllegalArgumentException(
+                    String.format("Message (%d) is longer than Cover (%d)", msgLen, cvrLen));
+
+        int w = h_hat.length;
+
+        int stateAmount = (int) Math.pow(2, h);
+        int halfStateAmount = stateAmount / 2;
+
+        BitSet[] path = new BitSet[msgLen * w];
+        for (int i = 0; i < path.length; i++) path[i] = new BitSet();
+
+        // forward part of the Viterbi algorithm
+        double[] wght = new double[stateAmount];
+        Arrays.fill(wght, Double.POSITIVE_INFINITY);
+        wght[0] = 0;
+
+        int indx = 0;
+        int indm;
+        for (indm = 0; indm < msgLen; indm++) {
+            for (int hh_col : h_hat) {
+                double[] newwght = new double[wght.length];
+                for (int k = 0; k < stateAmount; k++) {
+                    double w0 = wght[k] + (cvr.get(indx) ? rho[indx] : 0);
+                    double w1 = wght[k ^ hh_col] + (cvr.get(indx) ? 0 : rho[indx]);
+                    path[indx].set(k, w1 < w0);
+                    newwght[k] = Math.min(w0, w1);
+                }
+                indx++;
+                wght = newwght;
+            }
+
+            // prune states
+            for (int j = 0; j < halfStateAmount; j++) {
+                wght[j] = wght[2 * j + (message.get(indm) ? 1 : 0)];
+            }
+
+            for (int j = halfStateAmount; j < stateAmount; j++) {
+                wght[j] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        BitSet y = new BitSet(cvrLen);
+        int minInd = ArrayUtils.minInd(wght);
+
+        // backward part of the Viterbi algorithm
+        int state = minInd;
+        indx--;
+        for (--indm; indm >= 0; indm--) {
+            state = 2 * state + (message.get(indm) ? 1 : 0);
+            for (int j = w-1; j >= 0; j--) {
+                if (path[indx].get(state)) {
+                    y.set(indx);
+                    state ^= h_hat[j];
+                }
+                indx--;
+            }
+        }
+        return y;
+    }
+}
@@ -0,0 +1,247 @@
+package steganography.image.operation.stc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class TestStcEngine {
+
+    private static final int HEIGHT = 10;
+    private final Random random;
+
+    public TestStcEngine() {
+        this.random = new Random(7);
+    }
+
+    /////////////////////////////////////////////////////////////////////////////////////
+    //                                 UTILITY
+    /////////////////////////////////////////////////////////////////////////////////////
+
+    private int[] getHHat(int k, int h) {
+        int max = 1 << h;
+        Set<Integer> used = new HashSet<>();
+        int[] hHat = new int[k];
+        for (int i = 0; i < k; i++) {
+            int colVal = this.random.nextInt(max) | (1 << h-1) | 1;
+            while (!used.add(colVal))
+                colVal = ((colVal + 2) % max) | (1 << h-1);
+            hHat[i] = colVal;
+        }
+        return hHat;
+    }
+
+    private double[] getRho(int length, boolean constant) {
+        double[] rho = new double[length];
+        for (int i = 0; i < length; i++)
+            rho[i] = constant ? 1 : this.random.nextDouble() * 100;
+        return rho;
+    }
+
+    private void assertSameAsReference(StcEngine engine, int msgLen, int k, boolean constantRho) {
+        int cvrLen = msgLen * k;
+        BitSet cvr = BitSet.valueOf(this.random.longs((cvrLen + 63) / 64).toArray());
+        BitSet message = BitSet.valueOf(this.random.longs((msgLen + 63) / 64).toArray());
+        message.clear(msgLen, message.length() + 1);
+        double[] rho = getRho(cvrLen, constantRho);
+        int[] hHat = getHHat(k, engine.getHeight());
+
+        BitSet expected = BitSetViterbi.viterbi(cvr, cvrLen, message, msgLen, rho, hHat, engine.getHeight());
+        BitSet actual = engine.viterbi(cvr, cvrLen, message, msgLen, rho, hHat);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    /**
+     * Calculates the syndrome H*y of the parity check matrix built from {@code hHat}.
+     */
+    private BitSet syndrome(BitSet y, int msgLen, int[] hHat, int h) {
+        int w = hHat.length;
+        BitSet syndrome = new BitSet(msgLen);
+        for (int i = y.nextSetBit(0); i >= 0 && i < msgLen * w; i = y.nextSetBit(i + 1)) {
+            for (int row = 0; row < h && i / w + row < msgLen; row++) {
+                if ((hHat[i % w] >>> row & 1) == 1)
+                    syndrome.flip(i / w + row);
+            }
+        }
+        return syndrome;
+    }
+
+    private double distortion(BitSet cvr, BitSet y, int cvrLen, double[] rho) {
+        BitSet changes = (BitSet) y.clone();
+        changes.xor(cvr);
+        double distortion = 0;
+        for (int i = changes.nextSetBit(0); i >= 0 && i < cvrLen; i = changes.nextSetBit(i + 1))
+            distortion += rho[i];
+        return distortion;
+    }
+
+    /////////////////////////////////////////////////////////////////////////////////////
+    //                                   TESTS
+    /////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    void test_randomRho_sameAsReference() {
+        StcEngine engine = new StcEngine(HEIGHT);
+        for (int k = 2; k < 20; k++)
+            assertSameAsReference(engine, 80, k, false);
+    }
+
+    @Test
+    void test_constantRho_sameAsReference() {
+        StcEngine engine = new StcEngine(HEIGHT);
+        for (int k = 2; k < 20; k++)
+            assertSameAsReference(engine, 80, k, true);
+    }
+
+    @Test
+    void test_reusedEngine_shrinkingInput_sameAsReference() {
+        StcEngine engine = new StcEngine(HEIGHT);
+        assertSameAsReference(engine, 200, 100, false);
+        assertSameAsReference(engine, 16, 3, false);
+        assertSameAsReference(engine, 1, 2, false);
+    }
+
+    @Test
+    void test_smallHeight_sameAsReference() {
+        StcEngine engine = new StcEngine(4);
+        for (int k = 2; k < 4; k++)
+            assertSameAsReference(engine, 40, k, false);
+    }
+
+    @Test
+    void test_createdEngine_randomRho_sameAsReference() {
+        // vectorized if the platform supports it
+        StcEngine engine = StcEngine.create(HEIGHT);
+        for (int k = 2; k < 20; k++)
+            assertSameAsReference(engine, 80, k, false);
+    }
+
+    @Test
+    void test_createdEngine_constantRho_sameAsReference() {
+        StcEngine engine = StcEngine.create(HEIGHT);
+        for (int k = 2; k < 20; k++)
+            assertSameAsReference(engine, 80, k, true);
+    }
+
+    @Test
+    void test_createdEngine_smallHeights_sameAsReference() {
+        // less states than 64 and less states than vector lanes
+        for (int h = 3; h < 7; h++)
+            assertSameAsReference(StcEngine.create(h), 40, 2, false);
+    }
+
+    @Test
+    void test_createdEngine_illegalHeight_expectThrow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StcEngine.create(31));
+    }
+
+    /**
+     * Float precision must produce valid stego vectors. Paths may differ from double precision only where
+     * rounding decides between nearly equal paths, so the total distortion must stay (almost) minimal.
+     */
+    @Test
+    void test_floatPrecision_pathDifferencesAndDistortionDelta() {
+        StcEngine doubleEngine = StcEngine.create(HEIGHT, StcEngine.Precision.DOUBLE);
+        StcEngine floatEngine = StcEngine.create(HEIGHT, StcEngine.Precision.FLOAT);
+
+        int runs = 0;
+        int differingPaths = 0;
+        double maxRelativeDelta = 0;
+        for (int k = 2; k < 20; k++) {
+            for (boolean constantRho : new boolean[]{false, true}) {
+                int msgLen = 200;
+                int cvrLen = msgLen * k;
+                BitSet cvr = BitSet.valueOf(this.random.longs((cvrLen + 63) / 64).toArray());
+                BitSet message = BitSet.valueOf(this.random.longs((msgLen + 63) / 64).toArray());
+                message.clear(msgLen, message.length() + 1);
+                double[] rho = getRho(cvrLen, constantRho);
+                int[] hHat = getHHat(k, HEIGHT);
+
+                BitSet yDouble = doubleEngine.viterbi(cvr, cvrLen, message, msgLen, rho, hHat);
+                BitSet yFloat = floatEngine.viterbi(cvr, cvrLen, message, msgLen, rho, hHat);
+
+                Assertions.assertEquals(message, syndrome(yFloat, msgLen, hHat, HEIGHT));
+
+                double dDouble = distortion(cvr, yDouble, cvrLen, rho);
+                double dFloat = distortion(cvr, yFloat, cvrLen, rho);
+                // double precision path is optimal
+                Assertions.assertTrue(dFloat >= dDouble * (1 - 1e-9));
+                maxRelativeDelta = Math.max(maxRelativeDelta, (dFloat - dDouble) / dDouble);
+
+                runs++;
+                if (!yDouble.equals(yFloat))
+                    differingPaths++;
+            }
+        }
+
+        Assertions.assertTrue(maxRelativeDelta < 1e-5,
+                String.format("%d of %d paths differ, maximum relative distortion delta %e",
+                        differingPaths, runs, maxRelativeDelta));
+    }
+
+    @Test
+    void test_createdEngine_floatPrecision_smallHeights_validSyndrome() {
+        for (int h = 3; h < 7; h++) {
+            StcEngine engine = StcEngine.create(h, StcEngine.Precision.FLOAT);
+            int msgLen = 40;
+            BitSet cvr = BitSet.valueOf(this.random.longs(2).toArray());
+            BitSet message = BitSet.valueOf(this.random.longs(1).toArray());
+            message.clear(msgLen, message.length() + 1);
+            int[] hHat = getHHat(2, h);
+
+            BitSet y = engine.viterbi(cvr, msgLen * 2, message, msgLen, getRho(msgLen * 2, false), hHat);
+            Assertions.assertEquals(message, syndrome(y, msgLen, hHat, h));
+        }
+    }
+
+    @Test
+    void test_syndrome_sameAsReference() {
+        for (int h : new int[]{1, 3, 10, 16}) {
+            for (int k : new int[]{1, 2, 5, 63, 64, 65, 130}) {
+                int msgLen = 50;
+                int[] hHat = this.random.ints(k, 0, 1 << h).toArray();
+                // more Bits than used, which must be ignored
+                BitSet y = BitSet.valueOf(this.random.longs((msgLen * k + 127) / 64).toArray());
+
+                Assertions.assertEquals(syndrome(y, msgLen, hHat, h), StcEngine.syndrome(y, msgLen, hHat, h),
+                        "h = " + h + ", k = " + k);
+            }
+        }
+    }
+
+    @Test
+    void test_syndrome_ofViterbi_isMessage() {
+        StcEngine engine = new StcEngine(HEIGHT);
+        for (int k = 2; k < 20; k++) {
+            int msgLen = 80;
+            BitSet cvr = BitSet.valueOf(this.random.longs((msgLen * k + 63) / 64).toArray());
+            BitSet message = BitSet.valueOf(this.random.longs(2).toArray());
+            message.clear(msgLen, message.length() + 1);
+            int[] hHat = getHHat(k, HEIGHT);
+
+            BitSet y = engine.viterbi(cvr, msgLen * k, message, msgLen, getRho(msgLen * k, false), hHat);
+            Assertions.assertEquals(message, StcEngine.syndrome(y, msgLen, hHat, HEIGHT));
+        }
+    }
+
+    @Test
+    void test_nullPrecision_expectThrow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StcEngine.create(HEIGHT, null));
+    }
+
+    @Test
+    void test_messageLongerThanCover_expectThrow() {
+        StcEngine engine = new StcEngine(HEIGHT);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> engine.viterbi(new BitSet(), 1, new BitSet(), 2, new double[1], new int[]{513}));
+    }
+
+    @Test
+    void test_illegalHeight_expectThrow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StcEngine(0));
+    }
+}
@@ -29,6 +29,7 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Random;
 
@@ -243,6 +244,33 @@ public class TestOuterStructure {
                 String.format("Errors more than 1 percent: capacity: %d; Errors: %d", capacity, errors));
     }
 
+    // MP reproducible
+    @Test
+    void given_PNGNoTransparency_MINIMAL_IMPACT_when_encodingTwice_expect_sameImage()
+            throws SteganographyException, IOException {
+
+        byte[] imageInput = Files.readAllBytes(new File(baseFilePath + rosehip + png).toPath());
+        byte[] payload = getRandomBytes(500);
+
+        byte[] first = new ImageSteg(true, false, ImageSteg.Preset.MINIMAL_IMPACT).encode(imageInput, payload);
+        byte[] second = new ImageSteg(true, false, ImageSteg.Preset.MINIMAL_IMPACT).encode(imageInput, payload);
+
+        Assertions.assertArrayEquals(first, second);
+    }
+
+    // MP error correction of payloads longer than one codeword
+    @Test
+    void given_PNGNoTransparency_MINIMAL_IMPACT_when_encodingAndDecodingLongPayloadWithErrorCorrection_expect_success()
+            throws SteganographyException, IOException {
+
+        byte[] imageInput = Files.readAllBytes(new File(baseFilePath + rosehip + png).toPath());
+        byte[] payload = getRandomBytes(1000);
+
+        byte[] image = new ImageSteg(true, true, ImageSteg.Preset.MINIMAL_IMPACT).encode(imageInput, payload);
+
+        Assertions.assertArrayEquals(payload, new ImageSteg(true, true, ImageSteg.Preset.MINIMAL_IMPACT).decode(image));
+    }
+
     // DR Erased Transparency Full Capacity -> High error rate
     @Test
     void given_PNGErasedTransparency_FullCapacity_DETECTION_RESISTANCE_when_encodingAndDecodingNoHeader_expect_Lt50PercentErrors()
@@ -688,6 +716,55 @@ public class TestOuterStructure {
     }
 
 
+    // CONSTRAINT HEIGHT
+    // ------------------------------------
+
+    @Test
+    void given_PNG_MINIMAL_IMPACT_when_encodingAndDecodingWithConstraintHeights_expect_success()
+            throws SteganographyException, IOException {
+
+        byte[] imageInput = readFile(baum + png);
+
+        for (int height : new int[]{6, 8, 12}) {
+            byte[] payload = getRandomBytes(100);
+
+            ImageSteg imageSteg = new ImageSteg(true, false, ImageSteg.Preset.MINIMAL_IMPACT, height);
+            byte[] imageIntermediate = imageSteg.encode(imageInput, payload);
+
+            imageSteg = new ImageSteg(true, false, ImageSteg.Preset.MINIMAL_IMPACT, height);
+            Assertions.assertArrayEquals(payload, imageSteg.decode(imageIntermediate), "Constraint height " + height);
+        }
+    }
+
+    @Test
+    void given_PNG_MINIMAL_IMPACT_when_decodingWithOtherConstraintHeight_expect_differentMessage()
+            throws SteganographyException, IOException {
+
+        byte[] imageInput = readFile(baum + png);
+        byte[] payload = getRandomBytes(100);
+
+        byte[] imageIntermediate = new ImageSteg(false, false, ImageSteg.Preset.MINIMAL_IMPACT, 8)
+                .encode(imageInput, payload);
+
+        byte[] decoded = new ImageSteg(false, false, ImageSteg.Preset.MINIMAL_IMPACT)
+                .decode(payload.length, imageIntermediate);
+
+        Assertions.assertFalse(Arrays.equals(payload, decoded));
+    }
+
+    @Test
+    void given_illegalConstraintHeight_when_creating_expect_IllegalArgumentException() {
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ImageSteg(true, true, ImageSteg.Preset.DETECTION_RESISTANCE, 2)
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ImageSteg(true, true, ImageSteg.Preset.DETECTION_RESISTANCE, 17)
+        );
+    }
+
     // NULL_VALUES
     // ------------------------------------
 
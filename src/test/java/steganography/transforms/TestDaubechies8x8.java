@@ -0,0 +1,94 @@
+package steganography.transforms;
+
+import jwave.transforms.FastWaveletTransform;
+import jwave.transforms.wavelets.daubechies.Daubechies8;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link Daubechies8x8} and the default {@link Wavelet} return the same values as the generic
+ * {@link Wavelet} using JWave, except for rounding errors.
+ */
+public class TestDaubechies8x8 {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final Random random = new Random(0);
+    private final Daubechies8x8 wavelet = new Daubechies8x8();
+    private final Wavelet jWave = new Wavelet(new jwave.Transform(new FastWaveletTransform(new Daubechies8())));
+
+    private double[][] randomBlock(int side) {
+        double[][] block = new double[side][side];
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++)
+                block[y][x] = this.random.nextInt(256);
+        }
+        return block;
+    }
+
+    private double[] flatten(double[][] values) {
+        double[] flat = new double[values.length * values.length];
+        for (int y = 0; y < values.length; y++)
+            System.arraycopy(values[y], 0, flat, y * values.length, values.length);
+        return flat;
+    }
+
+    private void assertMatrixEquals(double[][] expected, double[][] actual) {
+        assertArrayEquals(flatten(expected), flatten(actual), TOLERANCE);
+    }
+
+    @Test
+    void test_forward_sameAsJWave() {
+        for (int i = 0; i < 100; i++) {
+            double[][] block = randomBlock(8);
+            double[] flat = flatten(block);
+            this.wavelet.forward(flat);
+
+            double[][] expected = this.jWave.forward(block);
+            assertMatrixEquals(expected, this.wavelet.forward(block));
+            assertArrayEquals(flatten(expected), flat, TOLERANCE);
+        }
+    }
+
+    @Test
+    void test_reverse_sameAsJWave() {
+        for (int i = 0; i < 100; i++) {
+            double[][] coefficients = this.jWave.forward(randomBlock(8));
+            coefficients[i % 8][i / 8 % 8] += this.random.nextGaussian() * 50;
+            double[] flat = flatten(coefficients);
+            this.wavelet.reverse(flat);
+
+            double[][] expected = this.jWave.reverse(coefficients);
+            assertMatrixEquals(expected, this.wavelet.reverse(coefficients));
+            assertArrayEquals(flatten(expected), flat, TOLERANCE);
+        }
+    }
+
+    @Test
+    void test_forwardReverse_restoresValues() {
+        double[][] block = randomBlock(8);
+        double[] flat = flatten(block);
+        this.wavelet.forward(flat);
+        this.wavelet.reverse(flat);
+
+        assertArrayEquals(flatten(block), flat, TOLERANCE);
+    }
+
+    @Test
+    void test_defaultWavelet_sameAsJWave() {
+        Wavelet defaultWavelet = new Wavelet();
+        // 8x8 uses Daubechies8x8, 16x16 falls back to JWave
+        for (int side : new int[]{8, 16}) {
+            double[][] block = randomBlock(side);
+            double[] flat = flatten(block);
+
+            assertMatrixEquals(this.jWave.forward(block), defaultWavelet.forward(block));
+            assertEquals(this.jWave.detailSum(block), defaultWavelet.detailSum(block), TOLERANCE);
+            assertEquals(this.jWave.detailSum(block), defaultWavelet.detailSum(flat), TOLERANCE);
+            assertArrayEquals(flatten(this.jWave.forward(block)), flat, TOLERANCE);
+        }
+    }
+}
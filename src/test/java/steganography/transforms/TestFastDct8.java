@@ -0,0 +1,80 @@
+package steganography.transforms;
+
+import org.junit.jupiter.api.Test;
+import steganography.util.Quantizer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the flat, in place methods of {@link FastDct8} return the same values as the ones on matrices.
+ */
+public class TestFastDct8 {
+
+    private final Random random = new Random(0);
+    private final FastDct8 dct = new FastDct8();
+
+    /**
+     * Random spatial values, partly outside of [0, 255] to test the restriction
+     */
+    private double[][] randomBlock() {
+        double[][] block = new double[8][8];
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++)
+                block[y][x] = this.random.nextDouble() * 300 - 20;
+        }
+        return block;
+    }
+
+    private double[] flatten(double[][] values) {
+        double[] flat = new double[64];
+        for (int y = 0; y < 8; y++)
+            System.arraycopy(values[y], 0, flat, y * 8, 8);
+        return flat;
+    }
+
+    @Test
+    void test_forward_flat_sameAsMatrix() {
+        for (int i = 0; i < 100; i++) {
+            double[][] block = randomBlock();
+            double[] flat = flatten(block);
+            this.dct.forward(flat);
+
+            assertArrayEquals(flatten(this.dct.forward(block)), flat);
+        }
+    }
+
+    @Test
+    void test_reverse_flat_sameAsMatrix() {
+        for (int i = 0; i < 100; i++) {
+            double[][] coefficients = this.dct.forward(randomBlock());
+            coefficients[i % 8][i / 8 % 8] += this.random.nextGaussian() * 50;
+            double[] flat = flatten(coefficients);
+            this.dct.reverse(flat);
+
+            assertArrayEquals(flatten(this.dct.reverse(coefficients)), flat);
+        }
+    }
+
+    @Test
+    void test_forwardReverse_flat_restoresRoundedValues() {
+        double[][] block = randomBlock();
+        double[] flat = flatten(block);
+        this.dct.forward(flat);
+        this.dct.reverse(flat);
+
+        for (int i = 0; i < 64; i++)
+            assertEquals(Math.max(0, Math.min(255, Math.round(block[i / 8][i % 8]))), flat[i], 1);
+    }
+
+    @Test
+    void test_prequantize_flat_sameAsMatrix() {
+        for (float qf : new float[]{.3f, .55f, .85f}) {
+            double[][] coefficients = this.dct.forward(randomBlock());
+            double[] flat = flatten(coefficients);
+
+            assertArrayEquals(flatten(Quantizer.prequantize(coefficients, qf)), Quantizer.prequantize(flat, qf));
+        }
+    }
+}
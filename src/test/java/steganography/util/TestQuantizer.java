@@ -0,0 +1,87 @@
+package steganography.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestQuantizer {
+
+    private static final int[] LUMA = {
+        16, 11, 10, 16,  24,  40,  51,  61,
+        12, 12, 14, 19,  26,  58,  60,  55,
+        14, 13, 16, 24,  40,  57,  69,  56,
+        14, 17, 22, 29,  51,  87,  80,  62,
+        18, 22, 37, 56,  68, 109, 103,  77,
+        24, 35, 55, 64,  81, 104, 113,  92,
+        49, 64, 78, 87, 103, 121, 120, 101,
+        72, 92, 95, 98, 112, 100, 103,  99
+    };
+
+    private final Random random = new Random(0);
+
+    /**
+     * Quantization value calculated according to RFC2035, as before the tables were cached
+     */
+    private static int expectedValue(int index, float qf) {
+        int q = Math.max(1, Math.min((int) (qf * 100), 100));
+        int factor = q < 50 ? 5000 / q : 200 - q * 2;
+        return Math.min(255, Math.max(1, (LUMA[index] * factor + 50) / 100));
+    }
+
+    private double[] randomCoefficients() {
+        double[] values = new double[64];
+        for (int i = 0; i < 64; i++)
+            values[i] = this.random.nextGaussian() * 200;
+        return values;
+    }
+
+    @Test
+    void test_quantizationValue_sameAsCalculated() {
+        for (float qf : new float[]{-1f, 0f, .005f, .01f, .3f, .49f, .5f, .55f, .65f, .85f, .95f, .999f, 1f, 100f}) {
+            for (int i = 0; i < 64; i++) {
+                assertEquals(expectedValue(i, qf), Quantizer.quantizationValue(i, qf));
+                assertEquals(expectedValue(i, qf), Quantizer.quantizationValue(i % 8, i / 8, qf));
+            }
+        }
+    }
+
+    @Test
+    void test_prequantize_sameAsCalculated() {
+        for (float qf : new float[]{.3f, .55f, .85f, 100f}) {
+            double[] values = randomCoefficients();
+            double[] expected = new double[64];
+            for (int i = 0; i < 64; i++) {
+                int q = expectedValue(i, qf);
+                expected[i] = Math.round(values[i] / q) * q;
+            }
+
+            assertArrayEquals(expected, Quantizer.prequantize(values.clone(), qf));
+        }
+    }
+
+    @Test
+    void test_prequantize_intoBuffer_keepsValues() {
+        double[] values = randomCoefficients();
+        double[] copy = values.clone();
+        double[] result = new double[64];
+
+        assertSame(result, Quantizer.prequantize(values, .65f, result));
+        assertArrayEquals(copy, values);
+        assertArrayEquals(Quantizer.prequantize(copy, .65f), result);
+    }
+
+    @Test
+    void test_quantize_dequantize_sameAsPrequantize() {
+        double[] values = randomCoefficients();
+        double[][] matrix = new double[8][8];
+        for (int i = 0; i < 64; i++)
+            matrix[i / 8][i % 8] = values[i];
+
+        double[][] prequantized = Quantizer.dequantize(Quantizer.quantize(matrix, .75f), .75f);
+        Quantizer.prequantize(values, .75f);
+        for (int i = 0; i < 64; i++)
+            assertEquals(values[i], prequantized[i / 8][i % 8]);
+    }
+}